@@ -8,4 +8,33 @@ dependencies {
     api(libs.adventure.api)
     api(libs.gson)
     api(libs.mocha)
-}
\ No newline at end of file
+}
+
+// the Vector API is still incubating, it is only required to compile
+// the vectorized pose kernel, which lives in its own source set so that
+// the main classes compile without it, and it is optional at runtime,
+// since the kernel is loaded reflectively, see PoseKernels
+val vectorModule = listOf("--add-modules", "jdk.incubator.vector")
+
+val vector: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+sourceSets.test {
+    runtimeClasspath += vector.output
+}
+
+tasks {
+    named<JavaCompile>(vector.compileJavaTaskName) {
+        options.compilerArgs.addAll(vectorModule)
+    }
+    jar {
+        from(vector.output)
+    }
+    named<Jar>("sourcesJar") {
+        from(vector.allSource)
+    }
+    test {
+        jvmArgs(vectorModule)
+    }
+}
@@ -50,6 +50,7 @@ public class Model implements Examinable {
     private final Vector2Float boundingBox;
     private ModelAsset asset;
     private final Map<String, Animation> animations;
+    private volatile Skeleton skeleton;
 
     public Model(
             String name,
@@ -118,6 +119,32 @@ public class Model implements Examinable {
         return bones.get(name);
     }
 
+    /**
+     * Returns the compiled {@link Skeleton} for this
+     * model bones, it is computed lazily the first
+     * time it is requested, and the same instance is
+     * returned afterwards, even when first requested
+     * from several threads at once.
+     *
+     * @return The model skeleton
+     * @since 1.0.0
+     */
+    public @NotNull Skeleton skeleton() {
+        Skeleton skeleton = this.skeleton;
+        if (skeleton == null) {
+            // pose caches key by skeleton identity, so
+            // it must never be computed twice
+            synchronized (this) {
+                skeleton = this.skeleton;
+                if (skeleton == null) {
+                    skeleton = Skeleton.skeleton(bones.values());
+                    this.skeleton = skeleton;
+                }
+            }
+        }
+        return skeleton;
+    }
+
     /**
      * Returns a map of the registered animations
      * for this model, keys are the animation names
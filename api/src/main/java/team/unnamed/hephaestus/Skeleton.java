@@ -0,0 +1,178 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus;
+
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import net.kyori.examination.string.StringExaminer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A flattened, index-based representation of a {@link Model}
+ * bone hierarchy.
+ *
+ * <p>Every bone is given a dense integer id in topological
+ * (depth-first, pre-order) order, so a parent bone id is always
+ * lower than the ids of its children, and iterating ids from
+ * zero to {@link #size()} visits the hierarchy in the same order
+ * as a recursive walk through {@link Bone#children()}.</p>
+ *
+ * <p>Bone ids are meant to index plain arrays holding per-bone
+ * state, which avoids name lookups in hot paths like the
+ * animation tick.</p>
+ *
+ * @since 1.0.0
+ */
+public final class Skeleton implements Examinable {
+
+    /**
+     * The parent id of root bones
+     *
+     * @since 1.0.0
+     */
+    public static final int NO_PARENT = -1;
+
+    private final Bone[] bones;
+    private final int[] parents;
+    private final Map<String, Integer> ids;
+
+    private Skeleton(final @NotNull Bone @NotNull [] bones, final int @NotNull [] parents) {
+        this.bones = bones;
+        this.parents = parents;
+        this.ids = new HashMap<>(bones.length * 2);
+        for (int id = 0; id < bones.length; id++) {
+            ids.put(bones[id].name(), id);
+        }
+    }
+
+    /**
+     * Compiles the skeleton for the given root bones.
+     *
+     * @param roots The root bones
+     * @return The compiled skeleton
+     * @since 1.0.0
+     */
+    public static @NotNull Skeleton skeleton(final @NotNull Collection<Bone> roots) {
+        requireNonNull(roots, "roots");
+        final List<Bone> bones = new ArrayList<>();
+        final List<Integer> parents = new ArrayList<>();
+        for (final Bone root : roots) {
+            collect(root, NO_PARENT, bones, parents);
+        }
+        final int[] parentArray = new int[parents.size()];
+        for (int i = 0; i < parentArray.length; i++) {
+            parentArray[i] = parents.get(i);
+        }
+        return new Skeleton(bones.toArray(new Bone[0]), parentArray);
+    }
+
+    private static void collect(
+            final @NotNull Bone bone,
+            final int parent,
+            final @NotNull List<Bone> bones,
+            final @NotNull List<Integer> parents
+    ) {
+        final int id = bones.size();
+        bones.add(bone);
+        parents.add(parent);
+        for (final Bone child : bone.children()) {
+            collect(child, id, bones, parents);
+        }
+    }
+
+    /**
+     * Returns the amount of bones in this skeleton,
+     * valid bone ids are in range [0, size).
+     *
+     * @return The bone count
+     * @since 1.0.0
+     */
+    public int size() {
+        return bones.length;
+    }
+
+    /**
+     * Returns the bone with the given id.
+     *
+     * @param id The bone id
+     * @return The bone
+     * @throws IndexOutOfBoundsException If the id is invalid
+     * @since 1.0.0
+     */
+    public @NotNull Bone bone(final int id) {
+        return bones[id];
+    }
+
+    /**
+     * Returns the id of the parent of the bone with
+     * the given id, or {@link #NO_PARENT} if it is a
+     * root bone.
+     *
+     * @param id The bone id
+     * @return The parent bone id
+     * @throws IndexOutOfBoundsException If the id is invalid
+     * @since 1.0.0
+     */
+    public int parent(final int id) {
+        return parents[id];
+    }
+
+    /**
+     * Returns the id of the bone with the given
+     * name, or -1 if there is no such bone.
+     *
+     * @param name The bone name
+     * @return The bone id, or -1
+     * @since 1.0.0
+     */
+    public int id(final @NotNull String name) {
+        requireNonNull(name, "name");
+        final Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
+        return Stream.of(
+                ExaminableProperty.of("bones", Arrays.stream(bones).map(Bone::name).toArray(String[]::new)),
+                ExaminableProperty.of("parents", parents)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return examine(StringExaminer.simpleEscaping());
+    }
+
+}
@@ -107,6 +107,39 @@ public interface Animation extends Examinable {
 
     @NotNull EffectsTimeline effectsTimeline();
 
+    /**
+     * Returns the way the bone timelines of this animation
+     * are evaluated while it is played.
+     *
+     * @return The animation evaluation mode
+     * @since 1.0.0
+     */
+    @NotNull EvaluationMode evaluationMode();
+
+    /**
+     * Returns an estimate, in bytes, of the memory taken by the
+     * pose tables of this animation when it is {@link EvaluationMode#BAKED baked}.
+     *
+     * <p>For {@link EvaluationMode#LIVE live} animations, this is the
+     * memory that the pose tables would take if the animation was
+     * baked.</p>
+     *
+     * @return The estimated pose tables size, in bytes
+     * @since 1.0.0
+     */
+    long bakedSizeInBytes();
+
+    /**
+     * Returns a copy of this animation using the given
+     * evaluation mode, or this same animation if it already
+     * uses it.
+     *
+     * @param evaluationMode The evaluation mode
+     * @return The animation using the given evaluation mode
+     * @since 1.0.0
+     */
+    @NotNull Animation withEvaluationMode(final @NotNull EvaluationMode evaluationMode);
+
     /**
      * An enum containing all the possible
      * loop mode values, they specify what the
@@ -143,6 +176,34 @@ public interface Animation extends Examinable {
         LOOP
     }
 
+    /**
+     * An enum containing the possible ways to evaluate
+     * the animation bone timelines
+     *
+     * @since 1.0.0
+     */
+    enum EvaluationMode {
+
+        /**
+         * LIVE, keyframes are interpolated by every
+         * playhead on every tick. Takes no extra memory
+         *
+         * @since 1.0.0
+         */
+        LIVE,
+
+        /**
+         * BAKED, every bone timeline is evaluated once, when
+         * the animation is built, into a pose table shared by
+         * all the views playing the animation. Playing it is
+         * then an array read per bone per tick
+         *
+         * @see Animation#bakedSizeInBytes()
+         * @since 1.0.0
+         */
+        BAKED
+    }
+
     /**
      * A builder for animations
      *
@@ -213,6 +274,17 @@ public interface Animation extends Examinable {
          */
         @NotNull Builder effectsTimeline(final @NotNull EffectsTimeline timeline);
 
+        /**
+         * Sets the animation evaluation mode. The default
+         * evaluation mode is {@link EvaluationMode#LIVE}
+         *
+         * @param evaluationMode The animation evaluation mode
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder evaluationMode(final @NotNull EvaluationMode evaluationMode);
+
         /**
          * Adds a bone timeline to the animation
          *
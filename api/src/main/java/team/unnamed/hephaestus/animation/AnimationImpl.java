@@ -26,6 +26,7 @@ package team.unnamed.hephaestus.animation;
 import net.kyori.examination.ExaminableProperty;
 import net.kyori.examination.string.StringExaminer;
 import org.jetbrains.annotations.NotNull;
+import team.unnamed.hephaestus.animation.timeline.bone.BakedBoneTimeline;
 import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
 import team.unnamed.hephaestus.animation.timeline.effect.EffectsTimeline;
 
@@ -44,6 +45,7 @@ final class AnimationImpl implements Animation {
     private final int priority;
     private final Map<String, BoneTimeline> timelines;
     private final EffectsTimeline effectsTimeline;
+    private final EvaluationMode evaluationMode;
 
     AnimationImpl(
             final @NotNull String name,
@@ -51,14 +53,34 @@ final class AnimationImpl implements Animation {
             final @NotNull LoopMode loopMode,
             final int priority,
             final @NotNull Map<String, BoneTimeline> timelines,
-            final @NotNull EffectsTimeline effectsTimeline
+            final @NotNull EffectsTimeline effectsTimeline,
+            final @NotNull EvaluationMode evaluationMode
     ) {
         this.name = requireNonNull(name, "name");
         this.length = length;
         this.loopMode = requireNonNull(loopMode, "loopMode");
         this.priority = priority;
-        this.timelines = requireNonNull(timelines, "timelines");
-        this.effectsTimeline = requireNonNull(effectsTimeline, "effectsTimeline");;
+        this.effectsTimeline = requireNonNull(effectsTimeline, "effectsTimeline");
+        this.evaluationMode = requireNonNull(evaluationMode, "evaluationMode");
+        this.timelines = convertTimelines(requireNonNull(timelines, "timelines"), length, evaluationMode);
+    }
+
+    private static @NotNull Map<String, BoneTimeline> convertTimelines(
+            final @NotNull Map<String, BoneTimeline> timelines,
+            final int length,
+            final @NotNull EvaluationMode evaluationMode
+    ) {
+        final Map<String, BoneTimeline> converted = new HashMap<>(timelines.size());
+        for (final Map.Entry<String, BoneTimeline> entry : timelines.entrySet()) {
+            BoneTimeline timeline = entry.getValue();
+            if (evaluationMode == EvaluationMode.BAKED) {
+                timeline = BakedBoneTimeline.bake(timeline, length);
+            } else if (timeline instanceof BakedBoneTimeline baked) {
+                timeline = baked.source();
+            }
+            converted.put(entry.getKey(), timeline);
+        }
+        return converted;
     }
 
     @Override
@@ -91,6 +113,25 @@ final class AnimationImpl implements Animation {
         return effectsTimeline;
     }
 
+    @Override
+    public @NotNull EvaluationMode evaluationMode() {
+        return evaluationMode;
+    }
+
+    @Override
+    public long bakedSizeInBytes() {
+        return timelines.size() * BakedBoneTimeline.estimateSizeInBytes(length);
+    }
+
+    @Override
+    public @NotNull Animation withEvaluationMode(final @NotNull EvaluationMode evaluationMode) {
+        requireNonNull(evaluationMode, "evaluationMode");
+        if (this.evaluationMode == evaluationMode) {
+            return this;
+        }
+        return new AnimationImpl(name, length, loopMode, priority, timelines, effectsTimeline, evaluationMode);
+    }
+
     @Override
     public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
         return Stream.of(
@@ -98,7 +139,8 @@ final class AnimationImpl implements Animation {
                 ExaminableProperty.of("length", length),
                 ExaminableProperty.of("loopMode", loopMode),
                 ExaminableProperty.of("priority", priority),
-                ExaminableProperty.of("timelines", timelines)
+                ExaminableProperty.of("timelines", timelines),
+                ExaminableProperty.of("evaluationMode", evaluationMode)
         );
     }
 
@@ -131,6 +173,7 @@ final class AnimationImpl implements Animation {
         private int priority;
         private Map<String, BoneTimeline> timelines;
         private EffectsTimeline effectsTimeline;
+        private EvaluationMode evaluationMode = EvaluationMode.LIVE;
 
         @Override
         public @NotNull Builder name(final @NotNull String name) {
@@ -168,6 +211,12 @@ final class AnimationImpl implements Animation {
             return this;
         }
 
+        @Override
+        public @NotNull Builder evaluationMode(final @NotNull EvaluationMode evaluationMode) {
+            this.evaluationMode = requireNonNull(evaluationMode, "evaluationMode");
+            return this;
+        }
+
         @Override
         public @NotNull Builder timeline(@NotNull String boneName, @NotNull BoneTimeline timeline) {
             requireNonNull(boneName, "boneName");
@@ -181,7 +230,7 @@ final class AnimationImpl implements Animation {
 
         @Override
         public @NotNull Animation build() {
-            return new AnimationImpl(name, length, loopMode, priority, timelines, effectsTimeline);
+            return new AnimationImpl(name, length, loopMode, priority, timelines, effectsTimeline, evaluationMode);
         }
     }
 }
@@ -31,6 +31,9 @@ import team.unnamed.hephaestus.view.AbstractModelView;
 import team.unnamed.mocha.MochaEngine;
 
 import java.util.Collection;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * The animation player. Responsible for playing
@@ -45,6 +48,13 @@ public interface AnimationPlayer {
      * currently playing animations so that it will be
      * played in the next ticks.
      *
+     * <p>If another animation with the same priority is
+     * being played and {@code transitionTicks} is positive,
+     * the pose of the model bones is captured and blended
+     * toward the pose of the new animation (which starts
+     * playing immediately) during the given amount of
+     * ticks.</p>
+     *
      * @param animation The queued animation
      * @param transitionTicks The animation transition ticks
      * @since 1.0.0
@@ -97,6 +107,58 @@ public interface AnimationPlayer {
      */
     void tick(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition);
 
+    /**
+     * Advances the given amount of animation frames at once
+     * using the given model rotation and position, bone views
+     * are only updated with the last frame.
+     *
+     * <p>Used to update far away views less often, see
+     * {@link team.unnamed.hephaestus.view.lod.LodPolicy}.</p>
+     *
+     * @param initialRotation The initial model rotation
+     * @param initialPosition The initial model position
+     * @param ticks The amount of ticks to advance, at least one
+     * @since 1.0.0
+     */
+    default void tick(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition, final int ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Ticks must be at least 1, got " + ticks);
+        }
+        for (int i = 0; i < ticks; i++) {
+            tick(initialRotation, initialPosition);
+        }
+    }
+
+    /**
+     * Advances the given amount of animation frames without
+     * computing bone transforms or playing effects, by seeking
+     * the animation timelines, bone views are not updated.
+     *
+     * <p>Used to catch up views that were paused while nobody
+     * could see them.</p>
+     *
+     * <p>The default implementation can't seek, it ticks the given
+     * amount of frames instead, using the given model rotation and
+     * position, so effects are played and bone views are updated
+     * with the last frame.</p>
+     *
+     * @param initialRotation The initial model rotation, only used
+     *                        by implementations that can't seek
+     * @param initialPosition The initial model position, only used
+     *                        by implementations that can't seek
+     * @param ticks The amount of ticks to skip
+     * @throws IllegalArgumentException If {@code ticks} is negative
+     * @since 1.0.0
+     */
+    default void skip(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition, final int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks must not be negative, got " + ticks);
+        }
+        if (ticks > 0) {
+            tick(initialRotation, initialPosition, ticks);
+        }
+    }
+
     /**
      * Passes to the next animation frame
      *
@@ -136,6 +198,14 @@ public interface AnimationPlayer {
     /**
      * Returns the script engine for this animation controller.
      *
+     * <p>The engine is created lazily, the first time this method
+     * is called or an animation executes a script, so views that
+     * never run scripts don't pay for it.</p>
+     *
+     * <p>Every player has its own engine, bound to its view. Sharing
+     * one engine between views, with per-view query and variable
+     * bindings, is not supported yet.</p>
+     *
      * @return The script engine
      * @since 1.0.0
      */
@@ -145,11 +215,58 @@ public interface AnimationPlayer {
      * Creates a new {@link AnimationPlayer} for the given
      * {@link AbstractModelView model view}.
      *
+     * <p>The player script engine is a standard Mocha engine
+     * bound to the given view.</p>
+     *
      * @param view the model view to use
      * @return The created animation controller
      * @since 1.0.0
      */
     static @NotNull AnimationPlayer create(final @NotNull AbstractModelView<?> view) {
-        return new AnimationPlayerImpl(view);
+        return create(view, MochaEngine::createStandard);
+    }
+
+    /**
+     * Creates a new {@link AnimationPlayer} for the given
+     * {@link AbstractModelView model view}, using the given
+     * factory to create its script engine.
+     *
+     * <p>The factory is called at most once, when the script
+     * engine is first needed, and receives the given view. The
+     * returned engine must be bound to that view: scripts reach
+     * the view and keep their variables through it, so engines
+     * must not be shared between views.</p>
+     *
+     * @param view the model view to use
+     * @param scriptEngineFactory The script engine factory
+     * @return The created animation controller
+     * @since 1.0.0
+     */
+    static @NotNull AnimationPlayer create(
+            final @NotNull AbstractModelView<?> view,
+            final @NotNull Function<AbstractModelView<?>, MochaEngine<AbstractModelView<?>>> scriptEngineFactory
+    ) {
+        return new AnimationPlayerImpl(view, scriptEngineFactory, null);
+    }
+
+    /**
+     * Creates a new {@link AnimationPlayer} for the given
+     * {@link AbstractModelView model view}, sharing poses
+     * with other players using the given cache.
+     *
+     * @param view the model view to use
+     * @param scriptEngineFactory The script engine factory
+     * @param poseCache The pose cache, shared between players
+     * @return The created animation controller
+     * @see PoseCache
+     * @since 1.0.0
+     */
+    static @NotNull AnimationPlayer create(
+            final @NotNull AbstractModelView<?> view,
+            final @NotNull Function<AbstractModelView<?>, MochaEngine<AbstractModelView<?>>> scriptEngineFactory,
+            final @NotNull PoseCache poseCache
+    ) {
+        requireNonNull(poseCache, "poseCache");
+        return new AnimationPlayerImpl(view, scriptEngineFactory, poseCache);
     }
 }
@@ -25,8 +25,10 @@ package team.unnamed.hephaestus.animation.controller;
 
 import net.kyori.adventure.sound.Sound;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Vector3Float;
 import team.unnamed.hephaestus.Bone;
+import team.unnamed.hephaestus.Skeleton;
 import team.unnamed.hephaestus.animation.Animation;
 import team.unnamed.hephaestus.animation.timeline.bone.BoneFrame;
 import team.unnamed.hephaestus.animation.timeline.bone.BoneTimelinePlayhead;
@@ -36,45 +38,156 @@ import team.unnamed.hephaestus.util.Quaternion;
 import team.unnamed.hephaestus.view.AbstractBoneView;
 import team.unnamed.hephaestus.view.AbstractModelView;
 import team.unnamed.mocha.MochaEngine;
+import team.unnamed.mocha.parser.ast.Expression;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
 class AnimationPlayerImpl implements AnimationPlayer {
+    private static final float[] INITIAL_FRAME = { 0, 0, 0, 0, 0, 0, Float.NaN, 1, 1, 1 };
+
     private final PriorityLinkedList<AnimationQueue> animations = new PriorityLinkedList<>();
     private final AbstractModelView<?> view;
-    private final MochaEngine<AbstractModelView<?>> scriptEngine;
+    private final Function<AbstractModelView<?>, MochaEngine<AbstractModelView<?>>> scriptEngineFactory;
+    private volatile MochaEngine<AbstractModelView<?>> scriptEngine;
+    private final Skeleton skeleton;
+
+    // rest rotation of every bone as a quaternion, indexed by bone
+    // id, so that it isn't converted from Euler angles every tick
+    private final double[] restRotations;
+
+    // last frame computed for every bone, indexed by bone id and
+    // using the BoneFrame primitive layout
+    private final float[] lastFrames;
+    private final boolean[] hasLastFrame;
+
+    // resolved in the first tick, since views may create their
+    // bones after creating their animation player
+    private AbstractBoneView[] boneViews;
+
+    // scratch buffer, reused every tick so that the bone
+    // transform pass doesn't allocate
+    private final float[] frame = new float[BoneFrame.SIZE];
+    private final double[] rotation = new double[4];
+
+    // bones are sorted by depth into slots, so that the bones of every
+    // level are contiguous and can be composed with their parents in a
+    // single kernel call. The last global pose slot holds the model
+    // root transform
+    private final PoseKernel kernel = PoseKernel.kernel();
+    private final int[] depths;
+    private final int[] slots;
+    private final int[] parentSlots;
+    private final int[] levels;
+    private final boolean[] levelChanged;
+    private final PoseBatch localPoses;
+    private final PoseBatch parentPoses;
+    private final PoseBatch globalPoses;
+
+    // local frame used to compute the global transform of every bone,
+    // bones whose local frame and parent didn't change since the last
+    // computed pose keep their global transform, and their views are
+    // not updated
+    private final float[] localFrames;
+    private final boolean[] changed;
+    private boolean computed;
+    // whether the local transforms match the local frames, they
+    // don't after playing a shared pose
+    private boolean localPosesComputed;
+
+    // poses shared with other players, null if not sharing, and the
+    // poses of the last shared animation, see tickShared
+    private final PoseCache poseCache;
+    private Animation sharedAnimation;
+    private AtomicReferenceArray<PoseCache.Entry> sharedPoses;
+
+    // whether the last computed pose only depended on the fallback
+    // frames and the root transform, it can't change until an animation
+    // is added or the root transform changes
+    private boolean settled;
+
+    AnimationPlayerImpl(
+            final @NotNull AbstractModelView<?> view,
+            final @NotNull Function<AbstractModelView<?>, MochaEngine<AbstractModelView<?>>> scriptEngineFactory,
+            final @Nullable PoseCache poseCache
+    ) {
+        this.view = requireNonNull(view, "view");
+        this.scriptEngineFactory = requireNonNull(scriptEngineFactory, "scriptEngineFactory");
+        this.poseCache = poseCache;
+        this.skeleton = view.model().skeleton();
+
+        final int boneCount = skeleton.size();
+        this.lastFrames = new float[boneCount * BoneFrame.SIZE];
+        this.hasLastFrame = new boolean[boneCount];
+        this.localFrames = new float[boneCount * BoneFrame.SIZE];
+        this.changed = new boolean[boneCount];
+
+        this.restRotations = new double[boneCount * 4];
+        for (int id = 0; id < boneCount; id++) {
+            final Vector3Float rotation = skeleton.bone(id).rotation();
+            PoseMath.fromEulerDegrees(rotation.x(), rotation.y(), rotation.z(), restRotations, id * 4);
+        }
 
-    private final Map<String, BoneFrame> lastFrames = new HashMap<>();
+        // bone ids are in topological order, so parent depths
+        // are always computed before their children
+        this.depths = new int[boneCount];
+        int levelCount = 0;
+        for (int id = 0; id < boneCount; id++) {
+            final int parent = skeleton.parent(id);
+            depths[id] = parent == Skeleton.NO_PARENT ? 0 : depths[parent] + 1;
+            levelCount = Math.max(levelCount, depths[id] + 1);
+        }
 
-    AnimationPlayerImpl(final @NotNull AbstractModelView<?> view) {
-        this.view = requireNonNull(view, "view");
-        this.scriptEngine = MochaEngine.createStandard(view);
+        // counting sort by depth
+        this.levels = new int[levelCount + 1];
+        for (int id = 0; id < boneCount; id++) {
+            levels[depths[id] + 1]++;
+        }
+        for (int level = 0; level < levelCount; level++) {
+            levels[level + 1] += levels[level];
+        }
+        this.slots = new int[boneCount];
+        final int[] next = Arrays.copyOf(levels, levelCount);
+        for (int id = 0; id < boneCount; id++) {
+            slots[id] = next[depths[id]]++;
+        }
+        this.parentSlots = new int[boneCount];
+        for (int id = 0; id < boneCount; id++) {
+            final int parent = skeleton.parent(id);
+            parentSlots[slots[id]] = parent == Skeleton.NO_PARENT ? boneCount : slots[parent];
+        }
+
+        this.levelChanged = new boolean[levelCount];
+        this.localPoses = new PoseBatch(boneCount);
+        this.parentPoses = new PoseBatch(boneCount);
+        this.globalPoses = new PoseBatch(boneCount + 1);
     }
 
     @Override
     public synchronized void add(final @NotNull Animation animation, final int transitionTicks) {
         requireNonNull(animation, "animation");
+        settled = false;
 
         animations.add(animation.priority(), queue -> {
             if (queue == null) {
-                queue = new AnimationQueue();
+                queue = new AnimationQueue(skeleton, poseCache);
             }
 
-            if (transitionTicks == 0 || queue.current == null) {
+            if (transitionTicks <= 0 || queue.current == null) {
                 queue.clear();
                 queue.setCurrent(animation);
             } else {
                 queue.clear();
-                final Animation transitionAnimation = SyntheticAnimations.transitionTo(lastFrames, animation, transitionTicks);
-                queue.setCurrent(transitionAnimation);
-                queue.queue(animation);
+                // blend from the current pose
+                queue.startTransition(lastFrames, hasLastFrame, transitionTicks);
+                queue.setCurrent(animation);
             }
 
             return queue;
@@ -98,76 +211,517 @@ class AnimationPlayerImpl implements AnimationPlayer {
         animations.clear();
     }
 
+    @Override
+    public synchronized void tick(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition, final int ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Ticks must be at least 1, got " + ticks);
+        }
+        // skipped frames advance the animations and play their
+        // effects, but bone transforms are not computed
+        for (int i = 1; i < ticks; i++) {
+            if (isIdle()) {
+                // nothing left to advance
+                break;
+            }
+            settled = false;
+            for (int id = 0; id < skeleton.size(); id++) {
+                nextFrame(id, frame, null);
+            }
+            tickQueues(true);
+        }
+        tick(initialRotation, initialPosition);
+    }
+
     @Override
     public synchronized void tick(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition) {
-        // tick bones recursively
-        for (final Bone bone : view.model().bones()) {
-            tickBone(bone, initialRotation, initialPosition, Vector3Float.ONE);
+        final int boneCount = skeleton.size();
+        if (boneViews == null) {
+            boneViews = new AbstractBoneView[boneCount];
+            for (int id = 0; id < boneCount; id++) {
+                boneViews[id] = view.bone(skeleton.bone(id).name());
+            }
+        }
+
+        final int root = boneCount;
+        final boolean idle = isIdle();
+        final boolean rootChanged = !computed || !isRoot(initialRotation, initialPosition);
+        if (idle && settled && !rootChanged && !hasModifiedBones()) {
+            // the pose didn't change, and there are no effects to play,
+            // bone modifiers may depend on external state, so views with
+            // modifiers are never skipped
+            return;
+        }
+
+        globalPoses.position(root, initialPosition.x(), initialPosition.y(), initialPosition.z());
+        globalPoses.rotation(root, (float) initialRotation.x(), (float) initialRotation.y(), (float) initialRotation.z(), (float) initialRotation.w());
+
+        final AnimationQueue sharedQueue = sharedQueue();
+        if (sharedQueue != null && tickShared(sharedQueue, rootChanged)) {
+            tickQueues(true);
+            computed = true;
+            settled = false;
+            return;
+        }
+
+        // bone ids are in topological order, so parents are
+        // always checked before their children
+        Arrays.fill(levelChanged, false);
+        for (int id = 0; id < boneCount; id++) {
+            final int parent = skeleton.parent(id);
+            tickBone(id, parent == Skeleton.NO_PARENT ? rootChanged : changed[parent]);
+        }
+
+        // global transform = parent global transform * local transform,
+        // computed level by level, so that parents are always computed
+        // before their children. Bones that didn't change are computed
+        // again too, giving the same transform
+        for (int level = 0; level < levelChanged.length; level++) {
+            if (!levelChanged[level]) {
+                continue;
+            }
+            final int start = levels[level];
+            final int end = levels[level + 1];
+            for (int slot = start; slot < end; slot++) {
+                globalPoses.copy(parentSlots[slot], parentPoses, slot);
+            }
+            kernel.compose(parentPoses, localPoses, globalPoses, start, end - start);
+        }
+
+        updateBoneViews();
+
+        tickQueues(true);
+        computed = true;
+        localPosesComputed = true;
+        settled = idle;
+    }
+
+    // finds the queue whose pose can be shared with other players, that is,
+    // the only queue playing an animation, not in a transition, when all
+    // the bones that it doesn't animate are in their initial state
+    private AnimationQueue sharedQueue() {
+        if (poseCache == null) {
+            return null;
+        }
+        AnimationQueue shared = null;
+        for (final AnimationQueue queue : animations) {
+            if (queue.current == null) {
+                continue;
+            }
+            if (shared != null) {
+                return null;
+            }
+            shared = queue;
+        }
+        if (shared == null || shared.transitionTick < shared.transitionTicks) {
+            return null;
+        }
+        for (int id = 0; id < skeleton.size(); id++) {
+            if (shared.iterators[id] == null && hasLastFrame[id]) {
+                return null;
+            }
+        }
+        return shared;
+    }
+
+    // plays the pose of the given queue from the pose cache, computing it if
+    // needed, returns false if the pose can't be shared in this tick
+    private boolean tickShared(final AnimationQueue queue, final boolean rootChanged) {
+        final Animation animation = queue.current;
+        int tick = -1;
+        for (final BoneTimelinePlayhead iterator : queue.iterators) {
+            if (iterator == null) {
+                continue;
+            }
+            final int next = queue.delay > 0 ? 0 : iterator.tick() + 1;
+            if (tick != -1 && tick != next) {
+                // bones are out of phase, e.g. their playheads were seeked
+                // separately, poses are only shared when all of them play
+                // the same tick
+                return false;
+            }
+            tick = next;
+        }
+        if (tick == -1 || tick + 1 >= animation.length()) {
+            // the animation ends in this tick, the frames of some bones may
+            // come from the next animation, which may differ between players
+            return false;
+        }
+
+        if (animation != sharedAnimation) {
+            sharedAnimation = animation;
+            sharedPoses = poseCache.poses(skeleton, animation);
+        }
+
+        final int boneCount = skeleton.size();
+        PoseCache.Entry pose = sharedPoses.get(tick);
+        if (pose == null) {
+            final float[] frames = new float[boneCount * BoneFrame.SIZE];
+            for (int id = 0; id < boneCount; id++) {
+                nextFrame(id, frame, null);
+                System.arraycopy(frame, 0, frames, id * BoneFrame.SIZE, BoneFrame.SIZE);
+            }
+            // another player may compute it at the same time, both are equal
+            pose = new PoseCache.Entry(frames, modelPose(frames));
+            sharedPoses.set(tick, pose);
+        } else {
+            for (int id = 0; id < boneCount; id++) {
+                nextFrame(id, frame, pose.frames);
+            }
+        }
+
+        boolean anyChanged = false;
+        for (int id = 0; id < boneCount; id++) {
+            final int local = id * BoneFrame.SIZE;
+            final int parent = skeleton.parent(id);
+            changed[id] = (parent == Skeleton.NO_PARENT ? rootChanged : changed[parent])
+                    || !Arrays.equals(pose.frames, local, local + BoneFrame.SIZE, localFrames, local, local + BoneFrame.SIZE);
+            if (changed[id]) {
+                System.arraycopy(pose.frames, local, localFrames, local, BoneFrame.SIZE);
+                anyChanged = true;
+            }
+        }
+        localPosesComputed = false;
+        if (anyChanged) {
+            // global transform = root transform * model space transform
+            PoseMath.transform(globalPoses, boneCount, pose.pose, globalPoses, boneCount);
+        }
+        updateBoneViews();
+        return true;
+    }
+
+    // computes the model space transform of every bone from the given local frames
+    private @NotNull PoseBatch modelPose(final float @NotNull [] frames) {
+        final int boneCount = skeleton.size();
+        final PoseBatch locals = new PoseBatch(boneCount);
+        final PoseBatch pose = new PoseBatch(boneCount);
+        for (int id = 0; id < boneCount; id++) {
+            localPose(id, frames, id * BoneFrame.SIZE, locals);
+        }
+        for (int level = 0; level < levelChanged.length; level++) {
+            final int start = levels[level];
+            final int end = levels[level + 1];
+            for (int slot = start; slot < end; slot++) {
+                final int parentSlot = parentSlots[slot];
+                if (parentSlot == boneCount) {
+                    // identity root
+                    parentPoses.position(slot, 0, 0, 0);
+                    parentPoses.rotation(slot, 0, 0, 0, 1);
+                    parentPoses.scale(slot, 1, 1, 1);
+                } else {
+                    pose.copy(parentSlot, parentPoses, slot);
+                }
+            }
+            kernel.compose(parentPoses, locals, pose, start, end - start);
+        }
+        return pose;
+    }
+
+    private boolean hasModifiedBones() {
+        for (final AbstractBoneView boneView : boneViews) {
+            if (boneView != null && boneView.hasModifiers()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // bones with modifiers are always updated, even if their transform
+    // didn't change, since modifiers may depend on external state
+    private void updateBoneViews() {
+        for (int id = 0; id < skeleton.size(); id++) {
+            final AbstractBoneView boneView = boneViews[id];
+            if (boneView != null && (changed[id] || boneView.hasModifiers())) {
+                // the view API is object based, so this is the only
+                // allocation in the bone transform pass
+                final int slot = slots[id];
+                boneView.update(globalPoses.position(slot), globalPoses.rotation(slot), globalPoses.scale(slot));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void skip(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition, final int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks must not be negative, got " + ticks);
+        }
+        if (ticks == 0) {
+            return;
+        }
+        settled = false;
+
+        int left = ticks;
+        while (left > 0 && !isIdle()) {
+            // looping animations are back where they were after every
+            // period, whole periods don't need to be seeked
+            final long period = loopPeriod();
+            if (period > 0) {
+                left = (int) (left % period);
+                if (left == 0) {
+                    break;
+                }
+            }
+
+            // ticks before the next animation ends or transition finishes
+            // can be seeked, except for the last one, which is played
+            // (silently) so that the last frames are kept up to date
+            final int seekable = Math.min(left, seekableTicks()) - 2;
+            if (seekable > 0) {
+                seek(seekable);
+                left -= seekable;
+            }
+
+            for (int id = 0; id < skeleton.size(); id++) {
+                nextFrame(id, frame, null);
+            }
+            tickQueues(false);
+            left--;
+        }
+    }
+
+    // computes the amount of ticks after which the player is back to its
+    // current state, that is, the least common multiple of the lengths of
+    // the current animations, if they all loop and no transition or start
+    // delay is pending, or zero if there is no such period
+    private long loopPeriod() {
+        long period = 1;
+        for (final AnimationQueue queue : animations) {
+            if (queue.current == null) {
+                continue;
+            }
+            if (queue.current.loopMode() != Animation.LoopMode.LOOP
+                    || queue.transitionTick < queue.transitionTicks
+                    || queue.delay > 0) {
+                return 0;
+            }
+            final long length = queue.current.length();
+            if (length < 1) {
+                return 0;
+            }
+            period = period / gcd(period, length) * length;
+            if (period > Integer.MAX_VALUE) {
+                // longer than any skip
+                return 0;
+            }
+        }
+        return period;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            final long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    // computes the amount of ticks in which bones will keep reading from the
+    // same playheads, that is, until an animation ends or a transition finishes
+    private int seekableTicks() {
+        int ticks = Integer.MAX_VALUE;
+        for (final AnimationQueue queue : animations) {
+            if (queue.transitionTick < queue.transitionTicks) {
+                ticks = Math.min(ticks, queue.transitionTicks - queue.transitionTick);
+            }
+            if (queue.delay > 0) {
+                ticks = Math.min(ticks, queue.delay);
+            } else if (queue.current != null && queue.hasEffects) {
+                // effects are rewound when looping, see tickQueues
+                final int played = queue.effectsIterator.tick() + 1;
+                ticks = Math.min(ticks, Math.max(1, queue.current.length() - played));
+            }
+        }
+        for (int id = 0; id < skeleton.size(); id++) {
+            final AnimationQueue queue = owner(id);
+            if (queue != null && queue.iterators[id] != null && queue.delay == 0) {
+                // see nextFrame, animations end after playing a frame
+                // at or after their last tick
+                final int played = queue.iterators[id].tick() + 1;
+                ticks = Math.min(ticks, Math.max(1, queue.current.length() - played));
+            }
+        }
+        return ticks;
+    }
+
+    // advances the given amount of ticks, must be less than seekableTicks()
+    private void seek(final int ticks) {
+        for (int id = 0; id < skeleton.size(); id++) {
+            final AnimationQueue queue = owner(id);
+            if (queue != null && queue.iterators[id] != null && queue.delay == 0) {
+                final var iterator = queue.iterators[id];
+                iterator.seek(iterator.tick() + 1 + ticks);
+            }
+        }
+        for (final AnimationQueue queue : animations) {
+            queue.skipTransition(ticks);
+            if (queue.delay > 0) {
+                // still holding the first frame
+                queue.delay -= ticks;
+            } else if (queue.current != null && queue.hasEffects) {
+                queue.effectsIterator.seek(queue.effectsIterator.tick() + 1 + ticks);
+            }
+        }
+    }
+
+    // finds the queue that the given bone reads its frame from, see nextFrame
+    private AnimationQueue owner(final int id) {
+        for (final AnimationQueue queue : animations) {
+            if (queue.current != null && (queue.iterators[id] != null || queue.isBlending(id))) {
+                return queue;
+            }
         }
+        return null;
+    }
 
+    private boolean isIdle() {
         for (final AnimationQueue queue : animations) {
+            if (queue.current != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // checks whether the given root transform is the one used by the last computed pose
+    private boolean isRoot(final @NotNull Quaternion rotation, final @NotNull Vector3Float position) {
+        final int root = skeleton.size();
+        return globalPoses.positionX[root] == position.x()
+                && globalPoses.positionY[root] == position.y()
+                && globalPoses.positionZ[root] == position.z()
+                && globalPoses.rotationX[root] == (float) rotation.x()
+                && globalPoses.rotationY[root] == (float) rotation.y()
+                && globalPoses.rotationZ[root] == (float) rotation.z()
+                && globalPoses.rotationW[root] == (float) rotation.w();
+    }
+
+    // advances transitions and effects, playing them if 'play' is set
+    private void tickQueues(final boolean play) {
+        for (final AnimationQueue queue : animations) {
+            queue.tickTransition();
+
+            if (queue.delay > 0) {
+                // waiting for its phase, see PoseCache
+                if (--queue.delay == 0) {
+                    queue.restart();
+                }
+                continue;
+            }
+
             final var currentAnimation = queue.current;
 
-            if (currentAnimation == null) {
+            if (currentAnimation == null || !queue.hasEffects) {
+                // nothing to play
                 continue;
             }
 
             final var effectsIterator = queue.effectsIterator;
             final var effectsFrame = effectsIterator.next();
             if (effectsIterator.tick() + 1 >= currentAnimation.length()) {
+                if (currentAnimation.loopMode() == Animation.LoopMode.LOOP) {
+                    // rewound along with the bones, see nextFrame
+                    effectsIterator.seek(0);
+                }
+                continue;
+            }
+            if (!play) {
                 continue;
             }
 
             final var sounds = effectsFrame.sounds();
-            final var instructions = effectsFrame.instructions();
+            final var instructions = effectsFrame.parsedInstructions();
 
             for (Sound sound : sounds) {
                 view.emitSound(sound);
             }
-            for (String instruction : instructions) {
-                scriptEngine.eval(instruction);
+            for (List<Expression> instruction : instructions) {
+                scriptEngine().eval(instruction);
             }
         }
     }
 
-    private void tickBone(Bone bone, Quaternion parentRotation, Vector3Float parentPosition, Vector3Float parentScale) {
-        BoneFrame boneFrame = nextFrame(bone.name());
-        Vector3Float frameScale = boneFrame.scale();
-        Vector3Float framePosition = boneFrame.position();
-        Vector3Float frameRotation = boneFrame.rotation();
-
-        Vector3Float localPosition = bone.position().add(framePosition);
-        Vector3Float localRotation = bone.rotation().add(frameRotation);
+    // computes the local transform of the given bone, if changed
+    private void tickBone(final int id, final boolean parentChanged) {
+        nextFrame(id, frame, null);
 
-        Vector3Float globalScale = parentScale.multiply(frameScale);
-
-        Quaternion globalRotation = parentRotation.multiply(Quaternion.fromEulerDegrees(localRotation));
-        Vector3Float globalPosition = parentRotation.transform(localPosition.multiply(globalScale)).add(parentPosition);
-
-        AbstractBoneView boneView = view.bone(bone.name());
-        if (boneView != null) {
-            boneView.update(globalPosition, globalRotation, globalScale);
+        final int local = id * BoneFrame.SIZE;
+        final boolean frameChanged = !computed || !Arrays.equals(frame, 0, BoneFrame.SIZE, localFrames, local, local + BoneFrame.SIZE);
+        if (frameChanged || !localPosesComputed) {
+            System.arraycopy(frame, 0, localFrames, local, BoneFrame.SIZE);
+            localPose(id, frame, 0, localPoses);
+        }
+        if (!frameChanged && !parentChanged) {
+            // static in this tick, keep the global transform
+            changed[id] = false;
+            return;
         }
+        changed[id] = true;
+        levelChanged[depths[id]] = true;
+    }
 
-        for (Bone child : bone.children()) {
-            tickBone(
-                    child,
-                    globalRotation,
-                    globalPosition,
-                    globalScale
+    // computes the local transform of the given bone from the given frame
+    private void localPose(final int id, final float @NotNull [] frame, final int offset, final @NotNull PoseBatch out) {
+        final Bone bone = skeleton.bone(id);
+        final int slot = slots[id];
+
+        final Vector3Float bonePosition = bone.position();
+        final int framePosition = offset + BoneFrame.POSITION_OFFSET;
+        out.position(
+                slot,
+                bonePosition.x() + frame[framePosition],
+                bonePosition.y() + frame[framePosition + 1],
+                bonePosition.z() + frame[framePosition + 2]
+        );
+        final int frameScale = offset + BoneFrame.SCALE_OFFSET;
+        out.scale(slot, frame[frameScale], frame[frameScale + 1], frame[frameScale + 2]);
+
+        final int frameRotation = offset + BoneFrame.ROTATION_OFFSET;
+        final int restRotation = id * 4;
+        if (BoneFrame.isQuaternion(frame, offset)) {
+            // local rotation = bone rotation * frame rotation
+            for (int i = 0; i < 4; i++) {
+                rotation[i] = frame[frameRotation + i];
+            }
+            PoseMath.multiply(restRotations, restRotation, rotation, 0, rotation, 0);
+        } else if (frame[frameRotation] == 0 && frame[frameRotation + 1] == 0 && frame[frameRotation + 2] == 0) {
+            // not rotated by the animation, local rotation = bone rotation
+            System.arraycopy(restRotations, restRotation, rotation, 0, 4);
+        } else {
+            // local rotation = bone rotation + frame rotation, as Euler angles
+            final Vector3Float boneRotation = bone.rotation();
+            PoseMath.fromEulerDegrees(
+                    boneRotation.x() + frame[frameRotation],
+                    boneRotation.y() + frame[frameRotation + 1],
+                    boneRotation.z() + frame[frameRotation + 2],
+                    rotation,
+                    0
             );
         }
+        out.rotation(slot, (float) rotation[0], (float) rotation[1], (float) rotation[2], (float) rotation[3]);
     }
 
     @Override
     public @NotNull MochaEngine<AbstractModelView<?>> scriptEngine() {
-        return scriptEngine;
+        MochaEngine<AbstractModelView<?>> engine = scriptEngine;
+        if (engine == null) {
+            synchronized (this) {
+                engine = scriptEngine;
+                if (engine == null) {
+                    engine = requireNonNull(scriptEngineFactory.apply(view), "scriptEngine");
+                    scriptEngine = engine;
+                }
+            }
+        }
+        return engine;
     }
 
-    private BoneFrame nextFrame(String boneName) {
+    // computes the next frame of the given bone, 'cached' holds the frames of
+    // every bone for this tick if they were already computed, the playheads
+    // are then advanced without evaluating them
+    private void nextFrame(final int id, final float @NotNull [] out, final float @Nullable [] cached) {
         if (animations.isEmpty()) {
             // no animations being played
-            return fallback(boneName);
+            fallback(id, out);
+            return;
         }
 
         for (final var queue : animations) {
@@ -175,60 +729,136 @@ class AnimationPlayerImpl implements AnimationPlayer {
             if (animation == null) {
                 continue;
             }
-            final var iterator = queue.iterators.get(boneName);
+            final var iterator = queue.iterators[id];
+            final boolean blending = queue.isBlending(id);
 
             if (iterator == null) {
+                if (blending) {
+                    // bone not animated by the new animation,
+                    // blend it toward its initial state
+                    System.arraycopy(INITIAL_FRAME, 0, out, 0, BoneFrame.SIZE);
+                    queue.blend(id, out);
+                    storeLastFrame(id, out);
+                    return;
+                }
                 // try with next animation
                 continue;
             }
 
-            final var frame = iterator.next();
+            if (queue.delay > 0) {
+                // hold the first frame until the animation starts
+                iterator.seek(0);
+            }
+            if (cached == null) {
+                iterator.next(out, 0);
+            } else {
+                iterator.seek(iterator.tick() + 2);
+                System.arraycopy(cached, id * BoneFrame.SIZE, out, 0, BoneFrame.SIZE);
+            }
+            if (blending) {
+                queue.blend(id, out);
+            }
             final var tick = iterator.tick();
-            lastFrames.put(boneName, frame);
+            storeLastFrame(id, out);
 
-            if (tick + 1 >= animation.length()) {
+            if (queue.delay == 0 && tick + 1 >= animation.length()) {
                 // animation ended!
                 switch (animation.loopMode()) {
                     case ONCE:
                         queue.moveToNextAnimation();
                         // animation ended, lastFrames are removed
                         // so that next calls will return INITIAL
-                        lastFrames.remove(boneName);
-                        return frame;
+                        hasLastFrame[id] = false;
+                        return;
                     case LOOP:
-                        queue.setCurrent(animation);
-                        return frame;
+                        // rewind this bone only, the bones after it
+                        // still have to play their last frame this tick
+                        iterator.seek(0);
+                        return;
                     case HOLD:
                         queue.moveToNextAnimation();
-                        return frame;
+                        return;
                 }
             }
-            break;
+            return;
         }
 
-        return fallback(boneName);
+        fallback(id, out);
     }
 
-    private BoneFrame fallback(String boneName) {
-        return lastFrames.getOrDefault(boneName, BoneFrame.INITIAL);
+    private void storeLastFrame(final int id, final float @NotNull [] frame) {
+        System.arraycopy(frame, 0, lastFrames, id * BoneFrame.SIZE, BoneFrame.SIZE);
+        hasLastFrame[id] = true;
+    }
+
+    private void fallback(final int id, final float @NotNull [] out) {
+        if (hasLastFrame[id]) {
+            System.arraycopy(lastFrames, id * BoneFrame.SIZE, out, 0, BoneFrame.SIZE);
+        } else {
+            System.arraycopy(INITIAL_FRAME, 0, out, 0, BoneFrame.SIZE);
+        }
     }
 
     private static class AnimationQueue {
         final List<Animation> queue = new LinkedList<>();
+        final Skeleton skeleton;
+        final PoseCache poseCache;
 
         @NotNull EffectsTimelinePlayhead effectsIterator = new EffectsTimelinePlayhead(EffectsTimeline.empty().build());
-        final Map<String, BoneTimelinePlayhead> iterators = new HashMap<>();
+        boolean hasEffects;
+        // bone timeline playheads, indexed by bone id, null
+        // for bones not animated by the current animation
+        final BoneTimelinePlayhead[] iterators;
         Animation current;
 
+        // transition state, the pose captured when the transition
+        // started (using the BoneFrame layout), which is blended
+        // toward the live pose of the current animation. Buffers
+        // are created once and reused by later transitions
+        float[] transitionFrames;
+        boolean[] transitionMask;
+        int transitionTick;
+        int transitionTicks;
+        // used to blend quaternion rotations
+        final double[] blendScratch = new double[8];
+        // ticks left before the current animation starts, holding
+        // its first frame, see PoseCache
+        int delay;
+
+        AnimationQueue(final @NotNull Skeleton skeleton, final @Nullable PoseCache poseCache) {
+            this.skeleton = skeleton;
+            this.poseCache = poseCache;
+            this.iterators = new BoneTimelinePlayhead[skeleton.size()];
+        }
+
         void queue(Animation animation) {
             queue.add(animation);
         }
 
         void setCurrent(Animation animation) {
             current = animation;
-            iterators.clear();
-            animation.timelines().forEach((name, list) -> iterators.put(name, list.createPlayhead()));
+            Arrays.fill(iterators, null);
+            animation.timelines().forEach((name, timeline) -> {
+                final int id = skeleton.id(name);
+                if (id != -1) {
+                    // timelines for bones that are not in the
+                    // model can never be played, ignore them
+                    iterators[id] = timeline.createPlayhead();
+                }
+            });
             effectsIterator = animation.effectsTimeline().createPlayhead();
+            hasEffects = !animation.effectsTimeline().isEmpty();
+            delay = poseCache == null ? 0 : poseCache.startDelay(animation);
+        }
+
+        void restart() {
+            // rewind the current playheads instead of creating new ones
+            for (final BoneTimelinePlayhead iterator : iterators) {
+                if (iterator != null) {
+                    iterator.seek(0);
+                }
+            }
+            effectsIterator.seek(0);
         }
 
         void moveToNextAnimation() {
@@ -242,6 +872,47 @@ class AnimationPlayerImpl implements AnimationPlayer {
         void clear() {
             queue.clear();
             current = null;
+            transitionTicks = 0;
+            delay = 0;
+        }
+
+        void startTransition(final float @NotNull [] frames, final boolean @NotNull [] mask, final int ticks) {
+            if (transitionFrames == null) {
+                transitionFrames = new float[frames.length];
+                transitionMask = new boolean[mask.length];
+            }
+            System.arraycopy(frames, 0, transitionFrames, 0, frames.length);
+            System.arraycopy(mask, 0, transitionMask, 0, mask.length);
+            transitionTick = 0;
+            transitionTicks = ticks;
+        }
+
+        boolean isBlending(final int id) {
+            return transitionTick < transitionTicks && transitionMask[id];
+        }
+
+        void blend(final int id, final float @NotNull [] frame) {
+            final float weight = (float) transitionTick / transitionTicks;
+            final int offset = id * BoneFrame.SIZE;
+            for (int i = 0; i < 3; i++) {
+                final float from = transitionFrames[offset + BoneFrame.POSITION_OFFSET + i];
+                frame[BoneFrame.POSITION_OFFSET + i] = from + (frame[BoneFrame.POSITION_OFFSET + i] - from) * weight;
+            }
+            for (int i = 0; i < 3; i++) {
+                final float from = transitionFrames[offset + BoneFrame.SCALE_OFFSET + i];
+                frame[BoneFrame.SCALE_OFFSET + i] = from + (frame[BoneFrame.SCALE_OFFSET + i] - from) * weight;
+            }
+            PoseMath.blendRotation(transitionFrames, offset + BoneFrame.ROTATION_OFFSET, frame, BoneFrame.ROTATION_OFFSET, weight, blendScratch);
+        }
+
+        void tickTransition() {
+            if (transitionTick < transitionTicks) {
+                transitionTick++;
+            }
+        }
+
+        void skipTransition(final int ticks) {
+            transitionTick = Math.min(transitionTicks, transitionTick + ticks);
         }
     }
-}
\ No newline at end of file
+}
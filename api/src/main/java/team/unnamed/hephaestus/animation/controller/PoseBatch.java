@@ -0,0 +1,197 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.util.Quaternion;
+
+/**
+ * A fixed amount of bone transforms (position, rotation and scale)
+ * stored as a struct of arrays: one float array per component, so
+ * that a {@link PoseKernel} can process many transforms at once.
+ *
+ * <p>The transforms may belong to the bones of a single model or to
+ * bones of many views, it is up to the caller. Rotations are unit
+ * quaternions.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 1.0.0
+ */
+public final class PoseBatch {
+
+    final float[] positionX;
+    final float[] positionY;
+    final float[] positionZ;
+    final float[] rotationX;
+    final float[] rotationY;
+    final float[] rotationZ;
+    final float[] rotationW;
+    final float[] scaleX;
+    final float[] scaleY;
+    final float[] scaleZ;
+
+    /**
+     * Creates a new pose batch holding the given amount of
+     * transforms, all of them set to the identity transform.
+     *
+     * @param capacity The amount of transforms
+     * @since 1.0.0
+     */
+    public PoseBatch(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative, got " + capacity);
+        }
+        this.positionX = new float[capacity];
+        this.positionY = new float[capacity];
+        this.positionZ = new float[capacity];
+        this.rotationX = new float[capacity];
+        this.rotationY = new float[capacity];
+        this.rotationZ = new float[capacity];
+        this.rotationW = new float[capacity];
+        this.scaleX = new float[capacity];
+        this.scaleY = new float[capacity];
+        this.scaleZ = new float[capacity];
+        for (int i = 0; i < capacity; i++) {
+            rotationW[i] = 1;
+            scaleX[i] = 1;
+            scaleY[i] = 1;
+            scaleZ[i] = 1;
+        }
+    }
+
+    /**
+     * Returns the amount of transforms in this batch.
+     *
+     * @return The batch capacity
+     * @since 1.0.0
+     */
+    public int capacity() {
+        return positionX.length;
+    }
+
+    /**
+     * Sets the position of the transform at the given index.
+     *
+     * @param index The transform index
+     * @param x The position x component
+     * @param y The position y component
+     * @param z The position z component
+     * @since 1.0.0
+     */
+    public void position(final int index, final float x, final float y, final float z) {
+        positionX[index] = x;
+        positionY[index] = y;
+        positionZ[index] = z;
+    }
+
+    /**
+     * Sets the rotation of the transform at the given index.
+     *
+     * @param index The transform index
+     * @param x The rotation x component
+     * @param y The rotation y component
+     * @param z The rotation z component
+     * @param w The rotation w component
+     * @since 1.0.0
+     */
+    public void rotation(final int index, final float x, final float y, final float z, final float w) {
+        rotationX[index] = x;
+        rotationY[index] = y;
+        rotationZ[index] = z;
+        rotationW[index] = w;
+    }
+
+    /**
+     * Sets the scale of the transform at the given index.
+     *
+     * @param index The transform index
+     * @param x The scale x component
+     * @param y The scale y component
+     * @param z The scale z component
+     * @since 1.0.0
+     */
+    public void scale(final int index, final float x, final float y, final float z) {
+        scaleX[index] = x;
+        scaleY[index] = y;
+        scaleZ[index] = z;
+    }
+
+    /**
+     * Copies the transform at the given index into the given
+     * index of the target batch.
+     *
+     * @param index The transform index
+     * @param target The target batch, may be this batch
+     * @param targetIndex The target transform index
+     * @since 1.0.0
+     */
+    public void copy(final int index, final @NotNull PoseBatch target, final int targetIndex) {
+        target.positionX[targetIndex] = positionX[index];
+        target.positionY[targetIndex] = positionY[index];
+        target.positionZ[targetIndex] = positionZ[index];
+        target.rotationX[targetIndex] = rotationX[index];
+        target.rotationY[targetIndex] = rotationY[index];
+        target.rotationZ[targetIndex] = rotationZ[index];
+        target.rotationW[targetIndex] = rotationW[index];
+        target.scaleX[targetIndex] = scaleX[index];
+        target.scaleY[targetIndex] = scaleY[index];
+        target.scaleZ[targetIndex] = scaleZ[index];
+    }
+
+    /**
+     * Returns the position of the transform at the given index.
+     *
+     * @param index The transform index
+     * @return A new vector holding the position
+     * @since 1.0.0
+     */
+    public @NotNull Vector3Float position(final int index) {
+        return new Vector3Float(positionX[index], positionY[index], positionZ[index]);
+    }
+
+    /**
+     * Returns the rotation of the transform at the given index.
+     *
+     * @param index The transform index
+     * @return A new quaternion holding the rotation
+     * @since 1.0.0
+     */
+    public @NotNull Quaternion rotation(final int index) {
+        return new Quaternion(rotationX[index], rotationY[index], rotationZ[index], rotationW[index]);
+    }
+
+    /**
+     * Returns the scale of the transform at the given index.
+     *
+     * @param index The transform index
+     * @return A new vector holding the scale
+     * @since 1.0.0
+     */
+    public @NotNull Vector3Float scale(final int index) {
+        return new Vector3Float(scaleX[index], scaleY[index], scaleZ[index]);
+    }
+
+}
@@ -0,0 +1,359 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.hephaestus.Skeleton;
+import team.unnamed.hephaestus.animation.Animation;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A cache of animation poses, shared by the animation players of many
+ * views, so that views playing the same animation at the same tick only
+ * evaluate its pose once.
+ *
+ * <p>Poses are computed in model space, each player then applies its own
+ * root transform. They are only shared when a single animation is being
+ * played, without transitions, and every bone that it doesn't animate is
+ * in its initial state, other players evaluate their poses as usual.</p>
+ *
+ * <p>Poses are keyed by skeleton, animation (by identity) and tick, and
+ * computed lazily, so the cache holds at most one pose per animation
+ * tick. Poses of at most {@link #maxAnimations()} animations are kept,
+ * the least recently used ones are evicted first, and skeletons and
+ * animations are weakly referenced, so their poses are released once
+ * they are no longer used. Use {@link #clear()} to release them all.</p>
+ *
+ * <p>By default, views only share poses if they started playing the
+ * animation at the same tick. With phase bucketing, animation starts
+ * are delayed, holding the first frame, until the next multiple of
+ * {@code length / buckets} ticks of a shared clock, so views playing
+ * an animation share at most {@code buckets} poses per tick. Looping
+ * animations are only delayed when they start, views stay in phase
+ * when they restart.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see AnimationPlayer#create(team.unnamed.hephaestus.view.AbstractModelView, java.util.function.Function, PoseCache)
+ * @since 1.0.0
+ */
+public final class PoseCache {
+    /**
+     * The default maximum amount of animations whose poses are cached.
+     *
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_MAX_ANIMATIONS = 64;
+
+    private final int buckets;
+    private final LongSupplier clock;
+    private final int maxAnimations;
+
+    // guarded by itself, in access order, so that the least
+    // recently used animations are evicted first
+    private final Map<Key, AtomicReferenceArray<Entry>> poses;
+    // skeletons and animations that were garbage collected
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    private PoseCache(final int buckets, final @NotNull LongSupplier clock, final int maxAnimations) {
+        this.buckets = buckets;
+        this.clock = clock;
+        this.maxAnimations = maxAnimations;
+        this.poses = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, AtomicReferenceArray<Entry>> eldest) {
+                return size() > maxAnimations;
+            }
+        };
+    }
+
+    /**
+     * Creates a new pose cache without phase bucketing, holding
+     * the poses of up to {@link #DEFAULT_MAX_ANIMATIONS} animations.
+     *
+     * <p>Views only share poses if they started playing the same
+     * animation at the same tick, for example, when they are spawned
+     * and animated together.</p>
+     *
+     * @return The created pose cache
+     * @since 1.0.0
+     */
+    public static @NotNull PoseCache create() {
+        return new PoseCache(0, () -> 0L, DEFAULT_MAX_ANIMATIONS);
+    }
+
+    /**
+     * Creates a new pose cache without phase bucketing, holding
+     * the poses of up to {@code maxAnimations} animations.
+     *
+     * <p>Every cached animation takes one pose per tick of its
+     * length, each holding the frame and the model space transform
+     * of every bone, so the limit bounds the memory used by the
+     * cache to about {@code maxAnimations * length * bones}
+     * transforms.</p>
+     *
+     * @param maxAnimations The maximum amount of animations whose
+     *                      poses are cached, must be positive
+     * @return The created pose cache
+     * @throws IllegalArgumentException If {@code maxAnimations}
+     * is not positive
+     * @since 1.0.0
+     */
+    public static @NotNull PoseCache create(final int maxAnimations) {
+        if (maxAnimations < 1) {
+            throw new IllegalArgumentException("Max animations must be positive, got " + maxAnimations);
+        }
+        return new PoseCache(0, () -> 0L, maxAnimations);
+    }
+
+    /**
+     * Creates a new pose cache with phase bucketing, holding the
+     * poses of up to {@link #DEFAULT_MAX_ANIMATIONS} animations.
+     *
+     * <p>Animations started by players using this cache are delayed
+     * by up to {@code length / buckets} ticks, see the class
+     * documentation.</p>
+     *
+     * @param buckets The maximum amount of poses evaluated per
+     *                animation and tick, must be positive
+     * @param clock The shared clock, must increase by one every
+     *              tick, for example, the server tick counter
+     * @return The created pose cache
+     * @throws IllegalArgumentException If {@code buckets} is
+     * not positive
+     * @since 1.0.0
+     */
+    public static @NotNull PoseCache create(final int buckets, final @NotNull LongSupplier clock) {
+        return create(buckets, clock, DEFAULT_MAX_ANIMATIONS);
+    }
+
+    /**
+     * Creates a new pose cache with phase bucketing, holding the
+     * poses of up to {@code maxAnimations} animations.
+     *
+     * @param buckets The maximum amount of poses evaluated per
+     *                animation and tick, must be positive
+     * @param clock The shared clock, must increase by one every
+     *              tick, for example, the server tick counter
+     * @param maxAnimations The maximum amount of animations whose
+     *                      poses are cached, must be positive
+     * @return The created pose cache
+     * @throws IllegalArgumentException If {@code buckets} or
+     * {@code maxAnimations} is not positive
+     * @see #create(int)
+     * @since 1.0.0
+     */
+    public static @NotNull PoseCache create(final int buckets, final @NotNull LongSupplier clock, final int maxAnimations) {
+        requireNonNull(clock, "clock");
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Buckets must be positive, got " + buckets);
+        }
+        if (maxAnimations < 1) {
+            throw new IllegalArgumentException("Max animations must be positive, got " + maxAnimations);
+        }
+        return new PoseCache(buckets, clock, maxAnimations);
+    }
+
+    /**
+     * Returns the amount of phase buckets, or zero if
+     * phase bucketing is disabled.
+     *
+     * <p>This is the maximum amount of poses evaluated per
+     * animation and tick, no matter how many views play it.</p>
+     *
+     * @return The amount of phase buckets
+     * @since 1.0.0
+     */
+    public int buckets() {
+        return buckets;
+    }
+
+    /**
+     * Returns the maximum amount of animations whose poses
+     * are cached, once reached, the poses of the least
+     * recently used animation are evicted.
+     *
+     * @return The maximum amount of cached animations
+     * @since 1.0.0
+     */
+    public int maxAnimations() {
+        return maxAnimations;
+    }
+
+    /**
+     * Counts the poses currently cached, this takes time
+     * proportional to the length of the cached animations.
+     *
+     * <p>Poses are computed lazily, so this is at most the
+     * sum of the lengths of the cached animations. Poses of
+     * animations that were garbage collected are not
+     * counted.</p>
+     *
+     * @return The amount of cached poses
+     * @since 1.0.0
+     */
+    public int size() {
+        int size = 0;
+        synchronized (poses) {
+            expunge();
+            for (final AtomicReferenceArray<Entry> animationPoses : poses.values()) {
+                for (int tick = 0; tick < animationPoses.length(); tick++) {
+                    if (animationPoses.get(tick) != null) {
+                        size++;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all the cached poses.
+     *
+     * <p>Players keep the poses of the animation they are
+     * currently playing until it changes, later players
+     * evaluate and cache their poses again.</p>
+     *
+     * @since 1.0.0
+     */
+    public void clear() {
+        synchronized (poses) {
+            poses.clear();
+        }
+    }
+
+    /**
+     * Returns the poses of the given animation, indexed by tick,
+     * players hold them while they play the animation, so this
+     * is only called when their animation changes
+     *
+     * @param skeleton The skeleton of the model playing the animation
+     * @param animation The animation
+     * @return The poses of the animation, each one null until computed
+     */
+    @NotNull AtomicReferenceArray<Entry> poses(final @NotNull Skeleton skeleton, final @NotNull Animation animation) {
+        synchronized (poses) {
+            expunge();
+            final Key lookup = new Key(skeleton, animation, null);
+            AtomicReferenceArray<Entry> animationPoses = poses.get(lookup);
+            if (animationPoses == null) {
+                animationPoses = new AtomicReferenceArray<>(Math.max(animation.length(), 1));
+                poses.put(new Key(skeleton, animation, collected), animationPoses);
+            }
+            return animationPoses;
+        }
+    }
+
+    // removes the poses of collected skeletons and animations,
+    // must be called while holding the poses lock
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            poses.remove(((KeyReference) reference).key);
+        }
+    }
+
+    /**
+     * Returns the amount of ticks the given animation must
+     * hold its first frame before it starts playing
+     *
+     * @param animation The animation being started
+     * @return The start delay, in ticks, zero if phase
+     * bucketing is disabled
+     */
+    int startDelay(final @NotNull Animation animation) {
+        if (buckets == 0) {
+            return 0;
+        }
+        final int bucketLength = (animation.length() + buckets - 1) / buckets;
+        if (bucketLength <= 1) {
+            return 0;
+        }
+        return (int) Math.floorMod(-clock.getAsLong(), (long) bucketLength);
+    }
+
+    /**
+     * A cached pose, the local frame of every bone, indexed by bone
+     * id and using the {@link team.unnamed.hephaestus.animation.timeline.bone.BoneFrame}
+     * layout, and the model space transform of every bone, indexed
+     * by the player slots
+     */
+    static final class Entry {
+        final float[] frames;
+        final PoseBatch pose;
+
+        Entry(final float @NotNull [] frames, final @NotNull PoseBatch pose) {
+            this.frames = frames;
+            this.pose = pose;
+        }
+    }
+
+    // animations are compared by identity, value equality is too
+    // expensive for a lookup, and weakly referenced, keys whose
+    // referents were collected are only equal to themselves
+    private static final class Key {
+        private final KeyReference skeleton;
+        private final KeyReference animation;
+        private final int hash;
+
+        Key(final @NotNull Skeleton skeleton, final @NotNull Animation animation, final ReferenceQueue<Object> queue) {
+            this.skeleton = new KeyReference(skeleton, this, queue);
+            this.animation = new KeyReference(animation, this, queue);
+            this.hash = 31 * System.identityHashCode(skeleton) + System.identityHashCode(animation);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            final Object skeleton = this.skeleton.get();
+            final Object animation = this.animation.get();
+            return skeleton != null && animation != null
+                    && skeleton == other.skeleton.get() && animation == other.animation.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class KeyReference extends WeakReference<Object> {
+        private final Key key;
+
+        KeyReference(final @NotNull Object referent, final @NotNull Key key, final ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+}
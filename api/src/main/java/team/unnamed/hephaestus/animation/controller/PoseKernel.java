@@ -0,0 +1,122 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Batch operations over the transforms of {@link PoseBatch pose batches}.
+ *
+ * <p>Every operation processes the transforms at indexes {@code [offset, offset + count)}
+ * of the given batches, lane by lane. Output batches may be the same as
+ * input batches.</p>
+ *
+ * @since 1.0.0
+ */
+public interface PoseKernel {
+
+    /**
+     * Returns the fastest kernel available in this runtime.
+     *
+     * <p>If the {@code jdk.incubator.vector} module is resolved (for
+     * example, by starting the JVM with {@code --add-modules jdk.incubator.vector}),
+     * the returned kernel uses SIMD instructions, otherwise, or if the
+     * {@code hephaestus.disable_vector_api} system property is set to
+     * {@code true}, it is the {@link #scalar()} kernel.</p>
+     *
+     * @return The kernel
+     * @since 1.0.0
+     */
+    static @NotNull PoseKernel kernel() {
+        return PoseKernels.DEFAULT;
+    }
+
+    /**
+     * Returns the scalar kernel, which processes one transform
+     * at a time and is always available.
+     *
+     * @return The scalar kernel
+     * @since 1.0.0
+     */
+    static @NotNull PoseKernel scalar() {
+        return ScalarPoseKernel.INSTANCE;
+    }
+
+    /**
+     * Determines whether this kernel processes many transforms
+     * per instruction.
+     *
+     * @return True if this kernel is vectorized
+     * @since 1.0.0
+     */
+    boolean vectorized();
+
+    /**
+     * Composes local transforms with their parent transforms, the
+     * same way the animation player computes bone transforms:
+     *
+     * <ul>
+     *     <li>scale = parent scale * local scale</li>
+     *     <li>rotation = parent rotation * local rotation</li>
+     *     <li>position = parent rotation * (local position * scale) + parent position</li>
+     * </ul>
+     *
+     * @param parents The parent transforms
+     * @param locals The local transforms
+     * @param out The batch to write the composed transforms to
+     * @param offset The index of the first transform
+     * @param count The amount of transforms
+     * @since 1.0.0
+     */
+    void compose(
+            final @NotNull PoseBatch parents,
+            final @NotNull PoseBatch locals,
+            final @NotNull PoseBatch out,
+            final int offset,
+            final int count
+    );
+
+    /**
+     * Interpolates transforms toward other transforms. Positions
+     * and scales are linearly interpolated, rotations are normalized-linearly
+     * interpolated (nlerp), taking the shortest path.
+     *
+     * @param from The transforms at progress zero
+     * @param to The transforms at progress one
+     * @param progress The progress, usually in the [0, 1] range
+     * @param out The batch to write the interpolated transforms to
+     * @param offset The index of the first transform
+     * @param count The amount of transforms
+     * @since 1.0.0
+     */
+    void interpolate(
+            final @NotNull PoseBatch from,
+            final @NotNull PoseBatch to,
+            final float progress,
+            final @NotNull PoseBatch out,
+            final int offset,
+            final int count
+    );
+
+}
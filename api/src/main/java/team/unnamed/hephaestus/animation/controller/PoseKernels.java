@@ -0,0 +1,56 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds the default {@link PoseKernel}, selected once.
+ */
+final class PoseKernels {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "team.unnamed.hephaestus.animation.controller.VectorPoseKernel";
+
+    static final PoseKernel DEFAULT = select();
+
+    private PoseKernels() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    private static @NotNull PoseKernel select() {
+        if (Boolean.getBoolean("hephaestus.disable_vector_api")
+                || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return ScalarPoseKernel.INSTANCE;
+        }
+        try {
+            // loaded reflectively, it's compiled in its own source
+            // set and linking it fails when the module isn't available
+            return (PoseKernel) Class.forName(VECTOR_KERNEL)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            return ScalarPoseKernel.INSTANCE;
+        }
+    }
+}
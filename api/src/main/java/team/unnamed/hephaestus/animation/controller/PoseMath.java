@@ -0,0 +1,181 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Primitive, allocation-free versions of the {@link team.unnamed.hephaestus.util.Quaternion}
+ * operations used when computing bone transforms. Quaternions are
+ * stored as four consecutive doubles (x, y, z, w) and vectors as three
+ * consecutive floats (x, y, z).
+ */
+final class PoseMath {
+    private PoseMath() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Same as {@link team.unnamed.hephaestus.util.Quaternion#fromEulerDegrees}
+     */
+    static void fromEulerDegrees(final double x, final double y, final double z, final double @NotNull [] out, final int offset) {
+        // common values
+        final double halfX = Math.toRadians(x) * 0.5D;
+        final double halfY = Math.toRadians(y) * 0.5D;
+        final double halfZ = Math.toRadians(z) * 0.5D;
+
+        // compute cos
+        final double cosX = Math.cos(halfX);
+        final double cosY = Math.cos(halfY);
+        final double cosZ = Math.cos(halfZ);
+
+        // compute sin
+        final double sinX = Math.sin(halfX);
+        final double sinY = Math.sin(halfY);
+        final double sinZ = Math.sin(halfZ);
+
+        // common products
+        final double sinXCosY = sinX * cosY;
+        final double cosXSinY = cosX * sinY;
+        final double cosXCosY = cosX * cosY;
+        final double sinXSinY = sinX * sinY;
+
+        out[offset] = sinXCosY * cosZ - cosXSinY * sinZ;
+        out[offset + 1] = cosXSinY * cosZ + sinXCosY * sinZ;
+        out[offset + 2] = cosXCosY * sinZ - sinXSinY * cosZ;
+        out[offset + 3] = cosXCosY * cosZ + sinXSinY * sinZ;
+    }
+
+    /**
+     * Same as {@link team.unnamed.hephaestus.util.Quaternion#multiply(team.unnamed.hephaestus.util.Quaternion)},
+     * {@code out} may be the same array as {@code a} or {@code b}
+     */
+    static void multiply(
+            final double @NotNull [] a, final int aOffset,
+            final double @NotNull [] b, final int bOffset,
+            final double @NotNull [] out, final int offset
+    ) {
+        final double ax = a[aOffset], ay = a[aOffset + 1], az = a[aOffset + 2], aw = a[aOffset + 3];
+        final double bx = b[bOffset], by = b[bOffset + 1], bz = b[bOffset + 2], bw = b[bOffset + 3];
+        out[offset] = ax * bw + aw * bx + ay * bz - az * by;
+        out[offset + 1] = ay * bw + aw * by + az * bx - ax * bz;
+        out[offset + 2] = az * bw + aw * bz + ax * by - ay * bx;
+        out[offset + 3] = aw * bw - ax * bx - ay * by - az * bz;
+    }
+
+    /**
+     * Moves and rotates the model space poses in {@code poses} by the
+     * pose at {@code rootIndex} in {@code root}, writing the first
+     * {@code count} poses to {@code out}. Unlike
+     * {@link PoseKernel#compose}, pose positions are not scaled, they
+     * already are, and the root scale is ignored, it is always one
+     */
+    static void transform(
+            final @NotNull PoseBatch root,
+            final int rootIndex,
+            final @NotNull PoseBatch poses,
+            final @NotNull PoseBatch out,
+            final int count
+    ) {
+        final float x = root.rotationX[rootIndex];
+        final float y = root.rotationY[rootIndex];
+        final float z = root.rotationZ[rootIndex];
+        final float w = root.rotationW[rootIndex];
+        final float xx = x * x, xy = x * y, xz = x * z, xw = x * w;
+        final float yy = y * y, yz = y * z, yw = y * w;
+        final float zz = z * z, zw = z * w;
+        for (int i = 0; i < count; i++) {
+            final float vx = poses.positionX[i];
+            final float vy = poses.positionY[i];
+            final float vz = poses.positionZ[i];
+            out.positionX[i] = (1 - 2 * (yy + zz)) * vx + 2 * (xy - zw) * vy + 2 * (xz + yw) * vz + root.positionX[rootIndex];
+            out.positionY[i] = 2 * (xy + zw) * vx + (1 - 2 * (xx + zz)) * vy + 2 * (yz - xw) * vz + root.positionY[rootIndex];
+            out.positionZ[i] = 2 * (xz - yw) * vx + 2 * (yz + xw) * vy + (1 - 2 * (xx + yy)) * vz + root.positionZ[rootIndex];
+
+            final float bx = poses.rotationX[i];
+            final float by = poses.rotationY[i];
+            final float bz = poses.rotationZ[i];
+            final float bw = poses.rotationW[i];
+            out.rotationX[i] = x * bw + w * bx + y * bz - z * by;
+            out.rotationY[i] = y * bw + w * by + z * bx - x * bz;
+            out.rotationZ[i] = z * bw + w * bz + x * by - y * bx;
+            out.rotationW[i] = w * bw - x * bx - y * by - z * bz;
+
+            out.scaleX[i] = poses.scaleX[i];
+            out.scaleY[i] = poses.scaleY[i];
+            out.scaleZ[i] = poses.scaleZ[i];
+        }
+    }
+
+    /**
+     * Interpolates the frame rotation at {@code fromOffset} toward the
+     * frame rotation at {@code toOffset}, see {@link team.unnamed.hephaestus.animation.timeline.bone.BoneFrame#isQuaternion},
+     * and writes the result over the latter. Two Euler rotations are linearly
+     * interpolated, otherwise both are interpolated as quaternions (nlerp),
+     * Euler rotations being applied after the bone rotation, using the
+     * first eight doubles of {@code scratch}
+     */
+    static void blendRotation(
+            final float @NotNull [] from, final int fromOffset,
+            final float @NotNull [] to, final int toOffset,
+            final float weight,
+            final double @NotNull [] scratch
+    ) {
+        if (Float.isNaN(from[fromOffset + 3]) && Float.isNaN(to[toOffset + 3])) {
+            for (int i = 0; i < 3; i++) {
+                final float value = from[fromOffset + i];
+                to[toOffset + i] = value + (to[toOffset + i] - value) * weight;
+            }
+            return;
+        }
+
+        toQuaternion(from, fromOffset, scratch, 0);
+        toQuaternion(to, toOffset, scratch, 4);
+
+        // take the shortest path
+        final double dot = scratch[0] * scratch[4] + scratch[1] * scratch[5] + scratch[2] * scratch[6] + scratch[3] * scratch[7];
+        final double sign = dot < 0 ? -1D : 1D;
+
+        double lengthSquared = 0;
+        for (int i = 0; i < 4; i++) {
+            final double value = scratch[i] + (scratch[4 + i] * sign - scratch[i]) * weight;
+            scratch[i] = value;
+            lengthSquared += value * value;
+        }
+        final double inverseLength = 1D / Math.sqrt(lengthSquared);
+        for (int i = 0; i < 4; i++) {
+            to[toOffset + i] = (float) (scratch[i] * inverseLength);
+        }
+    }
+
+    private static void toQuaternion(final float @NotNull [] rotation, final int offset, final double @NotNull [] out, final int outOffset) {
+        if (Float.isNaN(rotation[offset + 3])) {
+            fromEulerDegrees(rotation[offset], rotation[offset + 1], rotation[offset + 2], out, outOffset);
+        } else {
+            for (int i = 0; i < 4; i++) {
+                out[outOffset + i] = rotation[offset + i];
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import org.jetbrains.annotations.NotNull;
+
+final class ScalarPoseKernel implements PoseKernel {
+    static final PoseKernel INSTANCE = new ScalarPoseKernel();
+
+    private ScalarPoseKernel() {
+    }
+
+    @Override
+    public boolean vectorized() {
+        return false;
+    }
+
+    @Override
+    public void compose(
+            final @NotNull PoseBatch parents,
+            final @NotNull PoseBatch locals,
+            final @NotNull PoseBatch out,
+            final int offset,
+            final int count
+    ) {
+        for (int i = offset; i < offset + count; i++) {
+            final float x = parents.rotationX[i];
+            final float y = parents.rotationY[i];
+            final float z = parents.rotationZ[i];
+            final float w = parents.rotationW[i];
+
+            // scale
+            final float scaleX = parents.scaleX[i] * locals.scaleX[i];
+            final float scaleY = parents.scaleY[i] * locals.scaleY[i];
+            final float scaleZ = parents.scaleZ[i] * locals.scaleZ[i];
+
+            // position, see Quaternion#transform
+            final float vx = locals.positionX[i] * scaleX;
+            final float vy = locals.positionY[i] * scaleY;
+            final float vz = locals.positionZ[i] * scaleZ;
+            final float xx = x * x, xy = x * y, xz = x * z, xw = x * w;
+            final float yy = y * y, yz = y * z, yw = y * w;
+            final float zz = z * z, zw = z * w;
+            final float positionX = (1 - 2 * (yy + zz)) * vx + 2 * (xy - zw) * vy + 2 * (xz + yw) * vz + parents.positionX[i];
+            final float positionY = 2 * (xy + zw) * vx + (1 - 2 * (xx + zz)) * vy + 2 * (yz - xw) * vz + parents.positionY[i];
+            final float positionZ = 2 * (xz - yw) * vx + 2 * (yz + xw) * vy + (1 - 2 * (xx + yy)) * vz + parents.positionZ[i];
+
+            // rotation, see Quaternion#multiply
+            final float bx = locals.rotationX[i];
+            final float by = locals.rotationY[i];
+            final float bz = locals.rotationZ[i];
+            final float bw = locals.rotationW[i];
+            out.rotationX[i] = x * bw + w * bx + y * bz - z * by;
+            out.rotationY[i] = y * bw + w * by + z * bx - x * bz;
+            out.rotationZ[i] = z * bw + w * bz + x * by - y * bx;
+            out.rotationW[i] = w * bw - x * bx - y * by - z * bz;
+
+            out.positionX[i] = positionX;
+            out.positionY[i] = positionY;
+            out.positionZ[i] = positionZ;
+            out.scaleX[i] = scaleX;
+            out.scaleY[i] = scaleY;
+            out.scaleZ[i] = scaleZ;
+        }
+    }
+
+    @Override
+    public void interpolate(
+            final @NotNull PoseBatch from,
+            final @NotNull PoseBatch to,
+            final float progress,
+            final @NotNull PoseBatch out,
+            final int offset,
+            final int count
+    ) {
+        for (int i = offset; i < offset + count; i++) {
+            out.positionX[i] = from.positionX[i] + (to.positionX[i] - from.positionX[i]) * progress;
+            out.positionY[i] = from.positionY[i] + (to.positionY[i] - from.positionY[i]) * progress;
+            out.positionZ[i] = from.positionZ[i] + (to.positionZ[i] - from.positionZ[i]) * progress;
+            out.scaleX[i] = from.scaleX[i] + (to.scaleX[i] - from.scaleX[i]) * progress;
+            out.scaleY[i] = from.scaleY[i] + (to.scaleY[i] - from.scaleY[i]) * progress;
+            out.scaleZ[i] = from.scaleZ[i] + (to.scaleZ[i] - from.scaleZ[i]) * progress;
+
+            final float ax = from.rotationX[i], ay = from.rotationY[i], az = from.rotationZ[i], aw = from.rotationW[i];
+            float bx = to.rotationX[i], by = to.rotationY[i], bz = to.rotationZ[i], bw = to.rotationW[i];
+            if (ax * bx + ay * by + az * bz + aw * bw < 0) {
+                // take the shortest path
+                bx = -bx;
+                by = -by;
+                bz = -bz;
+                bw = -bw;
+            }
+            final float x = ax + (bx - ax) * progress;
+            final float y = ay + (by - ay) * progress;
+            final float z = az + (bz - az) * progress;
+            final float w = aw + (bw - aw) * progress;
+            final float inverseLength = 1F / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            out.rotationX[i] = x * inverseLength;
+            out.rotationY[i] = y * inverseLength;
+            out.rotationZ[i] = z * inverseLength;
+            out.rotationW[i] = w * inverseLength;
+        }
+    }
+}
@@ -25,7 +25,6 @@ package team.unnamed.hephaestus.animation.interpolation;
 
 import org.jetbrains.annotations.NotNull;
 import team.unnamed.creative.base.Axis3D;
-import team.unnamed.creative.base.Vector2Float;
 import team.unnamed.creative.base.Vector3Float;
 import team.unnamed.hephaestus.animation.timeline.KeyFrame;
 import team.unnamed.hephaestus.animation.timeline.KeyFrameBezierAttachment;
@@ -33,12 +32,11 @@ import team.unnamed.hephaestus.animation.timeline.KeyFrameBezierAttachment;
 import static java.util.Objects.requireNonNull;
 
 final class BezierInterpolator implements KeyFrameInterpolator<Vector3Float> {
-    private static final Axis3D[] AXES = Axis3D.values();
+    static final KeyFrameInterpolator<Vector3Float> INSTANCE = new BezierInterpolator();
 
-    private final int divisions;
+    private static final Axis3D[] AXES = Axis3D.values();
 
-    BezierInterpolator(final int divisions) {
-        this.divisions = divisions;
+    private BezierInterpolator() {
     }
 
     @Override
@@ -54,47 +52,33 @@ final class BezierInterpolator implements KeyFrameInterpolator<Vector3Float> {
         }
 
         final float timeGap = to.time() - from.time();
-
-        // points[division][axis]
-        final Vector2Float[][] points = new Vector2Float[divisions][AXES.length];
+        final double[] coefficients = new double[AXES.length * BezierInterpolation.STRIDE];
 
         for (final Axis3D axis : AXES) {
-            final float timePoint0 = from.time();
-            final float timePoint1 = timePoint0 + clamp(fromBezier.rightTime().get(axis), 0, timeGap);
-            final float timePoint3 = to.time();
-            final float timePoint2 = timePoint3 + clamp(toBezier.leftTime().get(axis), -timeGap, 0);
-
-            final float valuePoint0 = from.value().get(axis);
-            final float valuePoint1 = valuePoint0 + fromBezier.rightValue().get(axis);
-            final float valuePoint3 = to.value().get(axis);
-            final float valuePoint2 = valuePoint3 + toBezier.leftValue().get(axis);
-
-            for (int i = 0; i < divisions; i++) {
-                final double t = (double) i / (divisions - 1);
-                final double s2 = t * t;
-                final double s3 = t * s2;
-
-                final double k = 1 - t;
-                final double k2 = k * k;
-                final double k3 = k * k2;
-
-                final double gotTime = k3 * timePoint0 + 3 * k2 * t * timePoint1 + 3 * k * s2 * timePoint2 + s3 * timePoint3;
-                final double value = k3 * valuePoint0 + 3 * k2 * t * valuePoint1 + 3 * k * s2 * valuePoint2 + s3 * valuePoint3;
-
-                points[i][axis.ordinal()] = new Vector2Float((float) gotTime, (float) value);
-            }
+            // time handles are clamped to the segment, so the time
+            // curve is monotonic and there is a single curve
+            // parameter for every time in the segment
+            final double timePoint1 = (double) clamp(fromBezier.rightTime().get(axis), 0, timeGap) / timeGap;
+            final double timePoint2 = 1 + (double) clamp(toBezier.leftTime().get(axis), -timeGap, 0) / timeGap;
+
+            final double valuePoint0 = from.value().get(axis);
+            final double valuePoint1 = valuePoint0 + fromBezier.rightValue().get(axis);
+            final double valuePoint3 = to.value().get(axis);
+            final double valuePoint2 = valuePoint3 + toBezier.leftValue().get(axis);
+
+            // polynomial coefficients of the Bézier curve, time is normalized
+            // to [0, 1] (time point 0 = 0, time point 3 = 1)
+            final int i = axis.ordinal() * BezierInterpolation.STRIDE;
+            coefficients[i] = 1 + 3 * timePoint1 - 3 * timePoint2;
+            coefficients[i + 1] = 3 * timePoint2 - 6 * timePoint1;
+            coefficients[i + 2] = 3 * timePoint1;
+            coefficients[i + 3] = valuePoint3 - valuePoint0 + 3 * (valuePoint1 - valuePoint2);
+            coefficients[i + 4] = 3 * (valuePoint2 - 2 * valuePoint1 + valuePoint0);
+            coefficients[i + 5] = 3 * (valuePoint1 - valuePoint0);
+            coefficients[i + 6] = valuePoint0;
         }
 
-        return t -> {
-            final double k = 1 - t;
-            final float time = (float) (from.time() * k + to.time() * t);
-
-            float x = findClosestAndLerp(points, time, Axis3D.X);
-            float y = findClosestAndLerp(points, time, Axis3D.Y);
-            float z = findClosestAndLerp(points, time, Axis3D.Z);
-
-            return new Vector3Float(x, y, z);
-        };
+        return new BezierInterpolation(coefficients);
     }
 
     @Override
@@ -109,49 +93,78 @@ final class BezierInterpolator implements KeyFrameInterpolator<Vector3Float> {
         }
     }
 
-    private static float clamp(final float value, final float min, final float max) {
-        return Math.max(min, Math.min(max, value));
-    }
+    // evaluates the Bézier curve by solving its (monotonic) time
+    // polynomial for the curve parameter, and then evaluating the
+    // value polynomial at that parameter
+    static final class BezierInterpolation implements Vector3FloatInterpolation {
+        // per axis: time (a, b, c) and value (a, b, c, d) coefficients
+        static final int STRIDE = 7;
 
-    private static float findClosestAndLerp(final Vector2Float[][] points, final float time, final Axis3D axis) {
-        float closestDistance = Float.MAX_VALUE;
+        private static final int NEWTON_ITERATIONS = 8;
+        private static final int BISECTION_ITERATIONS = 32;
+        private static final double EPSILON = 1e-7;
 
-        float closest = Float.MAX_VALUE;
-        float closestTime = Float.MAX_VALUE;
+        private final double[] coefficients;
 
-        for (final Vector2Float[] byAxis : points) {
-            Vector2Float vector = byAxis[axis.ordinal()];
-            final float t = vector.x(); // time for this point
-            final float value = vector.y(); // value for this point
+        BezierInterpolation(final double @NotNull [] coefficients) {
+            this.coefficients = coefficients;
+        }
 
-            final float distance = Math.abs(time - t);
-            if (distance < closestDistance) {
-                closest = value;
-                closestTime = t;
-                closestDistance = distance;
-            }
+        @Override
+        public void interpolate(final double t, final float @NotNull [] out, final int offset) {
+            out[offset] = (float) evaluate(coefficients, 0, t);
+            out[offset + 1] = (float) evaluate(coefficients, STRIDE, t);
+            out[offset + 2] = (float) evaluate(coefficients, STRIDE * 2, t);
         }
 
-        // find second closest
-        closestDistance = Float.MAX_VALUE;
-        float secondClosest = Float.MAX_VALUE;
-        float secondClosestTime = Float.MAX_VALUE;
-
-        for (final Vector2Float[] byAxis : points) {
-            Vector2Float vector = byAxis[axis.ordinal()];
-            final float t = vector.x(); // time for this point
-            final float value = vector.y(); // value for this point
-
-            final float distance = Math.abs(time - t);
-            if (distance < closestDistance && t != closestTime) {
-                secondClosest = value;
-                secondClosestTime = t;
-                closestDistance = distance;
+        private static double evaluate(final double @NotNull [] c, final int i, final double time) {
+            final double s = solve(c[i], c[i + 1], c[i + 2], time);
+            return ((c[i + 3] * s + c[i + 4]) * s + c[i + 5]) * s + c[i + 6];
+        }
+
+        private static double solve(final double a, final double b, final double c, final double time) {
+            if (time <= 0) {
+                return 0;
+            } else if (time >= 1) {
+                return 1;
+            }
+
+            // Newton-Raphson, converges very fast for most curves
+            double s = time;
+            for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+                final double error = ((a * s + b) * s + c) * s - time;
+                if (Math.abs(error) < EPSILON) {
+                    return s;
+                }
+                final double derivative = (3 * a * s + 2 * b) * s + c;
+                if (Math.abs(derivative) < EPSILON) {
+                    break;
+                }
+                s -= error / derivative;
+            }
+
+            // fallback to bisection, always converges since the
+            // time polynomial is monotonic in [0, 1]
+            double low = 0;
+            double high = 1;
+            s = time;
+            for (int i = 0; i < BISECTION_ITERATIONS; i++) {
+                final double error = ((a * s + b) * s + c) * s - time;
+                if (Math.abs(error) < EPSILON) {
+                    break;
+                }
+                if (error > 0) {
+                    high = s;
+                } else {
+                    low = s;
+                }
+                s = (low + high) * 0.5;
             }
+            return s;
         }
+    }
 
-        // linear lerp between these closest points (lerp method doesn't exist)
-        final float t = clamp((time - closestTime) / (secondClosestTime - closestTime), 0, 1);
-        return closest + (secondClosest - closest) * t;
+    private static float clamp(final float value, final float min, final float max) {
+        return Math.max(min, Math.min(max, value));
     }
 }
@@ -55,12 +55,14 @@ final class CatmullRomInterpolator implements Interpolator<Vector3Float> {
     }
 
     // based on Blockbench and Three.js implementations
-    static final class CatmullRomInterpolation implements Interpolation<Vector3Float> {
+    static final class CatmullRomInterpolation implements Vector3FloatInterpolation {
 
-        private final @Nullable Vector3Float before;
-        private final Vector3Float from;
-        private final Vector3Float to;
-        private final @Nullable Vector3Float after;
+        // cubic polynomial coefficients (a*t^3 + b*t^2 + c*t + d),
+        // computed once from the control points, missing "before"
+        // and "after" points are replaced by "from" and "to"
+        private final double ax, bx, cx, dx;
+        private final double ay, by, cy, dy;
+        private final double az, bz, cz, dz;
 
         CatmullRomInterpolation(
                 final @Nullable Vector3Float before,
@@ -68,63 +70,44 @@ final class CatmullRomInterpolator implements Interpolator<Vector3Float> {
                 final @NotNull Vector3Float to,
                 final @Nullable Vector3Float after
         ) {
-            this.before = before;
-            this.from = from;
-            this.to = to;
-            this.after = after;
-        }
-
-        @Override
-        public @NotNull Vector3Float interpolate(final double progress) {
-            int len = 2;
-            if (before != null) len++;
-            if (after != null) len++;
-            final Vector3Float[] points = new Vector3Float[len];
-
-            int i = 0;
-            if (before != null) points[i++] = before;
-            points[i++] = from;
-            points[i++] = to;
-            if (after != null) points[i] = after;
-
-            return catmullRom(
-                    (progress + (before != null ? 1 : 0)) / (len - 1),
-                    points
-            );
-        }
-
-        private static Vector3Float catmullRom(double progress, Vector3Float... points) {
-            final double p = (points.length - 1) * progress;
+            final Vector3Float p0 = before == null ? from : before;
+            final Vector3Float p3 = after == null ? to : after;
 
-            int intPoint = (int) Math.floor(p);
-
-            Vector3Float p0 = points[intPoint == 0 ? intPoint : intPoint - 1];
-            Vector3Float p1 = points[intPoint];
-            Vector3Float p2 = points[intPoint > points.length - 2 ? points.length - 1 : intPoint + 1];
-            Vector3Float p3 = points[intPoint > points.length - 3 ? points.length - 1 : intPoint + 2];
+            // calculate coefficients for X
+            double v0 = (to.x() - p0.x()) * 0.5D;
+            double v1 = (p3.x() - from.x()) * 0.5D;
+            ax = 2 * from.x() - 2 * to.x() + v0 + v1;
+            bx = -3 * from.x() + 3 * to.x() - 2 * v0 - v1;
+            cx = v0;
+            dx = from.x();
 
-            double weight = p - intPoint; // decimal part only
-            double t2 = weight * weight;
-            double t3 = weight * t2;
+            // calculate coefficients for Y
+            v0 = (to.y() - p0.y()) * 0.5D;
+            v1 = (p3.y() - from.y()) * 0.5D;
+            ay = 2 * from.y() - 2 * to.y() + v0 + v1;
+            by = -3 * from.y() + 3 * to.y() - 2 * v0 - v1;
+            cy = v0;
+            dy = from.y();
 
-            return new Vector3Float(
-                    (float) catmullRom(weight, t2, t3, p0.x(), p1.x(), p2.x(), p3.x()),
-                    (float) catmullRom(weight, t2, t3, p0.y(), p1.y(), p2.y(), p3.y()),
-                    (float) catmullRom(weight, t2, t3, p0.z(), p1.z(), p2.z(), p3.z())
-            );
+            // calculate coefficients for Z
+            v0 = (to.z() - p0.z()) * 0.5D;
+            v1 = (p3.z() - from.z()) * 0.5D;
+            az = 2 * from.z() - 2 * to.z() + v0 + v1;
+            bz = -3 * from.z() + 3 * to.z() - 2 * v0 - v1;
+            cz = v0;
+            dz = from.z();
         }
 
-        private static double catmullRom(double t, double t2, double t3, double p0, double p1, double p2, double p3) {
-            double v0 = (p2 - p0) * 0.5;
-            double v1 = (p3 - p1) * 0.5;
-            double a = 2*p1 - 2*p2 + v0 + v1;
-            double b = -3*p1 + 3*p2 - 2*v0 - v1;
-            return a*t3 + b*t2 + v0*t + p1;
+        @Override
+        public void interpolate(final double t, final float @NotNull [] out, final int offset) {
+            out[offset] = (float) (((ax * t + bx) * t + cx) * t + dx);
+            out[offset + 1] = (float) (((ay * t + by) * t + cy) * t + dy);
+            out[offset + 2] = (float) (((az * t + bz) * t + cz) * t + dz);
         }
     }
 
     // same as CatmullRomInterpolation, but optimized for only two points
-    static final class BinaryCatmullRomInterpolation implements Interpolation<Vector3Float> {
+    static final class BinaryCatmullRomInterpolation implements Vector3FloatInterpolation {
 
         private final Vector3Float from;
 
@@ -164,6 +147,15 @@ final class CatmullRomInterpolator implements Interpolator<Vector3Float> {
                     (float) (az*t3 + bz*t2 + cz*t + from.z())
             );
         }
+
+        @Override
+        public void interpolate(final double t, final float @NotNull [] out, final int offset) {
+            double t2 = t * t;
+            double t3 = t * t2;
+            out[offset] = (float) (ax*t3 + bx*t2 + cx*t + from.x());
+            out[offset + 1] = (float) (ay*t3 + by*t2 + cy*t + from.y());
+            out[offset + 2] = (float) (az*t3 + bz*t2 + cz*t + from.z());
+        }
     }
 
 }
@@ -79,14 +79,29 @@ public final class Interpolators {
      * <p>Input key frames may specify the Bezier curve handles by having a
      * {@link team.unnamed.hephaestus.animation.timeline.KeyFrameBezierAttachment} attachment</p>
      *
-     * @param divisions The amount of divisions to use for the Bézier curve,
-     *                  the higher the value, the more accurate the interpolation
-     *                  will be, but it will also be more expensive to compute.
+     * <p>The curves are solved numerically when the interpolations are
+     * created, evaluating them takes constant time.</p>
+     *
+     * @return The interpolator
+     * @since 1.0.0
+     */
+    public static @NotNull KeyFrameInterpolator<Vector3Float> bezierVector3Float() {
+        return BezierInterpolator.INSTANCE;
+    }
+
+    /**
+     * Returns a Bezier interpolator for {@link Vector3Float 3d vectors},
+     * which interpolates between the given points using Bézier curves.
+     *
+     * @param divisions Ignored, Bézier curves are no longer approximated
+     *                  by a fixed amount of divisions
      * @return The interpolator
      * @since 1.0.0
+     * @deprecated Use {@link #bezierVector3Float()} instead
      */
+    @Deprecated
     public static @NotNull KeyFrameInterpolator<Vector3Float> bezierVector3Float(final int divisions) {
-        return new BezierInterpolator(divisions);
+        return bezierVector3Float();
     }
 
     /**
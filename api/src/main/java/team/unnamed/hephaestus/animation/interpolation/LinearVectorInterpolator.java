@@ -48,7 +48,7 @@ final class LinearVectorInterpolator implements Interpolator<Vector3Float> {
         }
     }
 
-    static final class LinearVectorInterpolation implements Interpolation<Vector3Float> {
+    static final class LinearVectorInterpolation implements Vector3FloatInterpolation {
         private final Vector3Float from;
         private final Vector3Float to;
 
@@ -70,5 +70,13 @@ final class LinearVectorInterpolator implements Interpolator<Vector3Float> {
                     (float) (from.z() * complement + to.z() * progress)
             );
         }
+
+        @Override
+        public void interpolate(final double progress, final float @NotNull [] out, final int offset) {
+            final double complement = 1 - progress;
+            out[offset] = (float) (from.x() * complement + to.x() * progress);
+            out[offset + 1] = (float) (from.y() * complement + to.y() * progress);
+            out[offset + 2] = (float) (from.z() * complement + to.z() * progress);
+        }
     }
 }
@@ -48,7 +48,7 @@ final class StepVectorInterpolator implements Interpolator<Vector3Float> {
         return this;
     }
 
-    static final class StepVectorInterpolation implements Interpolation<Vector3Float> {
+    static final class StepVectorInterpolation implements Vector3FloatInterpolation {
         private final Vector3Float from;
         private final Vector3Float to;
 
@@ -64,5 +64,13 @@ final class StepVectorInterpolator implements Interpolator<Vector3Float> {
         public @NotNull Vector3Float interpolate(final double progress) {
             return progress < 1 ? from : to;
         }
+
+        @Override
+        public void interpolate(final double progress, final float @NotNull [] out, final int offset) {
+            final Vector3Float value = progress < 1 ? from : to;
+            out[offset] = value.x();
+            out[offset + 1] = value.y();
+            out[offset + 2] = value.z();
+        }
     }
 }
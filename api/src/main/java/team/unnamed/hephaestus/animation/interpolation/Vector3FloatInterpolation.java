@@ -0,0 +1,58 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.interpolation;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+
+/**
+ * An {@link Interpolation} of {@link Vector3Float 3d vectors} that
+ * can also write its result to a primitive buffer, without
+ * allocating a new vector.
+ *
+ * <p>All the built-in {@link Vector3Float} interpolators create
+ * interpolations implementing this interface</p>
+ *
+ * @since 1.0.0
+ */
+public interface Vector3FloatInterpolation extends Interpolation<Vector3Float> {
+    /**
+     * Interpolates between the values using the given
+     * progress, and writes the x, y and z components of
+     * the result to {@code out}, starting at {@code offset}.
+     *
+     * @param progress The progress [0, 1]
+     * @param out The buffer to write the result to
+     * @param offset The index to start writing at
+     * @since 1.0.0
+     */
+    void interpolate(final double progress, final float @NotNull [] out, final int offset);
+
+    @Override
+    default @NotNull Vector3Float interpolate(final double progress) {
+        final float[] out = new float[3];
+        interpolate(progress, out, 0);
+        return new Vector3Float(out[0], out[1], out[2]);
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
+import team.unnamed.hephaestus.animation.timeline.playhead.Vector3FloatPlayhead;
+
+/**
+ * A {@link Timeline} of {@link Vector3Float 3d vectors} stored as
+ * primitive arrays instead of {@link KeyFrame} objects: keyframe
+ * times, values (as floats, or quantized to 16 bits per component),
+ * interpolator types and, only for the keyframes that have them,
+ * Bézier handles.
+ *
+ * <p>Only the built-in {@link team.unnamed.hephaestus.animation.interpolation.Interpolators
+ * interpolators} can be stored. Playheads evaluate the arrays directly,
+ * giving the same values as a {@link Timeline#timeline() regular timeline}
+ * (up to the quantization error, if quantized), {@link KeyFrame} and
+ * {@link team.unnamed.hephaestus.animation.interpolation.Interpolation}
+ * objects are only created when requested through the {@link Timeline}
+ * methods.</p>
+ *
+ * @since 1.0.0
+ */
+public interface CompactTimeline extends Timeline<Vector3Float> {
+
+    /**
+     * Creates a new compact timeline builder.
+     *
+     * @return The created builder
+     * @since 1.0.0
+     */
+    @Contract("-> new")
+    static @NotNull Builder compact() {
+        return new CompactTimelineImpl.BuilderImpl();
+    }
+
+    /**
+     * Stores the given timeline in a compact timeline, keeping its
+     * values as floats. Returns the given timeline if it is already
+     * a compact timeline.
+     *
+     * @param timeline The timeline
+     * @return The compact timeline
+     * @throws IllegalArgumentException If the timeline uses custom interpolators
+     * @since 1.0.0
+     */
+    static @NotNull CompactTimeline compact(final @NotNull Timeline<Vector3Float> timeline) {
+        if (timeline instanceof CompactTimeline compact) {
+            return compact;
+        }
+        return compact().from(timeline).build();
+    }
+
+    /**
+     * Stores the given timeline in a compact timeline, quantizing its
+     * values to 16 bits per component. Returns the given timeline if it
+     * is already a quantized compact timeline.
+     *
+     * @param timeline The timeline
+     * @return The compact timeline
+     * @throws IllegalArgumentException If the timeline uses custom interpolators
+     * @since 1.0.0
+     */
+    static @NotNull CompactTimeline quantized(final @NotNull Timeline<Vector3Float> timeline) {
+        if (timeline instanceof CompactTimeline compact && compact.quantized()) {
+            return compact;
+        }
+        return compact().from(timeline).quantize(true).build();
+    }
+
+    /**
+     * Determines whether the values of this timeline are
+     * quantized to 16 bits per component. Quantized values
+     * are within {@code (max - min) / 131070} of the original
+     * ones, where {@code min} and {@code max} are the extreme
+     * keyframe values of each component.
+     *
+     * @return True if the values are quantized
+     * @since 1.0.0
+     */
+    boolean quantized();
+
+    /**
+     * Returns the time of the keyframe at the given index.
+     *
+     * @param index The keyframe index
+     * @return The keyframe time
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     * @since 1.0.0
+     */
+    int time(final int index);
+
+    /**
+     * Writes the x, y and z components of the value of the keyframe
+     * at the given index to {@code out}, starting at {@code offset}.
+     *
+     * @param index The keyframe index
+     * @param out The buffer to write the value to
+     * @param offset The index to start writing at
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     * @since 1.0.0
+     */
+    void value(final int index, final float @NotNull [] out, final int offset);
+
+    /**
+     * Returns the interpolator of the keyframe at the given index, or
+     * null if it uses the {@link #defaultInterpolator() default one}.
+     *
+     * @param index The keyframe index
+     * @return The keyframe interpolator
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     * @since 1.0.0
+     */
+    @Nullable KeyFrameInterpolator<Vector3Float> interpolator(final int index);
+
+    /**
+     * Returns the Bézier handles of the keyframe at the given
+     * index, or null if it doesn't have them.
+     *
+     * @param index The keyframe index
+     * @return The keyframe Bézier handles
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     * @since 1.0.0
+     */
+    @Nullable KeyFrameBezierAttachment bezier(final int index);
+
+    /**
+     * Estimates the memory used by the arrays of this
+     * timeline, in bytes.
+     *
+     * @return The estimated size, in bytes
+     * @since 1.0.0
+     */
+    long sizeInBytes();
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned value is created on every call.</p>
+     */
+    @Override
+    @NotNull KeyFrame<Vector3Float> keyFrame(final int index);
+
+    @Override
+    @Contract("-> new")
+    @NotNull Vector3FloatPlayhead createPlayhead();
+
+    /**
+     * A builder for {@link CompactTimeline}, keyframes must
+     * be added in increasing time order.
+     *
+     * @since 1.0.0
+     */
+    interface Builder {
+
+        /**
+         * Sets the value used when there are no keyframes,
+         * zero by default.
+         *
+         * @param x The x component
+         * @param y The y component
+         * @param z The z component
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_, _, _ -> this")
+        @NotNull Builder initial(final float x, final float y, final float z);
+
+        /**
+         * Sets the interpolator used by keyframes that don't
+         * specify one, linear interpolation by default.
+         *
+         * @param interpolator The default interpolator, must be built-in
+         * @return This builder
+         * @throws IllegalArgumentException If the interpolator is not built-in
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder defaultInterpolator(final @NotNull KeyFrameInterpolator<Vector3Float> interpolator);
+
+        /**
+         * Adds a keyframe.
+         *
+         * @param time The keyframe time, must be greater than the time
+         *             of the last added keyframe
+         * @param x The x component
+         * @param y The y component
+         * @param z The z component
+         * @param interpolator The keyframe interpolator, must be built-in,
+         *                     or null to use the default one
+         * @return This builder
+         * @throws IllegalArgumentException If the time is not greater than the
+         * time of the last keyframe, or the interpolator is not built-in
+         * @since 1.0.0
+         */
+        @Contract("_, _, _, _, _ -> this")
+        @NotNull Builder keyFrame(final int time, final float x, final float y, final float z, final @Nullable KeyFrameInterpolator<Vector3Float> interpolator);
+
+        /**
+         * Sets the Bézier handles of the last added keyframe.
+         *
+         * @param bezier The Bézier handles
+         * @return This builder
+         * @throws IllegalStateException If no keyframe was added
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder bezier(final @NotNull KeyFrameBezierAttachment bezier);
+
+        /**
+         * Adds the initial value, default interpolator and
+         * keyframes of the given timeline.
+         *
+         * @param timeline The timeline
+         * @return This builder
+         * @throws IllegalArgumentException If the timeline uses custom
+         * interpolators, or starts before the last added keyframe
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder from(final @NotNull Timeline<Vector3Float> timeline);
+
+        /**
+         * Sets whether to quantize the values to 16
+         * bits per component, disabled by default.
+         *
+         * @param quantize True to quantize the values
+         * @return This builder
+         * @see CompactTimeline#quantized()
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder quantize(final boolean quantize);
+
+        /**
+         * Builds the compact timeline.
+         *
+         * @return The built timeline
+         * @since 1.0.0
+         */
+        @Contract("-> new")
+        @NotNull CompactTimeline build();
+
+    }
+
+}
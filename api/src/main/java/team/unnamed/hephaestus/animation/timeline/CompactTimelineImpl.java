@@ -0,0 +1,567 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolation;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
+import team.unnamed.hephaestus.animation.interpolation.Vector3FloatInterpolation;
+import team.unnamed.hephaestus.animation.timeline.playhead.Vector3FloatPlayhead;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.util.Objects.requireNonNull;
+
+final class CompactTimelineImpl implements CompactTimeline {
+
+    // interpolator types, DEFAULT is only used by keyframes
+    static final byte DEFAULT = 0;
+    static final byte LINEAR = 1;
+    static final byte STEP = 2;
+    static final byte CATMULL_ROM = 3;
+    static final byte BEZIER = 4;
+
+    // amount of floats in a Bézier handle: left time, left
+    // value, right time and right value, in that order
+    private static final int BEZIER_SIZE = 12;
+
+    private final float initialX;
+    private final float initialY;
+    private final float initialZ;
+    private final byte defaultType;
+
+    // sorted by time, values are stored as x, y, z triples,
+    // either as floats or quantized, in which case 'values'
+    // is null and value = min + quantized * step
+    private final int[] times;
+    private final float[] values;
+    private final short[] quantizedValues;
+    private final float[] min;
+    private final float[] step;
+    private final byte[] types;
+
+    // indexes of the keyframes with Bézier handles, sorted,
+    // and their handles
+    private final int[] bezierIndexes;
+    private final float[] bezierHandles;
+
+    private CompactTimelineImpl(
+            final float initialX,
+            final float initialY,
+            final float initialZ,
+            final byte defaultType,
+            final int @NotNull [] times,
+            final float @Nullable [] values,
+            final short @Nullable [] quantizedValues,
+            final float @Nullable [] min,
+            final float @Nullable [] step,
+            final byte @NotNull [] types,
+            final int @NotNull [] bezierIndexes,
+            final float @NotNull [] bezierHandles
+    ) {
+        this.initialX = initialX;
+        this.initialY = initialY;
+        this.initialZ = initialZ;
+        this.defaultType = defaultType;
+        this.times = times;
+        this.values = values;
+        this.quantizedValues = quantizedValues;
+        this.min = min;
+        this.step = step;
+        this.types = types;
+        this.bezierIndexes = bezierIndexes;
+        this.bezierHandles = bezierHandles;
+    }
+
+    @Override
+    public boolean quantized() {
+        return values == null;
+    }
+
+    @Override
+    public int time(final int index) {
+        return times[index];
+    }
+
+    @Override
+    public void value(final int index, final float @NotNull [] out, final int offset) {
+        Objects.checkIndex(index, times.length);
+        final int i = index * 3;
+        if (values != null) {
+            out[offset] = values[i];
+            out[offset + 1] = values[i + 1];
+            out[offset + 2] = values[i + 2];
+        } else {
+            out[offset] = min[0] + (quantizedValues[i] & 0xFFFF) * step[0];
+            out[offset + 1] = min[1] + (quantizedValues[i + 1] & 0xFFFF) * step[1];
+            out[offset + 2] = min[2] + (quantizedValues[i + 2] & 0xFFFF) * step[2];
+        }
+    }
+
+    private @NotNull Vector3Float value(final int index) {
+        final float[] value = new float[3];
+        value(index, value, 0);
+        return new Vector3Float(value[0], value[1], value[2]);
+    }
+
+    @Override
+    public @Nullable KeyFrameInterpolator<Vector3Float> interpolator(final int index) {
+        return interpolator(types[index]);
+    }
+
+    @Override
+    public @Nullable KeyFrameBezierAttachment bezier(final int index) {
+        Objects.checkIndex(index, times.length);
+        final int handle = Arrays.binarySearch(bezierIndexes, index);
+        if (handle < 0) {
+            return null;
+        }
+        final float[] h = bezierHandles;
+        final int i = handle * BEZIER_SIZE;
+        return KeyFrameBezierAttachment.of(
+                new Vector3Float(h[i], h[i + 1], h[i + 2]),
+                new Vector3Float(h[i + 3], h[i + 4], h[i + 5]),
+                new Vector3Float(h[i + 6], h[i + 7], h[i + 8]),
+                new Vector3Float(h[i + 9], h[i + 10], h[i + 11])
+        );
+    }
+
+    @Override
+    public long sizeInBytes() {
+        final long valuesSize = values != null
+                ? values.length * 4L
+                : quantizedValues.length * 2L + (min.length + step.length) * 4L;
+        return times.length * 4L + valuesSize + types.length + bezierIndexes.length * 4L + bezierHandles.length * 4L;
+    }
+
+    @Override
+    public @NotNull Vector3Float initial() {
+        return new Vector3Float(initialX, initialY, initialZ);
+    }
+
+    @Override
+    @SuppressWarnings("DataFlowIssue") // the default type is never DEFAULT
+    public @NotNull KeyFrameInterpolator<Vector3Float> defaultInterpolator() {
+        return interpolator(defaultType);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable SortedSet<KeyFrame<Vector3Float>> keyFrames() {
+        final SortedSet<KeyFrame<Vector3Float>> keyFrames = new TreeSet<>();
+        for (int i = 0; i < times.length; i++) {
+            keyFrames.add(keyFrame(i));
+        }
+        return Collections.unmodifiableSortedSet(keyFrames);
+    }
+
+    @Override
+    public int keyFrameCount() {
+        return times.length;
+    }
+
+    @Override
+    public @NotNull KeyFrame<Vector3Float> keyFrame(final int index) {
+        final KeyFrame<Vector3Float> keyFrame = new KeyFrame<>(times[index], value(index), interpolator(types[index]));
+        final KeyFrameBezierAttachment bezier = bezier(index);
+        if (bezier != null) {
+            keyFrame.attachment(KeyFrameBezierAttachment.class, bezier);
+        }
+        return keyFrame;
+    }
+
+    @Override
+    public int floorIndex(final int tick) {
+        final int index = Arrays.binarySearch(times, tick);
+        // binarySearch returns (-(insertion point) - 1) when
+        // not found, the floor is the element before that
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public @NotNull Vector3Float sample(final int tick) {
+        final int len = times.length;
+        if (len == 0) {
+            return initial();
+        }
+
+        // before the first keyframe, its value is kept
+        if (tick <= times[0]) {
+            return value(0);
+        }
+
+        // after the last keyframe, its value is kept
+        if (tick >= times[len - 1]) {
+            return value(len - 1);
+        }
+
+        final int index = floorIndex(tick);
+        if (times[index] == tick) {
+            return value(index);
+        }
+
+        final Segment segment = new Segment();
+        segment.load(this, index);
+        final double progress = ((double) (tick - times[index])) / ((double) (times[index + 1] - times[index]));
+        final float[] value = new float[3];
+        segment.interpolate(progress, value, 0);
+        return new Vector3Float(value[0], value[1], value[2]);
+    }
+
+    @Override
+    @SuppressWarnings("DataFlowIssue") // segment types are never DEFAULT
+    public @NotNull Interpolation<Vector3Float> interpolation(final int index) {
+        if (index < 0 || index >= times.length - 1) {
+            throw new IndexOutOfBoundsException("No keyframe segment starts at " + index
+                    + ", keyframe count: " + times.length);
+        }
+        final @Nullable KeyFrame<Vector3Float> before = index > 0 ? keyFrame(index - 1) : null;
+        final @Nullable KeyFrame<Vector3Float> after = index + 2 < times.length ? keyFrame(index + 2) : null;
+        return interpolator(segmentType(index)).interpolation(before, keyFrame(index), keyFrame(index + 1), after);
+    }
+
+    @Override
+    public @NotNull Vector3FloatPlayhead createPlayhead() {
+        if (times.length < 2) {
+            // constant value
+            return Vector3FloatPlayhead.playhead(this);
+        }
+        return new CompactTimelinePlayhead(this);
+    }
+
+    // type of the interpolation between the keyframe at the given index
+    // and the next one, same as combining their interpolators
+    byte segmentType(final int index) {
+        final byte from = types[index] == DEFAULT ? defaultType : types[index];
+        final byte to = types[index + 1] == DEFAULT ? defaultType : types[index + 1];
+        return switch (from) {
+            // see LinearVectorInterpolator#combineRight
+            case LINEAR -> to == LINEAR || to == STEP ? LINEAR : to;
+            // see BezierInterpolator#combineRight
+            case BEZIER -> to == CATMULL_ROM ? CATMULL_ROM : BEZIER;
+            // step and Catmull-Rom always keep themselves
+            default -> from;
+        };
+    }
+
+    private static @Nullable KeyFrameInterpolator<Vector3Float> interpolator(final byte type) {
+        return switch (type) {
+            case LINEAR -> Interpolators.lerpVector3Float();
+            case STEP -> Interpolators.stepVector3Float();
+            case CATMULL_ROM -> Interpolators.catmullRomSplineVector3Float();
+            case BEZIER -> Interpolators.bezierVector3Float();
+            default -> null;
+        };
+    }
+
+    private static byte type(final @Nullable KeyFrameInterpolator<Vector3Float> interpolator) {
+        if (interpolator == null) {
+            return DEFAULT;
+        } else if (interpolator == Interpolators.lerpVector3Float()) {
+            return LINEAR;
+        } else if (interpolator == Interpolators.stepVector3Float()) {
+            return STEP;
+        } else if (interpolator == Interpolators.catmullRomSplineVector3Float()) {
+            return CATMULL_ROM;
+        } else if (interpolator == Interpolators.bezierVector3Float()) {
+            return BEZIER;
+        } else {
+            throw new IllegalArgumentException("Only built-in interpolators can be stored"
+                    + " in compact timelines, got " + interpolator);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompactTimelineImpl{" +
+                "keyFrames=" + times.length +
+                ", quantized=" + quantized() +
+                '}';
+    }
+
+    /**
+     * The interpolation between two keyframes, loaded from the
+     * timeline arrays and evaluated without allocations, gives
+     * the same results as the built-in interpolations
+     */
+    static final class Segment {
+        private byte type;
+        private float fromX, fromY, fromZ;
+        private float toX, toY, toZ;
+
+        // Catmull-Rom polynomial coefficients, see CatmullRomInterpolator
+        private double ax, bx, cx, dx;
+        private double ay, by, cy, dy;
+        private double az, bz, cz, dz;
+
+        // Bézier interpolations are created by the interpolator
+        private Interpolation<Vector3Float> interpolation;
+
+        private final float[] buffer = new float[12];
+
+        void load(final @NotNull CompactTimelineImpl timeline, final int index) {
+            type = timeline.segmentType(index);
+            interpolation = null;
+
+            final float[] b = buffer;
+            timeline.value(index, b, 3);
+            timeline.value(index + 1, b, 6);
+            fromX = b[3];
+            fromY = b[4];
+            fromZ = b[5];
+            toX = b[6];
+            toY = b[7];
+            toZ = b[8];
+
+            if (type == CATMULL_ROM) {
+                // missing "before" and "after" points are replaced by "from" and "to"
+                if (index > 0) {
+                    timeline.value(index - 1, b, 0);
+                } else {
+                    System.arraycopy(b, 3, b, 0, 3);
+                }
+                if (index + 2 < timeline.keyFrameCount()) {
+                    timeline.value(index + 2, b, 9);
+                } else {
+                    System.arraycopy(b, 6, b, 9, 3);
+                }
+
+                // calculate coefficients for X
+                double v0 = (toX - b[0]) * 0.5D;
+                double v1 = (b[9] - fromX) * 0.5D;
+                ax = 2 * fromX - 2 * toX + v0 + v1;
+                bx = -3 * fromX + 3 * toX - 2 * v0 - v1;
+                cx = v0;
+                dx = fromX;
+
+                // calculate coefficients for Y
+                v0 = (toY - b[1]) * 0.5D;
+                v1 = (b[10] - fromY) * 0.5D;
+                ay = 2 * fromY - 2 * toY + v0 + v1;
+                by = -3 * fromY + 3 * toY - 2 * v0 - v1;
+                cy = v0;
+                dy = fromY;
+
+                // calculate coefficients for Z
+                v0 = (toZ - b[2]) * 0.5D;
+                v1 = (b[11] - fromZ) * 0.5D;
+                az = 2 * fromZ - 2 * toZ + v0 + v1;
+                bz = -3 * fromZ + 3 * toZ - 2 * v0 - v1;
+                cz = v0;
+                dz = fromZ;
+            } else if (type == BEZIER) {
+                interpolation = timeline.interpolation(index);
+            }
+        }
+
+        void interpolate(final double progress, final float @NotNull [] out, final int offset) {
+            switch (type) {
+                case LINEAR -> {
+                    final double complement = 1 - progress;
+                    out[offset] = (float) (fromX * complement + toX * progress);
+                    out[offset + 1] = (float) (fromY * complement + toY * progress);
+                    out[offset + 2] = (float) (fromZ * complement + toZ * progress);
+                }
+                case STEP -> {
+                    final boolean from = progress < 1;
+                    out[offset] = from ? fromX : toX;
+                    out[offset + 1] = from ? fromY : toY;
+                    out[offset + 2] = from ? fromZ : toZ;
+                }
+                case CATMULL_ROM -> {
+                    final double t = progress;
+                    out[offset] = (float) (((ax * t + bx) * t + cx) * t + dx);
+                    out[offset + 1] = (float) (((ay * t + by) * t + cy) * t + dy);
+                    out[offset + 2] = (float) (((az * t + bz) * t + cz) * t + dz);
+                }
+                default -> {
+                    if (interpolation instanceof Vector3FloatInterpolation primitiveInterpolation) {
+                        primitiveInterpolation.interpolate(progress, out, offset);
+                    } else {
+                        final Vector3Float value = interpolation.interpolate(progress);
+                        out[offset] = value.x();
+                        out[offset + 1] = value.y();
+                        out[offset + 2] = value.z();
+                    }
+                }
+            }
+        }
+    }
+
+    static final class BuilderImpl implements Builder {
+        private float initialX, initialY, initialZ;
+        private byte defaultType = LINEAR;
+        private boolean quantize;
+
+        private int count;
+        private int[] times = new int[8];
+        private float[] values = new float[8 * 3];
+        private byte[] types = new byte[8];
+
+        private int bezierCount;
+        private int[] bezierIndexes = new int[0];
+        private float[] bezierHandles = new float[0];
+
+        @Override
+        public @NotNull Builder initial(final float x, final float y, final float z) {
+            this.initialX = x;
+            this.initialY = y;
+            this.initialZ = z;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder defaultInterpolator(final @NotNull KeyFrameInterpolator<Vector3Float> interpolator) {
+            requireNonNull(interpolator, "interpolator");
+            this.defaultType = type(interpolator);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder keyFrame(final int time, final float x, final float y, final float z, final @Nullable KeyFrameInterpolator<Vector3Float> interpolator) {
+            if (count > 0 && time <= times[count - 1]) {
+                throw new IllegalArgumentException("Keyframes must be added in increasing time order, got "
+                        + time + " after " + times[count - 1]);
+            }
+            final byte type = type(interpolator);
+            if (count == times.length) {
+                times = Arrays.copyOf(times, count * 2);
+                values = Arrays.copyOf(values, count * 2 * 3);
+                types = Arrays.copyOf(types, count * 2);
+            }
+            times[count] = time;
+            values[count * 3] = x;
+            values[count * 3 + 1] = y;
+            values[count * 3 + 2] = z;
+            types[count] = type;
+            count++;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder bezier(final @NotNull KeyFrameBezierAttachment bezier) {
+            requireNonNull(bezier, "bezier");
+            if (count == 0) {
+                throw new IllegalStateException("No keyframe to set the Bézier handles of");
+            }
+            int handle = bezierCount - 1;
+            if (bezierCount == 0 || bezierIndexes[handle] != count - 1) {
+                // new handle for the last keyframe
+                if (bezierCount == bezierIndexes.length) {
+                    bezierIndexes = Arrays.copyOf(bezierIndexes, Math.max(4, bezierCount * 2));
+                    bezierHandles = Arrays.copyOf(bezierHandles, bezierIndexes.length * BEZIER_SIZE);
+                }
+                handle = bezierCount++;
+                bezierIndexes[handle] = count - 1;
+            }
+            int i = handle * BEZIER_SIZE;
+            for (final Vector3Float vector : new Vector3Float[] { bezier.leftTime(), bezier.leftValue(), bezier.rightTime(), bezier.rightValue() }) {
+                bezierHandles[i++] = vector.x();
+                bezierHandles[i++] = vector.y();
+                bezierHandles[i++] = vector.z();
+            }
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder from(final @NotNull Timeline<Vector3Float> timeline) {
+            requireNonNull(timeline, "timeline");
+            final Vector3Float initial = timeline.initial();
+            initial(initial.x(), initial.y(), initial.z());
+            defaultInterpolator(timeline.defaultInterpolator());
+
+            if (timeline instanceof CompactTimeline compact) {
+                // avoid creating the keyframe objects
+                final float[] value = new float[3];
+                for (int i = 0; i < compact.keyFrameCount(); i++) {
+                    compact.value(i, value, 0);
+                    keyFrame(compact.time(i), value[0], value[1], value[2], compact.interpolator(i));
+                    final KeyFrameBezierAttachment bezier = compact.bezier(i);
+                    if (bezier != null) {
+                        bezier(bezier);
+                    }
+                }
+                return this;
+            }
+
+            for (final KeyFrame<Vector3Float> keyFrame : timeline.keyFrames()) {
+                final Vector3Float value = keyFrame.value();
+                keyFrame(keyFrame.time(), value.x(), value.y(), value.z(), keyFrame.interpolator());
+                final KeyFrameBezierAttachment bezier = keyFrame.attachment(KeyFrameBezierAttachment.class);
+                if (bezier != null) {
+                    bezier(bezier);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder quantize(final boolean quantize) {
+            this.quantize = quantize;
+            return this;
+        }
+
+        @Override
+        public @NotNull CompactTimeline build() {
+            final int[] times = Arrays.copyOf(this.times, count);
+            final float[] values = Arrays.copyOf(this.values, count * 3);
+            final byte[] types = Arrays.copyOf(this.types, count);
+            final int[] bezierIndexes = Arrays.copyOf(this.bezierIndexes, bezierCount);
+            final float[] bezierHandles = Arrays.copyOf(this.bezierHandles, bezierCount * BEZIER_SIZE);
+
+            if (!quantize) {
+                return new CompactTimelineImpl(initialX, initialY, initialZ, defaultType, times, values, null, null, null, types, bezierIndexes, bezierHandles);
+            }
+
+            // value = min + quantized * step, quantized in [0, 65535]
+            final float[] min = new float[3];
+            final float[] step = new float[3];
+            for (int component = 0; component < 3; component++) {
+                float low = Float.POSITIVE_INFINITY;
+                float high = Float.NEGATIVE_INFINITY;
+                for (int i = component; i < values.length; i += 3) {
+                    low = Math.min(low, values[i]);
+                    high = Math.max(high, values[i]);
+                }
+                min[component] = count == 0 ? 0 : low;
+                step[component] = count == 0 ? 0 : (high - low) / 65535F;
+            }
+            final short[] quantizedValues = new short[values.length];
+            for (int i = 0; i < values.length; i++) {
+                final float componentStep = step[i % 3];
+                quantizedValues[i] = componentStep == 0
+                        ? 0
+                        : (short) Math.min(65535, Math.round((values[i] - min[i % 3]) / componentStep));
+            }
+            return new CompactTimelineImpl(initialX, initialY, initialZ, defaultType, times, null, quantizedValues, min, step, types, bezierIndexes, bezierHandles);
+        }
+    }
+}
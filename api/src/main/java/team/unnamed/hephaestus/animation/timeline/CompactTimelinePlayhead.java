@@ -0,0 +1,116 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.timeline.playhead.Vector3FloatPlayhead;
+
+/**
+ * A playhead for {@link CompactTimeline}, same as the
+ * {@link team.unnamed.hephaestus.animation.timeline.playhead.Playhead
+ * regular playheads}, but reading the timeline arrays.
+ */
+final class CompactTimelinePlayhead implements Vector3FloatPlayhead {
+
+    private final CompactTimelineImpl timeline;
+    private final int firstTime;
+    private final int lastIndex;
+    private final int lastTime;
+
+    // the index of the keyframe starting the current
+    // segment, or -1 if there is no current segment
+    private int segment = -1;
+    private int fromTime;
+    private int toTime;
+    private final CompactTimelineImpl.Segment interpolation = new CompactTimelineImpl.Segment();
+
+    // the current tick
+    private int tick = 0;
+
+    CompactTimelinePlayhead(final @NotNull CompactTimelineImpl timeline) {
+        this.timeline = timeline;
+        // it is ensured from CompactTimelineImpl#createPlayhead that
+        // the timeline will have at least two keyframes
+        this.firstTime = timeline.time(0);
+        this.lastIndex = timeline.keyFrameCount() - 1;
+        this.lastTime = timeline.time(lastIndex);
+    }
+
+    @Override
+    public @NotNull Vector3Float next() {
+        final float[] value = new float[3];
+        next(value, 0);
+        return new Vector3Float(value[0], value[1], value[2]);
+    }
+
+    @Override
+    public void next(final float @NotNull [] out, final int offset) {
+        final int tick = this.tick++;
+
+        // the first keyframe value is kept until its time
+        if (tick <= firstTime) {
+            timeline.value(0, out, offset);
+            return;
+        }
+
+        // the last keyframe value is kept after its time
+        if (tick >= lastTime) {
+            timeline.value(lastIndex, out, offset);
+            return;
+        }
+
+        if (segment == -1 || tick < fromTime || tick >= toTime) {
+            moveToSegment(tick);
+        }
+
+        if (tick == fromTime) {
+            timeline.value(segment, out, offset);
+            return;
+        }
+
+        // interpolate the "from" and "to" keyframes
+        final double progress = ((double) (tick - fromTime)) / ((double) (toTime - fromTime));
+        interpolation.interpolate(progress, out, offset);
+    }
+
+    @Override
+    public void seek(final int tick) {
+        this.tick = tick;
+    }
+
+    private void moveToSegment(final int tick) {
+        final int next = segment + 1;
+        if (segment != -1 && tick >= toTime && tick < timeline.time(next + 1)) {
+            // common case, just moved to the next segment
+            segment = next;
+        } else {
+            segment = timeline.floorIndex(tick);
+        }
+        fromTime = timeline.time(segment);
+        toTime = timeline.time(segment + 1);
+        interpolation.load(timeline, segment);
+    }
+
+}
@@ -26,11 +26,14 @@ package team.unnamed.hephaestus.animation.timeline;
 import net.kyori.examination.Examinable;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.hephaestus.animation.interpolation.Interpolation;
 import team.unnamed.hephaestus.animation.interpolation.Interpolator;
 import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
 import team.unnamed.hephaestus.animation.timeline.playhead.Playhead;
 
+import java.util.Objects;
 import java.util.SortedSet;
 
 /**
@@ -54,6 +57,129 @@ public interface Timeline<T> extends Examinable {
 
     @NotNull @Unmodifiable SortedSet<KeyFrame<T>> keyFrames();
 
+    /**
+     * Returns the amount of keyframes in this timeline.
+     *
+     * @return The keyframe count
+     * @since 1.0.0
+     */
+    default int keyFrameCount() {
+        return keyFrames().size();
+    }
+
+    /**
+     * Returns the keyframe at the given index, keyframes
+     * are sorted by time.
+     *
+     * @param index The keyframe index
+     * @return The keyframe at the given index
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     * @since 1.0.0
+     */
+    default @NotNull KeyFrame<T> keyFrame(final int index) {
+        Objects.checkIndex(index, keyFrameCount());
+        int i = 0;
+        for (final KeyFrame<T> keyFrame : keyFrames()) {
+            if (i++ == index) {
+                return keyFrame;
+            }
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    /**
+     * Finds the index of the last keyframe whose time is
+     * less than or equal to the given tick, using binary
+     * search.
+     *
+     * @param tick The tick
+     * @return The keyframe index, or -1 if all the keyframes
+     * are after the given tick
+     * @since 1.0.0
+     */
+    default int floorIndex(final int tick) {
+        int index = -1;
+        for (final KeyFrame<T> keyFrame : keyFrames()) {
+            if (keyFrame.time() > tick) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Evaluates this timeline at the given tick, in
+     * logarithmic time.
+     *
+     * <p>The result is the same value that a playhead
+     * returns for that tick.</p>
+     *
+     * @param tick The tick
+     * @return The value at the given tick
+     * @since 1.0.0
+     */
+    default @NotNull T sample(final int tick) {
+        final int len = keyFrameCount();
+        if (len == 0) {
+            return initial();
+        }
+
+        // before the first keyframe, its value is kept
+        final KeyFrame<T> first = keyFrame(0);
+        if (tick <= first.time()) {
+            return first.value();
+        }
+
+        // after the last keyframe, its value is kept
+        final KeyFrame<T> last = keyFrame(len - 1);
+        if (tick >= last.time()) {
+            return last.value();
+        }
+
+        final int index = floorIndex(tick);
+        final KeyFrame<T> from = keyFrame(index);
+        if (from.time() == tick) {
+            return from.value();
+        }
+
+        final KeyFrame<T> to = keyFrame(index + 1);
+        final double progress = ((double) (tick - from.time())) / ((double) (to.time() - from.time()));
+        return interpolation(index).interpolate(progress);
+    }
+
+    /**
+     * Returns the interpolation between the keyframe at the
+     * given index and the next one, created using their
+     * interpolators (or the {@link #defaultInterpolator() default
+     * one}).
+     *
+     * <p>Interpolations are created once, when the timeline is
+     * built, and are shared by all of its playheads.</p>
+     *
+     * @param index The index of the segment start keyframe,
+     *              in range [0, keyFrameCount - 1)
+     * @return The segment interpolation
+     * @throws IndexOutOfBoundsException If there is no keyframe
+     * segment starting at the given index
+     * @since 1.0.0
+     */
+    default @NotNull Interpolation<T> interpolation(final int index) {
+        final int len = keyFrameCount();
+        if (index < 0 || index >= len - 1) {
+            throw new IndexOutOfBoundsException("No keyframe segment starts at " + index
+                    + ", keyframe count: " + len);
+        }
+        final KeyFrameInterpolator<T> defaultInterpolator = defaultInterpolator();
+        final @Nullable KeyFrame<T> before = index > 0 ? keyFrame(index - 1) : null;
+        final KeyFrame<T> from = keyFrame(index);
+        final KeyFrame<T> to = keyFrame(index + 1);
+        final @Nullable KeyFrame<T> after = index + 2 < len ? keyFrame(index + 2) : null;
+        return from.interpolatorOr(defaultInterpolator)
+                .combineRight(to.interpolatorOr(defaultInterpolator))
+                .interpolation(before, from, to, after);
+    }
+
     @Contract("-> new")
     Playhead<T> createPlayhead();
 
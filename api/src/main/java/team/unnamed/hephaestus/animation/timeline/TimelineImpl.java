@@ -25,10 +25,13 @@ package team.unnamed.hephaestus.animation.timeline;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.hephaestus.animation.interpolation.Interpolation;
 import team.unnamed.hephaestus.animation.interpolation.Interpolator;
 import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
 import team.unnamed.hephaestus.animation.timeline.playhead.Playhead;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -40,10 +43,29 @@ final class TimelineImpl<T> implements Timeline<T> {
     private final KeyFrameInterpolator<T> defaultInterpolator;
     private final SortedSet<KeyFrame<T>> keyFrames;
 
+    // immutable, sorted by time, used for random access
+    private final KeyFrame<T>[] keyFrameArray;
+    private final int[] times;
+
+    // segment interpolations, computed once and shared by
+    // every playhead, interpolations[i] goes from keyframe
+    // i to keyframe i + 1
+    private final Interpolation<T>[] interpolations;
+
+    @SuppressWarnings("unchecked")
     TimelineImpl(T initialValue, KeyFrameInterpolator<T> defaultInterpolator, SortedSet<KeyFrame<T>> keyFrames) {
         this.initialValue = requireNonNull(initialValue, "initial");
         this.defaultInterpolator = requireNonNull(defaultInterpolator, "defaultInterpolator");
-        this.keyFrames = requireNonNull(keyFrames, "keyFrames");
+        this.keyFrames = Collections.unmodifiableSortedSet(new TreeSet<>(requireNonNull(keyFrames, "keyFrames")));
+        this.keyFrameArray = this.keyFrames.toArray(new KeyFrame[0]);
+        this.times = new int[keyFrameArray.length];
+        for (int i = 0; i < keyFrameArray.length; i++) {
+            times[i] = keyFrameArray[i].time();
+        }
+        this.interpolations = new Interpolation[Math.max(0, keyFrameArray.length - 1)];
+        for (int i = 0; i < interpolations.length; i++) {
+            interpolations[i] = createInterpolation(i);
+        }
     }
 
     @Override
@@ -61,6 +83,37 @@ final class TimelineImpl<T> implements Timeline<T> {
         return keyFrames;
     }
 
+    @Override
+    public int keyFrameCount() {
+        return keyFrameArray.length;
+    }
+
+    @Override
+    public @NotNull KeyFrame<T> keyFrame(final int index) {
+        return keyFrameArray[index];
+    }
+
+    @Override
+    public int floorIndex(final int tick) {
+        final int index = Arrays.binarySearch(times, tick);
+        // binarySearch returns (-(insertion point) - 1) when
+        // not found, the floor is the element before that
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public @NotNull Interpolation<T> interpolation(final int index) {
+        if (index < 0 || index >= keyFrameArray.length - 1) {
+            throw new IndexOutOfBoundsException("No keyframe segment starts at " + index
+                    + ", keyframe count: " + keyFrameArray.length);
+        }
+        return interpolations[index];
+    }
+
+    private @NotNull Interpolation<T> createInterpolation(final int index) {
+        return Timeline.super.interpolation(index);
+    }
+
     @Override
     public Playhead<T> createPlayhead() {
         return Playhead.playhead(this);
@@ -0,0 +1,197 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolation;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
+
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Removes redundant keyframes from {@link Timeline timelines} of
+ * {@link Vector3Float 3d vectors}, such as collinear keyframes in
+ * linear segments or repeated values, as found in dense or baked
+ * animation exports.
+ *
+ * <p>Keyframes are only removed if every tick between the kept
+ * keyframes stays within the given tolerance of the original value,
+ * for every component. Only keyframes between linear or step segments
+ * are considered, and never the ones that Catmull-Rom segments use as
+ * control points, so the rest of the timeline is not changed.</p>
+ *
+ * @since 1.0.0
+ */
+public final class TimelineSimplifier {
+    private TimelineSimplifier() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Removes the keyframes of the given timeline that can be removed
+     * keeping the error under the given tolerance.
+     *
+     * <p>Compact timelines are simplified into compact timelines,
+     * quantized ones are quantized again.</p>
+     *
+     * @param timeline The timeline to simplify
+     * @param epsilon The maximum error, per component, must not be negative
+     * @return The simplified timeline, or the given timeline if
+     * no keyframes could be removed
+     * @since 1.0.0
+     */
+    public static @NotNull Timeline<Vector3Float> simplify(final @NotNull Timeline<Vector3Float> timeline, final float epsilon) {
+        requireNonNull(timeline, "timeline");
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("Epsilon must not be negative, got " + epsilon);
+        }
+        final int len = timeline.keyFrameCount();
+        if (len < 3) {
+            // nothing to remove
+            return timeline;
+        }
+
+        // greedily extend the segment starting at the last kept
+        // keyframe while the error is acceptable
+        final boolean[] kept = new boolean[len];
+        kept[0] = true;
+        kept[len - 1] = true;
+        int keptCount = 2;
+        int anchor = 0;
+        for (int end = 2; end < len; end++) {
+            if (!canMerge(timeline, anchor, end, epsilon)) {
+                anchor = end - 1;
+                kept[anchor] = true;
+                keptCount++;
+            }
+        }
+        if (keptCount == len) {
+            return timeline;
+        }
+
+        if (timeline instanceof CompactTimeline compact) {
+            final Vector3Float initial = compact.initial();
+            final CompactTimeline.Builder builder = CompactTimeline.compact()
+                    .initial(initial.x(), initial.y(), initial.z())
+                    .defaultInterpolator(compact.defaultInterpolator())
+                    .quantize(compact.quantized());
+            final float[] value = new float[3];
+            for (int i = 0; i < len; i++) {
+                if (!kept[i]) {
+                    continue;
+                }
+                compact.value(i, value, 0);
+                builder.keyFrame(compact.time(i), value[0], value[1], value[2], compact.interpolator(i));
+                final KeyFrameBezierAttachment bezier = compact.bezier(i);
+                if (bezier != null) {
+                    builder.bezier(bezier);
+                }
+            }
+            return builder.build();
+        }
+
+        final Timeline.Builder<Vector3Float> builder = Timeline.<Vector3Float>timeline()
+                .initial(timeline.initial())
+                .defaultInterpolator(timeline.defaultInterpolator());
+        for (int i = 0; i < len; i++) {
+            if (kept[i]) {
+                builder.keyFrame(timeline.keyFrame(i));
+            }
+        }
+        return builder.build();
+    }
+
+    // checks whether the keyframes between 'from' and 'to' can be removed
+    private static boolean canMerge(final @NotNull Timeline<Vector3Float> timeline, final int from, final int to, final float epsilon) {
+        final KeyFrameInterpolator<Vector3Float> defaultInterpolator = timeline.defaultInterpolator();
+
+        // the removed segments and the merged one must not depend on
+        // other keyframes than their own
+        for (int i = from; i < to; i++) {
+            if (!isLinearOrStep(segmentInterpolator(timeline, i, i + 1, defaultInterpolator))) {
+                return false;
+            }
+        }
+        final KeyFrameInterpolator<Vector3Float> interpolator = segmentInterpolator(timeline, from, to, defaultInterpolator);
+        if (!isLinearOrStep(interpolator)) {
+            return false;
+        }
+
+        // Catmull-Rom segments next to the merged one use the removed
+        // keyframes as control points
+        if (from > 0 && segmentInterpolator(timeline, from - 1, from, defaultInterpolator) == Interpolators.catmullRomSplineVector3Float()) {
+            return false;
+        }
+        if (to + 1 < timeline.keyFrameCount() && segmentInterpolator(timeline, to, to + 1, defaultInterpolator) == Interpolators.catmullRomSplineVector3Float()) {
+            return false;
+        }
+
+        final KeyFrame<Vector3Float> fromKeyFrame = timeline.keyFrame(from);
+        final KeyFrame<Vector3Float> toKeyFrame = timeline.keyFrame(to);
+        final Interpolation<Vector3Float> interpolation = interpolator.interpolation(fromKeyFrame, toKeyFrame);
+        final int fromTime = fromKeyFrame.time();
+        final int toTime = toKeyFrame.time();
+        for (int tick = fromTime + 1; tick < toTime; tick++) {
+            // same progress as the playheads
+            final double progress = ((double) (tick - fromTime)) / ((double) (toTime - fromTime));
+            final Vector3Float expected = timeline.sample(tick);
+            final Vector3Float actual = interpolation.interpolate(progress);
+            if (Math.abs(expected.x() - actual.x()) > epsilon
+                    || Math.abs(expected.y() - actual.y()) > epsilon
+                    || Math.abs(expected.z() - actual.z()) > epsilon) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static @NotNull KeyFrameInterpolator<Vector3Float> segmentInterpolator(
+            final @NotNull Timeline<Vector3Float> timeline,
+            final int from,
+            final int to,
+            final @NotNull KeyFrameInterpolator<Vector3Float> defaultInterpolator
+    ) {
+        return interpolator(timeline, from, defaultInterpolator).combineRight(interpolator(timeline, to, defaultInterpolator));
+    }
+
+    private static @NotNull KeyFrameInterpolator<Vector3Float> interpolator(
+            final @NotNull Timeline<Vector3Float> timeline,
+            final int index,
+            final @NotNull KeyFrameInterpolator<Vector3Float> defaultInterpolator
+    ) {
+        if (timeline instanceof CompactTimeline compact) {
+            // avoid creating the keyframe object
+            final KeyFrameInterpolator<Vector3Float> interpolator = compact.interpolator(index);
+            return interpolator == null ? defaultInterpolator : interpolator;
+        }
+        return timeline.keyFrame(index).interpolatorOr(defaultInterpolator);
+    }
+
+    private static boolean isLinearOrStep(final @NotNull KeyFrameInterpolator<Vector3Float> interpolator) {
+        return interpolator == Interpolators.lerpVector3Float() || interpolator == Interpolators.stepVector3Float();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.bone;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link BoneTimeline} whose frames were evaluated ahead of
+ * time into a flat pose table, so playing it is an array read
+ * instead of keyframe interpolation.
+ *
+ * <p>The table holds {@link BoneFrame#SIZE} floats per tick, using
+ * the same layout as {@link BoneTimelinePlayhead#next(float[], int)}.
+ * It is immutable and shared by every playhead created from this
+ * timeline.</p>
+ *
+ * <p>The source timelines are kept so that {@link #positions()},
+ * {@link #rotations()} and {@link #scales()} still return the
+ * original keyframes.</p>
+ *
+ * @since 1.0.0
+ */
+public final class BakedBoneTimeline implements BoneTimeline {
+
+    private final BoneTimeline source;
+    private final int length;
+    private final float[] frames;
+
+    private BakedBoneTimeline(final @NotNull BoneTimeline source, final int length, final float @NotNull [] frames) {
+        this.source = source;
+        this.length = length;
+        this.frames = frames;
+    }
+
+    /**
+     * Evaluates the first {@code length} ticks of the given
+     * timeline into a pose table.
+     *
+     * <p>If the given timeline is already baked with the same
+     * length, it is returned as-is.</p>
+     *
+     * @param timeline The timeline to bake
+     * @param length The amount of ticks to bake, usually the
+     *               animation length
+     * @return The baked timeline
+     * @since 1.0.0
+     */
+    public static @NotNull BakedBoneTimeline bake(final @NotNull BoneTimeline timeline, final int length) {
+        requireNonNull(timeline, "timeline");
+        if (timeline instanceof BakedBoneTimeline baked) {
+            if (baked.length == Math.max(length, 1)) {
+                return baked;
+            }
+            return bake(baked.source, length);
+        }
+
+        // always store at least one frame, so that zero-length
+        // animations still have a pose to show
+        final int frameCount = Math.max(length, 1);
+        final float[] frames = new float[frameCount * BoneFrame.SIZE];
+        final BoneTimelinePlayhead playhead = BoneTimelinePlayhead.playhead(timeline);
+
+        for (int tick = 0; tick < frameCount; tick++) {
+            playhead.next(frames, tick * BoneFrame.SIZE);
+        }
+
+        return new BakedBoneTimeline(timeline, frameCount, frames);
+    }
+
+    /**
+     * Returns an estimate, in bytes, of the memory taken by the
+     * pose table of a bone timeline baked with the given length.
+     *
+     * @param length The baked length, in ticks
+     * @return The estimated table size, in bytes
+     * @since 1.0.0
+     */
+    public static long estimateSizeInBytes(final int length) {
+        return (long) Math.max(length, 1) * BoneFrame.SIZE * Float.BYTES;
+    }
+
+    /**
+     * Returns the timeline this pose table was evaluated from.
+     *
+     * @return The source timeline
+     * @since 1.0.0
+     */
+    public @NotNull BoneTimeline source() {
+        return source;
+    }
+
+    /**
+     * Returns the amount of ticks stored in the pose table.
+     * Playheads keep returning the last frame after this.
+     *
+     * @return The baked length, in ticks
+     * @since 1.0.0
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the memory taken by the pose table, in bytes.
+     *
+     * @return The table size, in bytes
+     * @since 1.0.0
+     */
+    public long sizeInBytes() {
+        return (long) frames.length * Float.BYTES;
+    }
+
+    float @NotNull [] frames() {
+        return frames;
+    }
+
+    @Override
+    public @NotNull Timeline<Vector3Float> positions() {
+        return source.positions();
+    }
+
+    @Override
+    public @NotNull Timeline<Vector3Float> rotations() {
+        return source.rotations();
+    }
+
+    @Override
+    public @NotNull Timeline<Vector3Float> scales() {
+        return source.scales();
+    }
+
+    @Override
+    public @NotNull RotationMode rotationMode() {
+        return source.rotationMode();
+    }
+
+    @Override
+    public @NotNull BoneTimelinePlayhead createPlayhead() {
+        return new BakedBoneTimelinePlayhead(this);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.bone;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.util.Quaternion;
+
+final class BakedBoneTimelinePlayhead implements BoneTimelinePlayhead {
+
+    private final float[] frames;
+    private final int lastFrame;
+    private int tick = -1;
+
+    BakedBoneTimelinePlayhead(final @NotNull BakedBoneTimeline timeline) {
+        this.frames = timeline.frames();
+        this.lastFrame = timeline.length() - 1;
+    }
+
+    @Override
+    public int tick() {
+        return tick;
+    }
+
+    // compatibility path, animation players read the table
+    // through next(float[], int), which doesn't allocate
+    @Override
+    public BoneFrame next() {
+        final int offset = nextOffset();
+        return new BoneFrame(
+                read(offset + BoneFrame.POSITION_OFFSET),
+                readRotation(offset + BoneFrame.ROTATION_OFFSET),
+                read(offset + BoneFrame.SCALE_OFFSET)
+        );
+    }
+
+    @Override
+    public void next(final float @NotNull [] out, final int offset) {
+        System.arraycopy(frames, nextOffset(), out, offset, BoneFrame.SIZE);
+    }
+
+    @Override
+    public void seek(final int tick) {
+        this.tick = tick - 1;
+    }
+
+    private int nextOffset() {
+        tick++;
+        // keep the last frame once the table is exhausted,
+        // same as the keyframe playheads do
+        return Math.min(tick, lastFrame) * BoneFrame.SIZE;
+    }
+
+    private @NotNull Vector3Float read(final int offset) {
+        return new Vector3Float(frames[offset], frames[offset + 1], frames[offset + 2]);
+    }
+
+    private @NotNull Vector3Float readRotation(final int offset) {
+        final float w = frames[offset + 3];
+        if (Float.isNaN(w)) {
+            return read(offset);
+        }
+        return new Quaternion(frames[offset], frames[offset + 1], frames[offset + 2], w).toEulerDegrees();
+    }
+
+}
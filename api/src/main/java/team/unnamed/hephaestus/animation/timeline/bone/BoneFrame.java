@@ -34,6 +34,57 @@ import java.util.stream.Stream;
 
 public final class BoneFrame implements Examinable {
 
+    /**
+     * The amount of floats taken by a bone frame when written
+     * to a primitive buffer: position (x, y, z), rotation (x, y, z, w)
+     * and scale (x, y, z), in that order
+     *
+     * <p>The rotation is either a unit quaternion or, when its
+     * {@code w} component is {@link Float#NaN NaN}, Euler angles
+     * in degrees, see {@link #isQuaternion(float[], int)}</p>
+     *
+     * @see BoneTimelinePlayhead#next(float[], int)
+     * @since 1.0.0
+     */
+    public static final int SIZE = 10;
+
+    /**
+     * The offset of the position components in a primitive frame
+     *
+     * @since 1.0.0
+     */
+    public static final int POSITION_OFFSET = 0;
+
+    /**
+     * The offset of the rotation components in a primitive frame
+     *
+     * @since 1.0.0
+     */
+    public static final int ROTATION_OFFSET = 3;
+
+    /**
+     * The offset of the scale components in a primitive frame
+     *
+     * @since 1.0.0
+     */
+    public static final int SCALE_OFFSET = 7;
+
+    /**
+     * Determines whether the rotation of the primitive frame
+     * starting at {@code offset} is a quaternion, written by
+     * {@link BoneTimeline.RotationMode#NLERP} and {@link BoneTimeline.RotationMode#SLERP}
+     * timelines, or Euler angles, written by {@link BoneTimeline.RotationMode#EULER}
+     * timelines.
+     *
+     * @param frame The buffer holding the frame
+     * @param offset The index the frame starts at
+     * @return True if the rotation is a quaternion
+     * @since 1.0.0
+     */
+    public static boolean isQuaternion(final float @NotNull [] frame, final int offset) {
+        return !Float.isNaN(frame[offset + ROTATION_OFFSET + 3]);
+    }
+
     public static final BoneFrame INITIAL = new BoneFrame(
             Vector3Float.ZERO,
             Vector3Float.ZERO,
@@ -48,8 +48,19 @@ public interface BoneTimeline {
 
     @NotNull Timeline<Vector3Float> scales();
 
+    /**
+     * Returns the way rotation keyframes are interpolated
+     * and combined with the bone rotation.
+     *
+     * @return The rotation mode
+     * @since 1.0.0
+     */
+    default @NotNull RotationMode rotationMode() {
+        return RotationMode.EULER;
+    }
+
     default @NotNull BoneTimelinePlayhead createPlayhead() {
-        return new BoneTimelinePlayhead(this);
+        return BoneTimelinePlayhead.playhead(this);
     }
 
     interface Builder {
@@ -84,7 +95,60 @@ public interface BoneTimeline {
         @Contract("_ -> this")
         @NotNull Builder scales(final @NotNull Timeline<Vector3Float> scales);
 
+        /**
+         * Set the rotation mode, {@link RotationMode#EULER}
+         * by default
+         *
+         * @param rotationMode The rotation mode
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder rotationMode(final @NotNull RotationMode rotationMode);
+
         @NotNull BoneTimeline build();
 
     }
+
+    /**
+     * Determines how the rotation keyframes of a bone timeline
+     * are played.
+     *
+     * @since 1.0.0
+     */
+    enum RotationMode {
+        /**
+         * Keyframes are interpolated as Euler angles, using their
+         * interpolators, and added to the bone rotation angles. The
+         * bone rotation is converted to a quaternion every tick
+         *
+         * @since 1.0.0
+         */
+        EULER,
+        /**
+         * Keyframes are converted to unit quaternions when the timeline
+         * is built and normalized-linearly interpolated (nlerp), which
+         * takes the same path as {@link #SLERP} at a slightly uneven
+         * speed, without trigonometry. The result is applied after
+         * the bone rotation
+         *
+         * <p>Quaternions always take the shortest path between two
+         * keyframes, so keyframes more than 180 degrees apart play
+         * differently than in {@link #EULER} mode. Step keyframes
+         * are kept, any other interpolator is played as a spherical
+         * interpolation</p>
+         *
+         * @since 1.0.0
+         */
+        NLERP,
+        /**
+         * Same as {@link #NLERP}, but keyframes are spherically
+         * interpolated (slerp), at constant angular speed. Segment
+         * angles are computed when the timeline is built, so playing
+         * takes two sines per tick
+         *
+         * @since 1.0.0
+         */
+        SLERP
+    }
 }
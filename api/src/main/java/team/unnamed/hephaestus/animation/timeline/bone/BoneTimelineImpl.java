@@ -34,15 +34,25 @@ final class BoneTimelineImpl implements BoneTimeline {
     private final Timeline<Vector3Float> positions;
     private final Timeline<Vector3Float> rotations;
     private final Timeline<Vector3Float> scales;
+    private final RotationMode rotationMode;
+
+    // rotation keyframes as quaternions, computed once and
+    // shared by every playhead, null in EULER mode
+    private final QuaternionTimeline quaternionRotations;
 
     BoneTimelineImpl(
             Timeline<Vector3Float> positions,
             Timeline<Vector3Float> rotations,
-            Timeline<Vector3Float> scales
+            Timeline<Vector3Float> scales,
+            RotationMode rotationMode
     ) {
         this.positions = requireNonNull(positions, "positions");
         this.rotations = requireNonNull(rotations, "rotations");
         this.scales = requireNonNull(scales, "scales");
+        this.rotationMode = requireNonNull(rotationMode, "rotationMode");
+        this.quaternionRotations = rotationMode == RotationMode.EULER
+                ? null
+                : new QuaternionTimeline(rotations, rotationMode == RotationMode.SLERP);
     }
 
     @Override
@@ -60,11 +70,21 @@ final class BoneTimelineImpl implements BoneTimeline {
         return scales;
     }
 
+    @Override
+    public @NotNull RotationMode rotationMode() {
+        return rotationMode;
+    }
+
+    QuaternionTimeline quaternionRotations() {
+        return quaternionRotations;
+    }
+
     static final class BuilderImpl implements Builder {
 
         private Timeline<Vector3Float> positions;
         private Timeline<Vector3Float> rotations;
         private Timeline<Vector3Float> scales;
+        private RotationMode rotationMode = RotationMode.EULER;
 
         BuilderImpl() {
         }
@@ -87,9 +107,15 @@ final class BoneTimelineImpl implements BoneTimeline {
             return this;
         }
 
+        @Override
+        public @NotNull Builder rotationMode(@NotNull RotationMode rotationMode) {
+            this.rotationMode = requireNonNull(rotationMode, "rotationMode");
+            return this;
+        }
+
         @Override
         public @NotNull BoneTimeline build() {
-            return new BoneTimelineImpl(positions, rotations, scales);
+            return new BoneTimelineImpl(positions, rotations, scales, rotationMode);
         }
     }
 }
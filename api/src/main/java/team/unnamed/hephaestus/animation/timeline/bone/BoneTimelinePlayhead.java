@@ -23,35 +23,110 @@
  */
 package team.unnamed.hephaestus.animation.timeline.bone;
 
+import org.jetbrains.annotations.NotNull;
 import team.unnamed.creative.base.Vector3Float;
-import team.unnamed.hephaestus.animation.timeline.playhead.Playhead;
 
-public class BoneTimelinePlayhead {
-
-    private final Playhead<Vector3Float> positions;
-    private final Playhead<Vector3Float> rotations;
-    private final Playhead<Vector3Float> scales;
-    private final BoneTimeline boneTimeline;
-    private int tick = -1;
+/**
+ * Tick-iterator over the frames of a {@link BoneTimeline}.
+ *
+ * @since 1.0.0
+ */
+public interface BoneTimelinePlayhead {
 
-    public BoneTimelinePlayhead(BoneTimeline boneTimeline) {
-        this.boneTimeline = boneTimeline;
-        this.positions = boneTimeline.positions().createPlayhead();
-        this.rotations = boneTimeline.rotations().createPlayhead();
-        this.scales = boneTimeline.scales().createPlayhead();
+    /**
+     * Creates a playhead that evaluates the given bone
+     * timeline keyframes every tick.
+     *
+     * @param timeline The bone timeline
+     * @return The created playhead
+     * @since 1.0.0
+     */
+    static @NotNull BoneTimelinePlayhead playhead(final @NotNull BoneTimeline timeline) {
+        return new BoneTimelinePlayheadImpl(timeline);
     }
 
-    public int tick() {
-        return tick;
+    /**
+     * Returns the tick of the last frame returned by
+     * {@link #next()}, or -1 if it was never called.
+     *
+     * @return The current tick
+     * @since 1.0.0
+     */
+    int tick();
+
+    /**
+     * Moves to the next tick and returns its frame.
+     *
+     * <p>Frame rotations are always Euler angles, quaternion
+     * rotations are converted</p>
+     *
+     * <p>This is a compatibility path, it allocates the frame and
+     * its vectors every call, even for baked timelines. Animation
+     * players only use {@link #next(float[], int)}.</p>
+     *
+     * @return The frame for the next tick
+     * @since 1.0.0
+     */
+    BoneFrame next();
+
+    /**
+     * Moves to the next tick and writes its frame to the given
+     * buffer, starting at {@code offset}, without allocating.
+     *
+     * <p>Exactly {@link BoneFrame#SIZE} floats are written: position
+     * at {@link BoneFrame#POSITION_OFFSET}, rotation at {@link BoneFrame#ROTATION_OFFSET}
+     * and scale at {@link BoneFrame#SCALE_OFFSET}, relative to
+     * {@code offset}. The rotation format depends on the timeline
+     * {@link BoneTimeline#rotationMode() rotation mode}, see
+     * {@link BoneFrame#isQuaternion(float[], int)}</p>
+     *
+     * <p>The default implementation writes the frame returned by
+     * {@link #next()}, as Euler angles, so it does allocate, the
+     * playheads created by this library override it.</p>
+     *
+     * @param out The buffer to write the frame to
+     * @param offset The index to start writing at
+     * @since 1.0.0
+     */
+    default void next(final float @NotNull [] out, final int offset) {
+        final BoneFrame frame = next();
+        final Vector3Float position = frame.position();
+        final Vector3Float rotation = frame.rotation();
+        final Vector3Float scale = frame.scale();
+        out[offset + BoneFrame.POSITION_OFFSET] = position.x();
+        out[offset + BoneFrame.POSITION_OFFSET + 1] = position.y();
+        out[offset + BoneFrame.POSITION_OFFSET + 2] = position.z();
+        out[offset + BoneFrame.ROTATION_OFFSET] = rotation.x();
+        out[offset + BoneFrame.ROTATION_OFFSET + 1] = rotation.y();
+        out[offset + BoneFrame.ROTATION_OFFSET + 2] = rotation.z();
+        out[offset + BoneFrame.ROTATION_OFFSET + 3] = Float.NaN;
+        out[offset + BoneFrame.SCALE_OFFSET] = scale.x();
+        out[offset + BoneFrame.SCALE_OFFSET + 1] = scale.y();
+        out[offset + BoneFrame.SCALE_OFFSET + 2] = scale.z();
     }
 
-    public BoneFrame next() {
-        tick++;
-        return new BoneFrame(
-                positions.next(),
-                rotations.next(),
-                scales.next()
-        );
+    /**
+     * Moves this playhead to the given tick, so that the next
+     * call to {@link #next()} returns the frame at that tick.
+     *
+     * <p>The default implementation replays {@link #next()} up
+     * to the given tick, so it can only move forward, the
+     * playheads created by this library seek in logarithmic
+     * time and can also move backward.</p>
+     *
+     * @param tick The tick to move to
+     * @throws UnsupportedOperationException If the given tick was
+     * already passed and this playhead can't move backward
+     * @see team.unnamed.hephaestus.animation.timeline.playhead.Playhead#seek(int)
+     * @since 1.0.0
+     */
+    default void seek(final int tick) {
+        if (tick <= tick()) {
+            throw new UnsupportedOperationException("This playhead can't move backward, from tick " + tick() + " to " + tick);
+        }
+        while (tick() < tick - 1) {
+            next();
+        }
     }
 
 }
@@ -0,0 +1,106 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.bone;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.timeline.playhead.Vector3FloatPlayhead;
+import team.unnamed.hephaestus.util.Quaternion;
+
+final class BoneTimelinePlayheadImpl implements BoneTimelinePlayhead {
+
+    private final Vector3FloatPlayhead positions;
+    private final Vector3FloatPlayhead scales;
+
+    // only one of them is set, depending on the rotation mode
+    private final Vector3FloatPlayhead rotations;
+    private final QuaternionPlayhead quaternions;
+
+    private int tick = -1;
+
+    BoneTimelinePlayheadImpl(BoneTimeline boneTimeline) {
+        this.positions = Vector3FloatPlayhead.playhead(boneTimeline.positions());
+        this.scales = Vector3FloatPlayhead.playhead(boneTimeline.scales());
+
+        final BoneTimeline.RotationMode rotationMode = boneTimeline.rotationMode();
+        if (rotationMode == BoneTimeline.RotationMode.EULER) {
+            this.rotations = Vector3FloatPlayhead.playhead(boneTimeline.rotations());
+            this.quaternions = null;
+        } else {
+            this.rotations = null;
+            this.quaternions = new QuaternionPlayhead(boneTimeline instanceof BoneTimelineImpl impl
+                    ? impl.quaternionRotations()
+                    : new QuaternionTimeline(boneTimeline.rotations(), rotationMode == BoneTimeline.RotationMode.SLERP));
+        }
+    }
+
+    @Override
+    public int tick() {
+        return tick;
+    }
+
+    @Override
+    public BoneFrame next() {
+        tick++;
+        final Vector3Float rotation;
+        if (quaternions == null) {
+            rotation = rotations.next();
+        } else {
+            final float[] quaternion = new float[4];
+            quaternions.next(quaternion, 0);
+            rotation = new Quaternion(quaternion[0], quaternion[1], quaternion[2], quaternion[3]).toEulerDegrees();
+        }
+        return new BoneFrame(
+                positions.next(),
+                rotation,
+                scales.next()
+        );
+    }
+
+    @Override
+    public void next(final float @NotNull [] out, final int offset) {
+        tick++;
+        positions.next(out, offset + BoneFrame.POSITION_OFFSET);
+        if (quaternions == null) {
+            rotations.next(out, offset + BoneFrame.ROTATION_OFFSET);
+            out[offset + BoneFrame.ROTATION_OFFSET + 3] = Float.NaN;
+        } else {
+            quaternions.next(out, offset + BoneFrame.ROTATION_OFFSET);
+        }
+        scales.next(out, offset + BoneFrame.SCALE_OFFSET);
+    }
+
+    @Override
+    public void seek(final int tick) {
+        this.tick = tick - 1;
+        positions.seek(tick);
+        if (quaternions == null) {
+            rotations.seek(tick);
+        } else {
+            quaternions.seek(tick);
+        }
+        scales.seek(tick);
+    }
+
+}
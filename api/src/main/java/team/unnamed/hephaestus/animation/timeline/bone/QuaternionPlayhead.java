@@ -0,0 +1,89 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.bone;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Playhead over a {@link QuaternionTimeline}, follows the same rules
+ * as {@link team.unnamed.hephaestus.animation.timeline.playhead.Playhead}
+ * but writes quaternions.
+ */
+final class QuaternionPlayhead {
+
+    private final QuaternionTimeline timeline;
+    private final int last;
+
+    // the index of the keyframe starting the current
+    // segment, or -1 if there is no current segment
+    private int segment = -1;
+    private int from;
+    private int to;
+
+    private int tick = 0;
+
+    QuaternionPlayhead(final @NotNull QuaternionTimeline timeline) {
+        this.timeline = timeline;
+        this.last = timeline.keyFrameCount() - 1;
+    }
+
+    void next(final float @NotNull [] out, final int offset) {
+        final int tick = this.tick++;
+
+        // the first and last keyframe values are kept
+        // before and after their times
+        if (tick <= timeline.time(0)) {
+            timeline.write(0, out, offset);
+            return;
+        }
+        if (tick >= timeline.time(last)) {
+            timeline.write(last, out, offset);
+            return;
+        }
+
+        if (segment == -1 || tick < from || tick >= to) {
+            if (segment != -1 && tick >= to && tick < timeline.time(segment + 2)) {
+                // common case, just moved to the next segment
+                segment++;
+            } else {
+                segment = timeline.floorIndex(tick);
+            }
+            from = timeline.time(segment);
+            to = timeline.time(segment + 1);
+        }
+
+        if (tick == from || timeline.isStep(segment)) {
+            timeline.write(segment, out, offset);
+            return;
+        }
+
+        final double progress = ((double) (tick - from)) / ((double) (to - from));
+        timeline.interpolate(segment, progress, out, offset);
+    }
+
+    void seek(final int tick) {
+        this.tick = tick;
+    }
+
+}
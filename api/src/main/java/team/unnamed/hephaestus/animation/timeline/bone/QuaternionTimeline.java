@@ -0,0 +1,180 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.bone;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
+import team.unnamed.hephaestus.animation.timeline.KeyFrame;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.util.Quaternion;
+
+import java.util.Arrays;
+
+/**
+ * Rotation keyframes converted to unit quaternions (x, y, z, w),
+ * used by {@link BoneTimeline.RotationMode#NLERP} and {@link BoneTimeline.RotationMode#SLERP}
+ * timelines. Everything that requires trigonometry is computed
+ * here, once per timeline.
+ */
+final class QuaternionTimeline {
+
+    private final int[] times;
+    private final float[] values;
+
+    // segment data, index i goes from keyframe i to keyframe i + 1
+    private final boolean[] steps;
+    // the angle between both keyframes, zero if the segment
+    // must be normalized-linearly interpolated
+    private final double[] angles;
+
+    QuaternionTimeline(final @NotNull Timeline<Vector3Float> rotations, final boolean spherical) {
+        final int count = rotations.keyFrameCount();
+        if (count == 0) {
+            // empty timelines always return the default value
+            this.times = new int[] { 0 };
+            this.values = new float[4];
+            write(Quaternion.fromEulerDegrees(rotations.initial()), values, 0);
+            this.steps = new boolean[0];
+            this.angles = new double[0];
+            return;
+        }
+
+        this.times = new int[count];
+        this.values = new float[count * 4];
+        this.steps = new boolean[count - 1];
+        this.angles = new double[count - 1];
+
+        final KeyFrameInterpolator<Vector3Float> defaultInterpolator = rotations.defaultInterpolator();
+        for (int i = 0; i < count; i++) {
+            final KeyFrame<Vector3Float> keyFrame = rotations.keyFrame(i);
+            times[i] = keyFrame.time();
+            write(Quaternion.fromEulerDegrees(keyFrame.value()), values, i * 4);
+
+            if (i == 0) {
+                continue;
+            }
+
+            final int segment = i - 1;
+            double dot = dot(segment * 4, i * 4);
+            if (dot < 0) {
+                // q and -q are the same rotation, use the one closer
+                // to the previous keyframe, so that the shortest path
+                // is taken
+                for (int j = 0; j < 4; j++) {
+                    values[i * 4 + j] = -values[i * 4 + j];
+                }
+                dot = -dot;
+            }
+
+            // same combination as Timeline#interpolation, step
+            // interpolators are kept, since they don't interpolate
+            steps[segment] = rotations.keyFrame(segment).interpolatorOr(defaultInterpolator)
+                    .combineRight(keyFrame.interpolatorOr(defaultInterpolator)) == Interpolators.stepVector3Float();
+            if (spherical) {
+                final double angle = Math.acos(Math.min(dot, 1D));
+                // nearly equal keyframes can't be divided by their
+                // angle sine, but nlerp gives the same result there
+                angles[segment] = Math.sin(angle) < 1E-4D ? 0D : angle;
+            }
+        }
+    }
+
+    int keyFrameCount() {
+        return times.length;
+    }
+
+    int time(final int index) {
+        return times[index];
+    }
+
+    int floorIndex(final int tick) {
+        final int index = Arrays.binarySearch(times, tick);
+        // see Timeline#floorIndex
+        return index >= 0 ? index : -index - 2;
+    }
+
+    boolean isStep(final int segment) {
+        return steps[segment];
+    }
+
+    /**
+     * Writes the quaternion of the given keyframe to the
+     * given buffer
+     */
+    void write(final int index, final float @NotNull [] out, final int offset) {
+        System.arraycopy(values, index * 4, out, offset, 4);
+    }
+
+    /**
+     * Interpolates the keyframes of the given segment at the given
+     * progress and writes the resulting unit quaternion to the given
+     * buffer
+     */
+    void interpolate(final int segment, final double progress, final float @NotNull [] out, final int offset) {
+        final int from = segment * 4;
+        final int to = from + 4;
+        final double angle = angles[segment];
+
+        final double fromWeight;
+        final double toWeight;
+        if (angle == 0D) {
+            fromWeight = 1D - progress;
+            toWeight = progress;
+        } else {
+            final double sin = Math.sin(angle);
+            fromWeight = Math.sin((1D - progress) * angle) / sin;
+            toWeight = Math.sin(progress * angle) / sin;
+        }
+
+        final double x = values[from] * fromWeight + values[to] * toWeight;
+        final double y = values[from + 1] * fromWeight + values[to + 1] * toWeight;
+        final double z = values[from + 2] * fromWeight + values[to + 2] * toWeight;
+        final double w = values[from + 3] * fromWeight + values[to + 3] * toWeight;
+
+        // slerp results are already unit, normalizing them too
+        // removes the float rounding error
+        final double inverseLength = 1D / Math.sqrt(x * x + y * y + z * z + w * w);
+        out[offset] = (float) (x * inverseLength);
+        out[offset + 1] = (float) (y * inverseLength);
+        out[offset + 2] = (float) (z * inverseLength);
+        out[offset + 3] = (float) (w * inverseLength);
+    }
+
+    private double dot(final int a, final int b) {
+        return values[a] * values[b]
+                + values[a + 1] * values[b + 1]
+                + values[a + 2] * values[b + 2]
+                + values[a + 3] * values[b + 3];
+    }
+
+    private static void write(final @NotNull Quaternion quaternion, final float @NotNull [] out, final int offset) {
+        out[offset] = (float) quaternion.x();
+        out[offset + 1] = (float) quaternion.y();
+        out[offset + 2] = (float) quaternion.z();
+        out[offset + 3] = (float) quaternion.w();
+    }
+
+}
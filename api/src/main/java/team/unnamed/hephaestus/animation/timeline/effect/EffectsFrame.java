@@ -30,6 +30,7 @@ import net.kyori.examination.string.StringExaminer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.mocha.parser.ast.Expression;
 
 import java.util.Collections;
 import java.util.List;
@@ -42,10 +43,22 @@ public class EffectsFrame implements Examinable {
 
     private final List<Sound> sounds;
     private final List<String> instructions;
+    private final List<List<Expression>> parsedInstructions;
 
+    /**
+     * Creates a new effects frame, the given instructions
+     * are parsed immediately.
+     *
+     * @param sounds The sounds to play
+     * @param instructions The Molang instructions to execute
+     * @throws IllegalArgumentException If any of the instructions
+     * is not valid Molang
+     * @since 1.0.0
+     */
     public EffectsFrame(final @NotNull List<Sound> sounds, final @NotNull List<String> instructions) {
         this.sounds = requireNonNull(sounds, "sounds");
         this.instructions = requireNonNull(instructions, "instructions");
+        this.parsedInstructions = MolangInstructions.parse(instructions);
     }
 
     public @NotNull @Unmodifiable List<Sound> sounds() {
@@ -56,6 +69,18 @@ public class EffectsFrame implements Examinable {
         return instructions;
     }
 
+    /**
+     * Returns the parsed {@link #instructions() instructions},
+     * which can be evaluated by a Mocha engine without being
+     * parsed again.
+     *
+     * @return The parsed instructions
+     * @since 1.0.0
+     */
+    public @NotNull @Unmodifiable List<List<Expression>> parsedInstructions() {
+        return parsedInstructions;
+    }
+
     @Override
     public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
         return Stream.of(
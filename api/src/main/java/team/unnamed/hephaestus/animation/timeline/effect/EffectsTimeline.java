@@ -55,6 +55,27 @@ public interface EffectsTimeline {
 
     @NotNull Map<Integer, List<String>> instructions();
 
+    /**
+     * Determines whether this timeline has no effects
+     * at all, so that playing it can be skipped.
+     *
+     * @return True if this timeline has no effects
+     * @since 1.0.0
+     */
+    default boolean isEmpty() {
+        for (final List<Sound> sounds : sounds().values()) {
+            if (!sounds.isEmpty()) {
+                return false;
+            }
+        }
+        for (final List<String> instructions : instructions().values()) {
+            if (!instructions.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     interface Builder {
 
         /**
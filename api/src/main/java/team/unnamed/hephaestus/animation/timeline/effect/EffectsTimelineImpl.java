@@ -26,8 +26,13 @@ package team.unnamed.hephaestus.animation.timeline.effect;
 import net.kyori.adventure.sound.Sound;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import static java.util.Objects.requireNonNull;
 
@@ -36,9 +41,41 @@ final class EffectsTimelineImpl implements EffectsTimeline {
     private final Map<Integer, List<Sound>> sounds;
     private final Map<Integer, List<String>> instructions;
 
+    // compiled timeline, sorted ticks that have at least one
+    // effect, and their frames (ticks[i] -> frames[i])
+    private final int[] ticks;
+    private final EffectsFrame[] frames;
+
     EffectsTimelineImpl(Map<Integer, List<Sound>> sounds, Map<Integer, List<String>> instructions) {
         this.sounds = requireNonNull(sounds, "sounds");
         this.instructions = requireNonNull(instructions, "instructions");
+
+        final SortedSet<Integer> effectTicks = new TreeSet<>(sounds.keySet());
+        effectTicks.addAll(instructions.keySet());
+
+        final List<EffectsFrame> compiledFrames = new ArrayList<>(effectTicks.size());
+        final int[] compiledTicks = new int[effectTicks.size()];
+        for (final int tick : effectTicks) {
+            final EffectsFrame frame = new EffectsFrame(
+                    sounds.getOrDefault(tick, Collections.emptyList()),
+                    instructions.getOrDefault(tick, Collections.emptyList())
+            );
+            if (frame.sounds().isEmpty() && frame.instructions().isEmpty()) {
+                // nothing to play at this tick
+                continue;
+            }
+            compiledTicks[compiledFrames.size()] = tick;
+            compiledFrames.add(frame);
+        }
+        this.ticks = Arrays.copyOf(compiledTicks, compiledFrames.size());
+        this.frames = compiledFrames.toArray(new EffectsFrame[0]);
+    }
+
+    static @NotNull EffectsTimelineImpl compiled(final @NotNull EffectsTimeline timeline) {
+        if (timeline instanceof EffectsTimelineImpl) {
+            return (EffectsTimelineImpl) timeline;
+        }
+        return new EffectsTimelineImpl(timeline.sounds(), timeline.instructions());
     }
 
     @Override
@@ -51,6 +88,19 @@ final class EffectsTimelineImpl implements EffectsTimeline {
         return instructions;
     }
 
+    @Override
+    public boolean isEmpty() {
+        return ticks.length == 0;
+    }
+
+    int[] ticks() {
+        return ticks;
+    }
+
+    EffectsFrame[] frames() {
+        return frames;
+    }
+
     @Override
     public String toString() {
         return "EffectsTimelineImpl{" +
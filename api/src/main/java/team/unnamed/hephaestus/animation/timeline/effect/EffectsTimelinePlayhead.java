@@ -23,26 +23,57 @@
  */
 package team.unnamed.hephaestus.animation.timeline.effect;
 
-import java.util.Collections;
+import java.util.Arrays;
 
 public class EffectsTimelinePlayhead {
 
-    private final EffectsTimeline timeline;
+    private final int[] ticks;
+    private final EffectsFrame[] frames;
     private int tick = -1;
 
+    // index of the next event whose tick is after
+    // the current tick
+    private int cursor = 0;
+
     public EffectsTimelinePlayhead(EffectsTimeline timeline) {
-        this.timeline = timeline;
+        final EffectsTimelineImpl compiled = EffectsTimelineImpl.compiled(timeline);
+        this.ticks = compiled.ticks();
+        this.frames = compiled.frames();
     }
 
     public int tick() {
         return tick;
     }
 
+    /**
+     * Moves this playhead to the given tick, so that the next
+     * call to {@link #next()} returns the frame at that tick.
+     *
+     * @param tick The tick to move to
+     * @since 1.0.0
+     */
+    public void seek(final int tick) {
+        this.tick = tick - 1;
+        final int index = Arrays.binarySearch(ticks, tick);
+        this.cursor = index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Moves to the next tick and returns its effects, ticks
+     * without effects return the shared {@link EffectsFrame#INITIAL}
+     * frame.
+     *
+     * @return The effects at the next tick
+     * @since 1.0.0
+     */
     public EffectsFrame next() {
         tick++;
-        return new EffectsFrame(
-                timeline.sounds().getOrDefault(tick, Collections.emptyList()),
-                timeline.instructions().getOrDefault(tick, Collections.emptyList())
-        );
+        while (cursor < ticks.length && ticks[cursor] < tick) {
+            cursor++;
+        }
+        if (cursor < ticks.length && ticks[cursor] == tick) {
+            return frames[cursor++];
+        }
+        return EffectsFrame.INITIAL;
     }
 }
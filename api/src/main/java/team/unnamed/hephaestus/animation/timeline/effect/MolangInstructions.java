@@ -0,0 +1,69 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.effect;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.mocha.MochaEngine;
+import team.unnamed.mocha.parser.ast.Expression;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses the Molang instructions of effect timelines, so
+ * that they are parsed once (when the timeline is created)
+ * instead of every time they are executed.
+ */
+final class MolangInstructions {
+    // parsing doesn't depend on the engine bindings, so a
+    // single engine is shared
+    private static final MochaEngine<?> PARSER = MochaEngine.createStandard();
+
+    private MolangInstructions() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    static @NotNull @Unmodifiable List<List<Expression>> parse(final @NotNull List<String> instructions) {
+        if (instructions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<List<Expression>> parsed = new ArrayList<>(instructions.size());
+        for (final String instruction : instructions) {
+            parsed.add(parse(instruction));
+        }
+        return Collections.unmodifiableList(parsed);
+    }
+
+    private static @NotNull List<Expression> parse(final @NotNull String instruction) {
+        try {
+            return PARSER.parse(new StringReader(instruction));
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Invalid Molang instruction: '" + instruction + "'", e);
+        }
+    }
+}
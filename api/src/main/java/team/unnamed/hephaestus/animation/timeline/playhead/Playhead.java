@@ -30,15 +30,40 @@ public interface Playhead<T> {
 
     @NotNull T next();
 
+    /**
+     * Moves this playhead to the given tick, so that the
+     * next call to {@link #next()} returns the value at
+     * that tick.
+     *
+     * <p>Seeking takes logarithmic time on the amount of
+     * keyframes, no matter the distance to the given tick,
+     * so it can be used to restart a playhead or to skip
+     * any amount of ticks.</p>
+     *
+     * <p>Playheads don't know their current tick, so the default
+     * implementation can't replay them, it always throws, and is
+     * only kept for implementations written before this method
+     * existed. Playheads created by {@link #playhead(Timeline)}
+     * support it.</p>
+     *
+     * @param tick The tick to move to
+     * @throws UnsupportedOperationException If this playhead
+     * doesn't support seeking
+     * @since 1.0.0
+     */
+    default void seek(final int tick) {
+        throw new UnsupportedOperationException("This playhead doesn't support seeking");
+    }
+
     static <T> Playhead<T> playhead(Timeline<T> timeline) {
-        int len = timeline.keyFrames().size();
+        int len = timeline.keyFrameCount();
         if (len == 0) {
             // empty playheads always return the default value
             return new SingletonPlayhead<>(timeline.initial());
         } else if (len == 1) {
             // when a timeline has only one keyframe, no matter its time,
             // the playhead will always return that keyframe's value
-            return new SingletonPlayhead<>(timeline.keyFrames().first().value());
+            return new SingletonPlayhead<>(timeline.keyFrame(0).value());
         } else {
             return new PlayheadImpl<>(timeline);
         }
@@ -26,111 +26,101 @@ package team.unnamed.hephaestus.animation.timeline.playhead;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.hephaestus.animation.interpolation.Interpolation;
-import team.unnamed.hephaestus.animation.interpolation.Interpolators;
-import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
 import team.unnamed.hephaestus.animation.timeline.KeyFrame;
 import team.unnamed.hephaestus.animation.timeline.Timeline;
 
-import java.util.Iterator;
-
-final class PlayheadImpl<T> implements Playhead<T> {
+class PlayheadImpl<T> implements Playhead<T> {
 
     private final Timeline<T> timeline;
-    private final Iterator<KeyFrame<T>> keyFrameIterator;
+    private final KeyFrame<T> first;
+    private final KeyFrame<T> last;
+
+    // the index of the keyframe starting the current
+    // segment, or -1 if there is no current segment
+    private int segment = -1;
+    private KeyFrame<T> from;
+    private KeyFrame<T> to;
 
-    // the previous and next keyframes,
-    // it is know that the keyframe returned
-    // by next()
-    private KeyFrame<T> previous;
-    private @Nullable KeyFrame<T> next;
-    private @Nullable KeyFrame<T> after;
+    // the current interpolation between the "from" and
+    // "to" keyframes
+    Interpolation<T> interpolation;
 
-    // the current interpolation between the previous
-    // and the next keyframes, it is null if the next
-    // keyframe is null
-    private Interpolation<T> interpolation;
+    // the progress between the "from" and "to" keyframes,
+    // set by advance() when interpolating
+    double progress;
 
     // the current tick
     private int tick = 0;
 
     PlayheadImpl(Timeline<T> timeline) {
         this.timeline = timeline;
-        // set up
-        // it is ensured from Playhead#playhead that the keyframes
-        // list will have at least two elements
-        keyFrameIterator = timeline.keyFrames().iterator();
-        KeyFrame<T> firstKeyFrame = keyFrameIterator.next();
-        KeyFrame<T> secondKeyFrame = keyFrameIterator.next();
-
-        if (firstKeyFrame.time() > 0) {
-            // if first key frame is not located at the start,
-            // create a key frame with time 0 and the same value
-            // as the first keyframe
-            // |-|         |           |
-            // (X)        first       second
-            previous = new KeyFrame<>(0, firstKeyFrame.value(), Interpolators.always(firstKeyFrame.value()));
-            next = firstKeyFrame;
-            after = secondKeyFrame;
-        } else {
-            //   |-|        |           |
-            //  first     second      after?
-            previous = firstKeyFrame;
-            next = secondKeyFrame;
-            after = keyFrameIterator.hasNext() ? keyFrameIterator.next() : null;
-        }
-
-        interpolation = computeInterpolator().interpolation(null, previous, next, after);
+        // it is ensured from Playhead#playhead that the timeline
+        // will have at least two keyframes
+        this.first = timeline.keyFrame(0);
+        this.last = timeline.keyFrame(timeline.keyFrameCount() - 1);
     }
 
-    private KeyFrameInterpolator<T> computeInterpolator() {
-        KeyFrameInterpolator<T> interpolator;
-        if (next == null) {
-            interpolator = Interpolators.always(previous.value());
-        } else {
-            interpolator = previous.interpolatorOr(timeline.defaultInterpolator())
-                    .combineRight(next.interpolatorOr(timeline.defaultInterpolator()));
+    @Override
+    public @NotNull T next() {
+        final KeyFrame<T> keyFrame = advance();
+        if (keyFrame != null) {
+            return keyFrame.value();
         }
-        return interpolator;
+        return interpolation.interpolate(progress);
     }
 
     @Override
-    public @NotNull T next() {
-        // if there is no next keyframe to interpolate,
-        // just return the previous keyframe
-        if (next == null) {
-            return previous.value();
+    public void seek(final int tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Moves to the next tick. Returns the keyframe whose value
+     * must be used for this tick, or null if the value must be
+     * obtained from the current {@link #interpolation} at the
+     * current {@link #progress}
+     *
+     * @return The keyframe for this tick, or null
+     */
+    final @Nullable KeyFrame<T> advance() {
+        final int tick = this.tick++;
+
+        // the first keyframe value is kept until its time
+        // |-------|      |     |
+        // 0     first        last
+        if (tick <= first.time()) {
+            return first;
         }
 
-        if (tick == next.time()) {
-            tick++;
-            return next.value();
+        // the last keyframe value is kept after its time
+        if (tick >= last.time()) {
+            return last;
         }
 
-        // if the current tick is greater than the next keyframe's time,
-        // then we need to update the previous and next keyframes
-        if (tick > next.time()) {
-            @Nullable KeyFrame<T> before = previous;
-            previous = next;
-            next = after;
-
-            if (next == null) {
-                interpolation = null;
-                return previous.value();
-            }
-
-            if (keyFrameIterator.hasNext()) {
-                after = keyFrameIterator.next();
-            } else {
-                after = null;
-            }
-
-            interpolation = computeInterpolator().interpolation(before, previous, next, after);
+        if (segment == -1 || tick < from.time() || tick >= to.time()) {
+            moveToSegment(tick);
         }
 
-        // interpolate the previous and next keyframes
-        double progress = ((double) (tick - previous.time())) / ((double) (next.time() - previous.time()));
-        tick++;
-        return interpolation.interpolate(progress);
+        if (tick == from.time()) {
+            return from;
+        }
+
+        // interpolate the "from" and "to" keyframes
+        progress = ((double) (tick - from.time())) / ((double) (to.time() - from.time()));
+        return null;
+    }
+
+    private void moveToSegment(final int tick) {
+        final int next = segment + 1;
+        if (segment != -1 && tick >= to.time() && tick < timeline.keyFrame(next + 1).time()) {
+            // common case, just moved to the next segment
+            segment = next;
+        } else {
+            segment = timeline.floorIndex(tick);
+        }
+        from = timeline.keyFrame(segment);
+        to = timeline.keyFrame(segment + 1);
+        interpolation = timeline.interpolation(segment);
     }
 
 }
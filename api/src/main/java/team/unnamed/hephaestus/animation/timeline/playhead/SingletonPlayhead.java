@@ -27,7 +27,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
 
-final class SingletonPlayhead<T> implements Playhead<T> {
+class SingletonPlayhead<T> implements Playhead<T> {
 
     private final T value;
 
@@ -40,4 +40,9 @@ final class SingletonPlayhead<T> implements Playhead<T> {
         return value;
     }
 
+    @Override
+    public void seek(final int tick) {
+        // the value is the same for every tick
+    }
+
 }
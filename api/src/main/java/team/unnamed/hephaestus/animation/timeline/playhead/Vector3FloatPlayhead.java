@@ -0,0 +1,78 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.playhead;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Vector3FloatInterpolation;
+import team.unnamed.hephaestus.animation.timeline.CompactTimeline;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+
+/**
+ * A {@link Playhead} specialized for {@link Vector3Float} timelines,
+ * which can write the values to a primitive buffer instead of
+ * allocating a new vector on every tick.
+ *
+ * <p>Interpolations implementing {@link Vector3FloatInterpolation}
+ * (all the built-in ones do) are evaluated without allocating</p>
+ *
+ * @since 1.0.0
+ */
+public interface Vector3FloatPlayhead extends Playhead<Vector3Float> {
+
+    /**
+     * Creates a primitive playhead for the given timeline.
+     *
+     * @param timeline The timeline
+     * @return The created playhead
+     * @since 1.0.0
+     */
+    static @NotNull Vector3FloatPlayhead playhead(final @NotNull Timeline<Vector3Float> timeline) {
+        int len = timeline.keyFrameCount();
+        if (len == 0) {
+            // empty playheads always return the default value
+            return new SingletonVector3FloatPlayhead(timeline.initial());
+        } else if (len == 1) {
+            // when a timeline has only one keyframe, no matter its time,
+            // the playhead will always return that keyframe's value
+            return new SingletonVector3FloatPlayhead(timeline.keyFrame(0).value());
+        } else if (timeline instanceof CompactTimeline compact) {
+            // reads the timeline arrays directly
+            return compact.createPlayhead();
+        } else {
+            return new Vector3FloatPlayheadImpl(timeline);
+        }
+    }
+
+    /**
+     * Moves to the next tick and writes its x, y and z
+     * components to the given buffer, starting at {@code offset}.
+     *
+     * @param out The buffer to write the value to
+     * @param offset The index to start writing at
+     * @since 1.0.0
+     */
+    void next(final float @NotNull [] out, final int offset);
+
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.timeline.playhead;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolation;
+import team.unnamed.hephaestus.animation.interpolation.Vector3FloatInterpolation;
+import team.unnamed.hephaestus.animation.timeline.KeyFrame;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+
+final class Vector3FloatPlayheadImpl extends PlayheadImpl<Vector3Float> implements Vector3FloatPlayhead {
+
+    Vector3FloatPlayheadImpl(final @NotNull Timeline<Vector3Float> timeline) {
+        super(timeline);
+    }
+
+    @Override
+    public void next(final float @NotNull [] out, final int offset) {
+        final KeyFrame<Vector3Float> keyFrame = advance();
+        if (keyFrame != null) {
+            write(keyFrame.value(), out, offset);
+            return;
+        }
+
+        final Interpolation<Vector3Float> interpolation = this.interpolation;
+        if (interpolation instanceof Vector3FloatInterpolation primitiveInterpolation) {
+            primitiveInterpolation.interpolate(progress, out, offset);
+        } else {
+            // custom interpolation, may allocate
+            write(interpolation.interpolate(progress), out, offset);
+        }
+    }
+
+    private static void write(final @NotNull Vector3Float value, final float @NotNull [] out, final int offset) {
+        out[offset] = value.x();
+        out[offset + 1] = value.y();
+        out[offset + 2] = value.z();
+    }
+
+}
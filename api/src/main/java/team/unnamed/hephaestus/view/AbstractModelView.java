@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 import team.unnamed.hephaestus.Model;
 import team.unnamed.hephaestus.animation.controller.AnimationPlayer;
 import team.unnamed.hephaestus.animation.Animation;
+import team.unnamed.hephaestus.view.lod.LodPolicy;
 
 import java.util.Collection;
 import java.util.Objects;
@@ -157,9 +158,35 @@ public interface AbstractModelView<TViewer> {
         playAnimation(name, 0);
     }
 
+    /**
+     * Returns the level of detail policy for this view, which
+     * determines how often its animations are updated.
+     *
+     * @return The level of detail policy
+     * @since 1.0.0
+     */
+    @NotNull LodPolicy lodPolicy();
+
+    /**
+     * Sets the level of detail policy for this view, which
+     * determines how often its animations are updated.
+     *
+     * @param lodPolicy The level of detail policy
+     * @since 1.0.0
+     */
+    void lodPolicy(final @NotNull LodPolicy lodPolicy);
+
     /**
      * Ticks animations, makes required bones pass
      * to the next animation frame
+     *
+     * <p>This method may be called from a worker thread, see
+     * {@link team.unnamed.hephaestus.view.tick.ModelTickScheduler}.
+     * Ticking animations only calls {@link #model()},
+     * {@link #bone(String)}, {@link #emitSound(Sound)} and the
+     * bone updates, so implementations must make them safe to
+     * call from there, without touching platform state such as
+     * viewers or entities.</p>
      */
     default void tickAnimations() {
         animationPlayer().tick();
@@ -0,0 +1,132 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.view.lod;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.hephaestus.view.AbstractModelView;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Functional interface that determines the animation level of detail
+ * of a model view, expressed as the amount of ticks between animation
+ * updates, based on the distance to its nearest viewer.
+ *
+ * <p>Views far away from their viewers can be updated less often,
+ * platforms are expected to make clients interpolate between updates
+ * during the returned interval, so they still look smooth.</p>
+ *
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface LodPolicy {
+    /**
+     * Determines the amount of ticks between animation updates
+     * for the given view.
+     *
+     * @param view The model view
+     * @param nearestViewerDistance The distance (in blocks) to the view's
+     *                              nearest viewer, {@link Double#POSITIVE_INFINITY}
+     *                              if it has no viewers
+     * @return The tick interval, must be at least one
+     * @since 1.0.0
+     */
+    int tickInterval(final @NotNull AbstractModelView<?> view, final double nearestViewerDistance);
+
+    /**
+     * A policy that updates every view every tick, no matter
+     * their distance to their viewers.
+     *
+     * @return The full rate policy
+     * @since 1.0.0
+     */
+    static @NotNull LodPolicy none() {
+        return (view, nearestViewerDistance) -> 1;
+    }
+
+    /**
+     * A distance based policy, views are updated every tick while
+     * they are closer than {@code fullRateDistance} blocks to their
+     * nearest viewer, the interval is then doubled every time the
+     * distance doubles, up to {@code maxTickInterval}.
+     *
+     * <p>For example, with a full rate distance of 16 and a maximum
+     * interval of 8: views up to 16 blocks away are updated every
+     * tick, up to 32 blocks every 2 ticks, up to 64 blocks every 4
+     * ticks and every 8 ticks after that.</p>
+     *
+     * @param fullRateDistance The maximum distance for full rate updates
+     * @param maxTickInterval The maximum tick interval
+     * @return The distance based policy
+     * @since 1.0.0
+     */
+    static @NotNull LodPolicy distanceBased(final double fullRateDistance, final int maxTickInterval) {
+        if (fullRateDistance <= 0) {
+            throw new IllegalArgumentException("Full rate distance must be positive, got " + fullRateDistance);
+        }
+        if (maxTickInterval < 1) {
+            throw new IllegalArgumentException("Max tick interval must be at least 1, got " + maxTickInterval);
+        }
+        return (view, nearestViewerDistance) -> {
+            int interval = 1;
+            double distance = fullRateDistance;
+            while (nearestViewerDistance > distance && interval < maxTickInterval) {
+                interval = Math.min(interval * 2, maxTickInterval);
+                distance *= 2;
+            }
+            return interval;
+        };
+    }
+
+    /**
+     * The default distance based policy, full rate up to 16
+     * blocks and up to 8 ticks between updates.
+     *
+     * @return The default distance based policy
+     * @see #distanceBased(double, int)
+     * @since 1.0.0
+     */
+    static @NotNull LodPolicy distanceBased() {
+        return distanceBased(16, 8);
+    }
+
+    /**
+     * Creates a policy that uses the given per-model policies,
+     * keyed by model name, and this policy for the rest of the
+     * models.
+     *
+     * @param overrides The per-model policies
+     * @return The created policy
+     * @since 1.0.0
+     */
+    default @NotNull LodPolicy withOverrides(final @NotNull Map<String, LodPolicy> overrides) {
+        requireNonNull(overrides, "overrides");
+        final Map<String, LodPolicy> copy = new HashMap<>(overrides);
+        return (view, nearestViewerDistance) -> copy.getOrDefault(view.model().name(), this)
+                .tickInterval(view, nearestViewerDistance);
+    }
+}
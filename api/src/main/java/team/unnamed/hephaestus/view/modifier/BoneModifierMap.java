@@ -42,6 +42,8 @@ public interface BoneModifierMap extends BoneModifier {
 
     boolean hasModifier(final @NotNull BoneModifierType<?> type);
 
+    boolean hasModifiers();
+
     interface Forwarding extends BoneModifierMap {
         @NotNull BoneModifierMap modifiers();
 
@@ -64,5 +66,10 @@ public interface BoneModifierMap extends BoneModifier {
         default boolean hasModifier(final @NotNull BoneModifierType<?> type) {
             return modifiers().hasModifier(type);
         }
+
+        @Override
+        default boolean hasModifiers() {
+            return modifiers().hasModifiers();
+        }
     }
 }
@@ -64,4 +64,9 @@ final class BoneModifierMapImpl implements BoneModifierMap {
     public boolean hasModifier(final @NotNull BoneModifierType<?> type) {
         return modifiers.containsKey(type);
     }
+
+    @Override
+    public boolean hasModifiers() {
+        return !modifiers.isEmpty();
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.view.tick;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.hephaestus.view.AbstractModelView;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Ticks a set of registered model views in batches, every tick is
+ * split in two phases:
+ *
+ * <ol>
+ *     <li>The <b>evaluation</b> phase, where the registered views are
+ *     partitioned across the workers of a {@link ForkJoinPool}, and the
+ *     animations of every view are evaluated in parallel. A view is
+ *     always evaluated by a single worker.</li>
+ *     <li>The <b>commit</b> phase, where every view is passed, serially
+ *     and in the ticking thread, to the commit function, so that their
+ *     changes can be published or sent to their viewers.</li>
+ * </ol>
+ *
+ * <p>The evaluation phase must not touch platform state, so views
+ * must only read what was snapshotted before the tick, and defer what
+ * must be done in the ticking thread, like emitting sounds, to the
+ * commit phase. See {@link AbstractModelView#tickAnimations()}.</p>
+ *
+ * <p>A tick returns once both phases are completed, so it can be invoked
+ * from a repeating task, the same way views were ticked one by one.</p>
+ *
+ * @since 1.0.0
+ */
+public interface ModelTickScheduler extends AutoCloseable {
+    /**
+     * Creates a new tick scheduler that evaluates views in the given
+     * {@code pool}, and then passes them to the given {@code commit}
+     * function.
+     *
+     * <p>The given pool is not owned by the created scheduler, so it
+     * is not shut down when the scheduler is closed.</p>
+     *
+     * @param pool The fork-join pool used to evaluate views
+     * @param commit The commit function
+     * @return The created tick scheduler
+     * @since 1.0.0
+     */
+    static @NotNull ModelTickScheduler create(final @NotNull ForkJoinPool pool, final @NotNull Consumer<? super AbstractModelView<?>> commit) {
+        return new ModelTickSchedulerImpl(pool, false, commit);
+    }
+
+    /**
+     * Creates a new tick scheduler that evaluates views in a new
+     * fork-join pool with the given {@code parallelism}, and then
+     * passes them to the given {@code commit} function.
+     *
+     * <p>The created pool is owned by the scheduler, and it is shut
+     * down when the scheduler is closed.</p>
+     *
+     * @param parallelism The amount of worker threads
+     * @param commit The commit function
+     * @return The created tick scheduler
+     * @throws IllegalArgumentException If {@code parallelism} is not positive
+     * @since 1.0.0
+     */
+    static @NotNull ModelTickScheduler create(final int parallelism, final @NotNull Consumer<? super AbstractModelView<?>> commit) {
+        return new ModelTickSchedulerImpl(ModelTickSchedulerImpl.createPool(parallelism), true, commit);
+    }
+
+    /**
+     * Creates a new tick scheduler that evaluates views in a new
+     * fork-join pool with the given {@code parallelism}, and does
+     * nothing on the commit phase.
+     *
+     * @param parallelism The amount of worker threads
+     * @return The created tick scheduler
+     * @throws IllegalArgumentException If {@code parallelism} is not positive
+     * @see #create(int, Consumer)
+     * @since 1.0.0
+     */
+    static @NotNull ModelTickScheduler create(final int parallelism) {
+        return create(parallelism, view -> {});
+    }
+
+    /**
+     * Registers the given {@code view}, so it is ticked by this
+     * scheduler from the next tick.
+     *
+     * @param view The view to register
+     * @return True if the view was registered, false if it
+     * was already registered
+     * @since 1.0.0
+     */
+    boolean register(final @NotNull AbstractModelView<?> view);
+
+    /**
+     * Unregisters the given {@code view}, so it is no longer
+     * ticked by this scheduler.
+     *
+     * @param view The view to unregister
+     * @return True if the view was unregistered, false if it
+     * wasn't registered
+     * @since 1.0.0
+     */
+    boolean unregister(final @NotNull AbstractModelView<?> view);
+
+    /**
+     * Returns an unmodifiable view of the views registered
+     * in this scheduler.
+     *
+     * @return The registered views
+     * @since 1.0.0
+     */
+    @NotNull @Unmodifiable Collection<AbstractModelView<?>> views();
+
+    /**
+     * Ticks all the registered views, evaluating them using
+     * {@link AbstractModelView#tickAnimations()}.
+     *
+     * @throws IllegalStateException If this scheduler is closed
+     * @since 1.0.0
+     */
+    default void tick() {
+        tick(AbstractModelView::tickAnimations);
+    }
+
+    /**
+     * Ticks all the registered views, evaluating them using the
+     * given {@code evaluation} function.
+     *
+     * <p>The evaluation function is invoked concurrently for
+     * different views, it must only modify the state of the
+     * view it is given.</p>
+     *
+     * @param evaluation The evaluation function
+     * @throws IllegalStateException If this scheduler is closed
+     * @since 1.0.0
+     */
+    void tick(final @NotNull Consumer<? super AbstractModelView<?>> evaluation);
+
+    /**
+     * Closes this scheduler, unregistering all of its views and
+     * shutting down its fork-join pool if it owns it.
+     *
+     * @since 1.0.0
+     */
+    @Override
+    void close();
+}
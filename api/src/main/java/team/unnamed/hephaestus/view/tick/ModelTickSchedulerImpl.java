@@ -0,0 +1,173 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.view.tick;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.hephaestus.view.AbstractModelView;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+final class ModelTickSchedulerImpl implements ModelTickScheduler {
+    // Amount of partitions per worker, more than one so that
+    // workers can steal work from slower workers
+    private static final int PARTITIONS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final Consumer<? super AbstractModelView<?>> commit;
+
+    private final Set<AbstractModelView<?>> views = ConcurrentHashMap.newKeySet();
+
+    // Snapshot of the registered views, reused between ticks
+    private AbstractModelView<?>[] batch = new AbstractModelView<?>[0];
+    private volatile boolean closed = false;
+
+    ModelTickSchedulerImpl(final @NotNull ForkJoinPool pool, final boolean ownsPool, final @NotNull Consumer<? super AbstractModelView<?>> commit) {
+        this.pool = requireNonNull(pool, "pool");
+        this.ownsPool = ownsPool;
+        this.commit = requireNonNull(commit, "commit");
+    }
+
+    static @NotNull ForkJoinPool createPool(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        return new ForkJoinPool(parallelism, pool -> {
+            final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("hephaestus-model-tick-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @Override
+    public boolean register(final @NotNull AbstractModelView<?> view) {
+        requireNonNull(view, "view");
+        return views.add(view);
+    }
+
+    @Override
+    public boolean unregister(final @NotNull AbstractModelView<?> view) {
+        requireNonNull(view, "view");
+        return views.remove(view);
+    }
+
+    @Override
+    public @NotNull Collection<AbstractModelView<?>> views() {
+        return Collections.unmodifiableSet(views);
+    }
+
+    @Override
+    public synchronized void tick(final @NotNull Consumer<? super AbstractModelView<?>> evaluation) {
+        requireNonNull(evaluation, "evaluation");
+        if (closed) {
+            throw new IllegalStateException("The tick scheduler is closed");
+        }
+
+        final int count = snapshot();
+        if (count == 0) {
+            return;
+        }
+
+        try {
+            // evaluation phase (parallel)
+            final int threshold = Math.max(1, count / (pool.getParallelism() * PARTITIONS_PER_WORKER));
+            if (count <= threshold) {
+                for (int i = 0; i < count; i++) {
+                    evaluation.accept(batch[i]);
+                }
+            } else {
+                pool.invoke(new EvaluateTask(batch, 0, count, threshold, evaluation));
+            }
+
+            // commit phase (serial)
+            for (int i = 0; i < count; i++) {
+                commit.accept(batch[i]);
+            }
+        } finally {
+            // do not retain views that may be unregistered later
+            Arrays.fill(batch, 0, count, null);
+        }
+    }
+
+    private int snapshot() {
+        int count = 0;
+        for (final var view : views) {
+            if (count == batch.length) {
+                batch = Arrays.copyOf(batch, Math.max(16, count * 2));
+            }
+            batch[count++] = view;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        views.clear();
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static final class EvaluateTask extends RecursiveAction {
+        private final AbstractModelView<?>[] views;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final Consumer<? super AbstractModelView<?>> evaluation;
+
+        EvaluateTask(final AbstractModelView<?>[] views, final int from, final int to, final int threshold, final Consumer<? super AbstractModelView<?>> evaluation) {
+            this.views = views;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.evaluation = evaluation;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    evaluation.accept(views[i]);
+                }
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new EvaluateTask(views, from, middle, threshold, evaluation),
+                    new EvaluateTask(views, middle, to, threshold, evaluation)
+            );
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SkeletonTest {
+
+    @Test
+    @DisplayName("Test that bones are flattened in topological order")
+    public void test_topological_order() {
+        final Bone hand = bone("hand", Map.of());
+        final Bone arm = bone("arm", Map.of("hand", hand));
+        final Bone head = bone("head", Map.of());
+        final Map<String, Bone> bodyChildren = new LinkedHashMap<>();
+        bodyChildren.put("arm", arm);
+        bodyChildren.put("head", head);
+        final Bone body = bone("body", bodyChildren);
+        final Bone tail = bone("tail", Map.of());
+
+        final Skeleton skeleton = Skeleton.skeleton(List.of(body, tail));
+
+        assertEquals(5, skeleton.size());
+
+        // depth-first, pre-order
+        assertEquals("body", skeleton.bone(0).name());
+        assertEquals("arm", skeleton.bone(1).name());
+        assertEquals("hand", skeleton.bone(2).name());
+        assertEquals("head", skeleton.bone(3).name());
+        assertEquals("tail", skeleton.bone(4).name());
+
+        assertEquals(Skeleton.NO_PARENT, skeleton.parent(0));
+        assertEquals(0, skeleton.parent(1));
+        assertEquals(1, skeleton.parent(2));
+        assertEquals(0, skeleton.parent(3));
+        assertEquals(Skeleton.NO_PARENT, skeleton.parent(4));
+
+        for (int id = 0; id < skeleton.size(); id++) {
+            assertEquals(id, skeleton.id(skeleton.bone(id).name()));
+        }
+        assertEquals(-1, skeleton.id("leg"));
+    }
+
+    @Test
+    @DisplayName("Test that concurrent first requests share the same skeleton")
+    public void test_concurrent_skeleton() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int attempt = 0; attempt < 50; attempt++) {
+                final Map<String, Bone> bones = new LinkedHashMap<>();
+                bones.put("body", bone("body", Map.of("arm", bone("arm", Map.of()))));
+                final Model model = new Model("test", bones, null, null, Map.of());
+
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<Skeleton>> skeletons = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    skeletons.add(executor.submit(() -> {
+                        start.await();
+                        return model.skeleton();
+                    }));
+                }
+                start.countDown();
+                for (final Future<Skeleton> skeleton : skeletons) {
+                    assertSame(model.skeleton(), skeleton.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Bone bone(final String name, final Map<String, Bone> children) {
+        return new Bone(name, Vector3Float.ZERO, Vector3Float.ZERO, children, 1, 1, false);
+    }
+
+}
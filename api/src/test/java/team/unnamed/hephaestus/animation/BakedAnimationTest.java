@@ -0,0 +1,112 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BakedBoneTimeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneFrame;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimelinePlayhead;
+import team.unnamed.hephaestus.animation.timeline.effect.EffectsTimeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertVectorEquals;
+
+class BakedAnimationTest {
+
+    private static final int LENGTH = 20;
+
+    private static Timeline<Vector3Float> timeline(final Vector3Float initial, final Vector3Float end) {
+        return Timeline.<Vector3Float>timeline()
+                .initial(initial)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, initial)
+                .keyFrame(7, end, Interpolators.catmullRomSplineVector3Float())
+                .keyFrame(LENGTH - 1, initial)
+                .build();
+    }
+
+    private static Animation animation(final Animation.EvaluationMode evaluationMode) {
+        return Animation.animation()
+                .name("test")
+                .length(LENGTH)
+                .loopMode(Animation.LoopMode.LOOP)
+                .effectsTimeline(EffectsTimeline.empty().build())
+                .timeline("bone", BoneTimeline.boneTimeline()
+                        .positions(timeline(Vector3Float.ZERO, new Vector3Float(1, 2, 3)))
+                        .rotations(timeline(Vector3Float.ZERO, new Vector3Float(90, 0, -45)))
+                        .scales(timeline(Vector3Float.ONE, new Vector3Float(2, 2, 2)))
+                        .build())
+                .evaluationMode(evaluationMode)
+                .build();
+    }
+
+    @Test
+    void test_baked_matches_live() {
+        final Animation live = animation(Animation.EvaluationMode.LIVE);
+        final Animation baked = live.withEvaluationMode(Animation.EvaluationMode.BAKED);
+
+        assertEquals(Animation.EvaluationMode.BAKED, baked.evaluationMode());
+        assertTrue(baked.timelines().get("bone") instanceof BakedBoneTimeline);
+
+        final BoneTimelinePlayhead livePlayhead = live.timelines().get("bone").createPlayhead();
+        final BoneTimelinePlayhead bakedPlayhead = baked.timelines().get("bone").createPlayhead();
+
+        // also check that the last frame is kept after the end
+        for (int tick = 0; tick < LENGTH + 5; tick++) {
+            final BoneFrame expected = livePlayhead.next();
+            final BoneFrame actual = bakedPlayhead.next();
+            assertEquals(livePlayhead.tick(), bakedPlayhead.tick());
+            assertVectorEquals(expected.position(), actual.position(), 0.0001);
+            assertVectorEquals(expected.rotation(), actual.rotation(), 0.0001);
+            assertVectorEquals(expected.scale(), actual.scale(), 0.0001);
+        }
+    }
+
+    @Test
+    void test_evaluation_mode_round_trip() {
+        final Animation live = animation(Animation.EvaluationMode.LIVE);
+        assertSame(live, live.withEvaluationMode(Animation.EvaluationMode.LIVE));
+
+        final Animation baked = live.withEvaluationMode(Animation.EvaluationMode.BAKED);
+        final BoneTimeline source = ((BakedBoneTimeline) baked.timelines().get("bone")).source();
+        assertSame(live.timelines().get("bone"), source);
+        assertSame(source, baked.withEvaluationMode(Animation.EvaluationMode.LIVE).timelines().get("bone"));
+    }
+
+    @Test
+    void test_baked_size() {
+        final Animation baked = animation(Animation.EvaluationMode.BAKED);
+        final long expected = (long) LENGTH * BoneFrame.SIZE * Float.BYTES;
+        assertEquals(expected, baked.bakedSizeInBytes());
+        assertEquals(expected, ((BakedBoneTimeline) baked.timelines().get("bone")).sizeInBytes());
+        assertEquals(expected, animation(Animation.EvaluationMode.LIVE).bakedSizeInBytes());
+    }
+
+}
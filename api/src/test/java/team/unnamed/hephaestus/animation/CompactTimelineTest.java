@@ -0,0 +1,159 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
+import team.unnamed.hephaestus.animation.timeline.CompactTimeline;
+import team.unnamed.hephaestus.animation.timeline.KeyFrame;
+import team.unnamed.hephaestus.animation.timeline.KeyFrameBezierAttachment;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.playhead.Vector3FloatPlayhead;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactTimelineTest {
+
+    private static final List<KeyFrameInterpolator<Vector3Float>> INTERPOLATORS = List.of(
+            Interpolators.lerpVector3Float(),
+            Interpolators.stepVector3Float(),
+            Interpolators.catmullRomSplineVector3Float(),
+            Interpolators.bezierVector3Float()
+    );
+
+    // keyframes using every interpolator, some of them with Bézier handles
+    private static Timeline<Vector3Float> timeline(final KeyFrameInterpolator<Vector3Float> defaultInterpolator) {
+        final Timeline.Builder<Vector3Float> builder = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(defaultInterpolator);
+        for (int i = 0; i < 12; i++) {
+            final KeyFrameInterpolator<Vector3Float> interpolator = i % 5 == 4 ? null : INTERPOLATORS.get((i * 7) % INTERPOLATORS.size());
+            final KeyFrame<Vector3Float> keyFrame = new KeyFrame<>(i * 3 + i % 2, new Vector3Float(i * 1.5F, -i * i * 0.25F, (i % 3) * 10.1F), interpolator);
+            if (i % 3 == 1) {
+                keyFrame.attachment(KeyFrameBezierAttachment.class, KeyFrameBezierAttachment.of(
+                        new Vector3Float(-0.5F, -1, -0.25F),
+                        new Vector3Float(1, 0, 2),
+                        new Vector3Float(0.5F, 1, 0.25F),
+                        new Vector3Float(-1, 0, -2)
+                ));
+            }
+            builder.keyFrame(keyFrame);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void test_compact_timeline_matches_timeline() {
+        for (final KeyFrameInterpolator<Vector3Float> defaultInterpolator : INTERPOLATORS) {
+            final Timeline<Vector3Float> timeline = timeline(defaultInterpolator);
+            final CompactTimeline compact = CompactTimeline.compact(timeline);
+            assertSame(compact, CompactTimeline.compact(compact));
+            assertEquals(timeline.keyFrameCount(), compact.keyFrameCount());
+            assertSame(defaultInterpolator, compact.defaultInterpolator());
+
+            final Vector3FloatPlayhead expectedPlayhead = Vector3FloatPlayhead.playhead(timeline);
+            final Vector3FloatPlayhead actualPlayhead = Vector3FloatPlayhead.playhead(compact);
+            final float[] expected = new float[3];
+            final float[] actual = new float[3];
+            for (int tick = 0; tick < 45; tick++) {
+                expectedPlayhead.next(expected, 0);
+                actualPlayhead.next(actual, 0);
+                assertArrayEquals(expected, actual);
+                assertEquals(timeline.sample(tick), compact.sample(tick));
+            }
+
+            // seeking backwards
+            expectedPlayhead.seek(7);
+            actualPlayhead.seek(7);
+            expectedPlayhead.next(expected, 0);
+            actualPlayhead.next(actual, 0);
+            assertArrayEquals(expected, actual);
+
+            for (int i = 0; i < timeline.keyFrameCount(); i++) {
+                final KeyFrame<Vector3Float> expectedKeyFrame = timeline.keyFrame(i);
+                final KeyFrame<Vector3Float> actualKeyFrame = compact.keyFrame(i);
+                assertEquals(expectedKeyFrame.time(), actualKeyFrame.time());
+                assertEquals(expectedKeyFrame.value(), actualKeyFrame.value());
+                assertSame(expectedKeyFrame.interpolator(), actualKeyFrame.interpolator());
+                final KeyFrameBezierAttachment expectedBezier = expectedKeyFrame.attachment(KeyFrameBezierAttachment.class);
+                final KeyFrameBezierAttachment actualBezier = actualKeyFrame.attachment(KeyFrameBezierAttachment.class);
+                if (expectedBezier == null) {
+                    assertNull(actualBezier);
+                } else {
+                    assertEquals(expectedBezier.leftTime(), actualBezier.leftTime());
+                    assertEquals(expectedBezier.rightValue(), actualBezier.rightValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_quantized_values_are_close() {
+        final Timeline<Vector3Float> timeline = timeline(Interpolators.lerpVector3Float());
+        final CompactTimeline compact = CompactTimeline.compact(timeline);
+        final CompactTimeline quantized = CompactTimeline.quantized(timeline);
+        assertTrue(quantized.quantized());
+        assertTrue(quantized.sizeInBytes() < compact.sizeInBytes());
+
+        // ranges are 16.5, 30.25 and 20.2
+        final float[] expected = new float[3];
+        final float[] actual = new float[3];
+        for (int i = 0; i < compact.keyFrameCount(); i++) {
+            compact.value(i, expected, 0);
+            quantized.value(i, actual, 0);
+            assertArrayEquals(expected, actual, 30.25F / 131070 + 1E-5F);
+        }
+    }
+
+    @Test
+    void test_builder() {
+        final CompactTimeline timeline = CompactTimeline.compact()
+                .initial(1, 2, 3)
+                .keyFrame(0, 0, 0, 0, null)
+                .keyFrame(10, 10, 20, 30, Interpolators.stepVector3Float())
+                .build();
+        assertEquals(new Vector3Float(1, 2, 3), timeline.initial());
+        assertSame(Interpolators.lerpVector3Float(), timeline.defaultInterpolator());
+        assertEquals(new Vector3Float(5, 10, 15), timeline.sample(5));
+        assertEquals(2 * 4 + 2 * 12 + 2, timeline.sizeInBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> CompactTimeline.compact()
+                .keyFrame(5, 0, 0, 0, null)
+                .keyFrame(5, 1, 1, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> CompactTimeline.compact()
+                .defaultInterpolator(Interpolators.always(Vector3Float.ZERO)));
+        assertThrows(IllegalStateException.class, () -> CompactTimeline.compact()
+                .bezier(KeyFrameBezierAttachment.initial()));
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.hephaestus.animation.timeline.effect.EffectsFrame;
+import team.unnamed.hephaestus.animation.timeline.effect.EffectsTimeline;
+import team.unnamed.hephaestus.animation.timeline.effect.EffectsTimelinePlayhead;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EffectsTimelineTest {
+
+    @Test
+    void test_empty() {
+        assertTrue(EffectsTimeline.empty().build().isEmpty());
+        assertTrue(EffectsTimeline.effectsTimeline()
+                .sounds(Collections.emptyMap())
+                .instructions(Map.of(3, List.of()))
+                .build()
+                .isEmpty());
+    }
+
+    @Test
+    void test_playhead() {
+        final EffectsTimeline timeline = EffectsTimeline.effectsTimeline()
+                .sounds(Collections.emptyMap())
+                .instructions(Map.of(
+                        2, List.of("a"),
+                        5, List.of("b", "c")
+                ))
+                .build();
+        assertFalse(timeline.isEmpty());
+
+        final EffectsTimelinePlayhead playhead = timeline.createPlayhead();
+        final List<List<String>> expected = List.of(
+                List.of(), List.of(), List.of("a"), List.of(), List.of(), List.of("b", "c"), List.of()
+        );
+        for (final List<String> instructions : expected) {
+            final EffectsFrame frame = playhead.next();
+            assertEquals(instructions, frame.instructions());
+            assertTrue(frame.sounds().isEmpty());
+        }
+
+        // seeking must give the same frames
+        playhead.seek(5);
+        final EffectsFrame frame = playhead.next();
+        assertEquals(List.of("b", "c"), frame.instructions());
+        // instructions are parsed when the timeline is built
+        assertEquals(2, frame.parsedInstructions().size());
+        playhead.seek(0);
+        assertEquals(0, playhead.next().instructions().size());
+        assertEquals(0, playhead.next().instructions().size());
+        assertEquals(List.of("a"), playhead.next().instructions());
+        assertEquals(2, playhead.tick());
+    }
+
+}
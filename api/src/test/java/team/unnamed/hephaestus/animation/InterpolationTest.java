@@ -66,6 +66,45 @@ class InterpolationTest {
         assertVectorEquals(new Vector3Float(20, 20, 20), interpolation.interpolate(1), 0.001); // to
     }
 
+    // the per-call Catmull-Rom formula, before coefficients were precomputed
+    private static double catmullRom(double t, double p0, double p1, double p2, double p3) {
+        double v0 = (p2 - p0) * 0.5;
+        double v1 = (p3 - p1) * 0.5;
+        double a = 2 * p1 - 2 * p2 + v0 + v1;
+        double b = -3 * p1 + 3 * p2 - 2 * v0 - v1;
+        return a * t * t * t + b * t * t + v0 * t + p1;
+    }
+
+    @Test
+    void test_precomputed_catmullrom_matches_formula() {
+        final Vector3Float before = new Vector3Float(-3, 7.5F, 0.25F);
+        final Vector3Float from = new Vector3Float(1, 2, 3);
+        final Vector3Float to = new Vector3Float(4, -1, 10);
+        final Vector3Float after = new Vector3Float(2, 5, -6);
+
+        // missing "before" and "after" points are replaced by "from" and "to"
+        final Vector3Float[][] cases = {
+                { before, after },
+                { null, after },
+                { before, null },
+                { null, null }
+        };
+        for (final Vector3Float[] points : cases) {
+            final Interpolation<Vector3Float> interpolation = Interpolators.catmullRomSplineVector3Float()
+                    .interpolation(points[0], from, to, points[1]);
+            final Vector3Float p0 = points[0] == null ? from : points[0];
+            final Vector3Float p3 = points[1] == null ? to : points[1];
+            for (int i = 0; i <= 20; i++) {
+                final double t = i / 20D;
+                assertVectorEquals(new Vector3Float(
+                        (float) catmullRom(t, p0.x(), from.x(), to.x(), p3.x()),
+                        (float) catmullRom(t, p0.y(), from.y(), to.y(), p3.y()),
+                        (float) catmullRom(t, p0.z(), from.z(), to.z(), p3.z())
+                ), interpolation.interpolate(t), 0.0001);
+            }
+        }
+    }
+
     @Test
     void test_ternary_catmullrom_interpolation() {
         Interpolation<Vector3Float> interpolation = Interpolators.catmullRomSplineVector3Float().interpolation(
@@ -134,4 +173,32 @@ class InterpolationTest {
         assertVectorEquals(new Vector3Float(7.06F, 9.89F, 9.87F), interpolation.interpolate(0.9167F), 0.01);
         assertVectorEquals(new Vector3Float(10F, 10F, 10F), interpolation.interpolate(1), 0.01);
     }
+
+    @Test
+    void test_bezier_interpolation_with_linear_handles() {
+        // handles placed at 1/3 and 2/3 of the line between both
+        // keyframes make the Bézier curve a straight line
+        final KeyFrame<Vector3Float> fromKeyFrame = new KeyFrame<>(0, new Vector3Float(0, 3, -6), null);
+        fromKeyFrame.attachment(KeyFrameBezierAttachment.class, KeyFrameBezierAttachment.of(
+                new Vector3Float(-1, -1, -1),
+                new Vector3Float(-3, 1, -2),
+                new Vector3Float(1, 1, 1),
+                new Vector3Float(3, -1, 2)
+        ));
+
+        final KeyFrame<Vector3Float> toKeyFrame = new KeyFrame<>(3, new Vector3Float(9, 0, 0), null);
+        toKeyFrame.attachment(KeyFrameBezierAttachment.class, KeyFrameBezierAttachment.of(
+                new Vector3Float(-1, -1, -1),
+                new Vector3Float(-3, 1, -2),
+                new Vector3Float(1, 1, 1),
+                new Vector3Float(3, -1, 2)
+        ));
+
+        final Interpolation<Vector3Float> interpolation = Interpolators.bezierVector3Float().interpolation(fromKeyFrame, toKeyFrame);
+
+        for (int i = 0; i <= 10; i++) {
+            final float t = i / 10F;
+            assertVectorEquals(new Vector3Float(9 * t, 3 - 3 * t, -6 + 6 * t), interpolation.interpolate(t), 0.0001);
+        }
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BakedBoneTimeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneFrame;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimelinePlayhead;
+import team.unnamed.hephaestus.util.Quaternion;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertQuaternionEquals;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertVectorEquals;
+
+class QuaternionRotationTest {
+
+    private static final int LENGTH = 30;
+
+    private static BoneTimeline timeline(final BoneTimeline.RotationMode rotationMode) {
+        final Timeline<Vector3Float> empty = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .build();
+        return BoneTimeline.boneTimeline()
+                .positions(empty)
+                .rotations(Timeline.<Vector3Float>timeline()
+                        .initial(Vector3Float.ZERO)
+                        .defaultInterpolator(Interpolators.lerpVector3Float())
+                        .keyFrame(0, Vector3Float.ZERO)
+                        .keyFrame(10, new Vector3Float(0, 0, 90), Interpolators.stepVector3Float())
+                        .keyFrame(20, new Vector3Float(0, 0, 120))
+                        .build())
+                .scales(Timeline.<Vector3Float>timeline()
+                        .initial(Vector3Float.ONE)
+                        .defaultInterpolator(Interpolators.lerpVector3Float())
+                        .build())
+                .rotationMode(rotationMode)
+                .build();
+    }
+
+    private static Quaternion rotation(final float[] frame) {
+        final int offset = BoneFrame.ROTATION_OFFSET;
+        return new Quaternion(frame[offset], frame[offset + 1], frame[offset + 2], frame[offset + 3]);
+    }
+
+    @Test
+    void test_slerp_follows_euler_rotations() {
+        final BoneTimelinePlayhead euler = timeline(BoneTimeline.RotationMode.EULER).createPlayhead();
+        final BoneTimelinePlayhead slerp = timeline(BoneTimeline.RotationMode.SLERP).createPlayhead();
+        final float[] eulerFrame = new float[BoneFrame.SIZE];
+        final float[] slerpFrame = new float[BoneFrame.SIZE];
+
+        for (int tick = 0; tick < LENGTH; tick++) {
+            euler.next(eulerFrame, 0);
+            slerp.next(slerpFrame, 0);
+            assertFalse(BoneFrame.isQuaternion(eulerFrame, 0));
+            assertTrue(BoneFrame.isQuaternion(slerpFrame, 0));
+
+            // single axis rotations, so spherical interpolation is
+            // the same as interpolating the angle
+            final Vector3Float angles = new Vector3Float(
+                    eulerFrame[BoneFrame.ROTATION_OFFSET],
+                    eulerFrame[BoneFrame.ROTATION_OFFSET + 1],
+                    eulerFrame[BoneFrame.ROTATION_OFFSET + 2]
+            );
+            assertQuaternionEquals(Quaternion.fromEulerDegrees(angles), rotation(slerpFrame), 0.00001);
+        }
+    }
+
+    @Test
+    void test_nlerp_keeps_keyframes() {
+        final BoneTimelinePlayhead playhead = timeline(BoneTimeline.RotationMode.NLERP).createPlayhead();
+        final float[] frame = new float[BoneFrame.SIZE];
+
+        for (int tick = 0; tick < LENGTH; tick++) {
+            playhead.next(frame, 0);
+            final Quaternion rotation = rotation(frame);
+            assertEquals(1, rotation.dot(rotation), 0.00001);
+
+            final float angle;
+            if (tick == 0 || tick == 5) {
+                // not the same speed as slerp, but the same path
+                angle = tick * 9;
+            } else if (tick >= 10) {
+                // step keyframe until tick 20
+                angle = tick < 20 ? 90 : 120;
+            } else {
+                continue;
+            }
+            assertQuaternionEquals(Quaternion.fromEulerDegrees(new Vector3Float(0, 0, angle)), rotation, 0.00001);
+        }
+
+        // the frame API always returns Euler angles
+        playhead.seek(15);
+        assertVectorEquals(new Vector3Float(0, 0, 90), playhead.next().rotation(), 0.001);
+    }
+
+    @Test
+    void test_baked_quaternion_rotations() {
+        final BoneTimeline live = timeline(BoneTimeline.RotationMode.SLERP);
+        final BakedBoneTimeline baked = BakedBoneTimeline.bake(live, LENGTH);
+        final BoneTimelinePlayhead livePlayhead = live.createPlayhead();
+        final BoneTimelinePlayhead bakedPlayhead = baked.createPlayhead();
+        final float[] expected = new float[BoneFrame.SIZE];
+        final float[] actual = new float[BoneFrame.SIZE];
+
+        for (int tick = 0; tick < LENGTH + 5; tick++) {
+            livePlayhead.next(expected, 0);
+            bakedPlayhead.next(actual, 0);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+}
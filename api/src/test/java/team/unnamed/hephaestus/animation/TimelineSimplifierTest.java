@@ -0,0 +1,149 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.timeline.CompactTimeline;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.TimelineSimplifier;
+import team.unnamed.hephaestus.animation.timeline.playhead.Playhead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimelineSimplifierTest {
+
+    private static void assertSimilarPlayback(final Timeline<Vector3Float> expected, final Timeline<Vector3Float> actual, final float epsilon) {
+        final Playhead<Vector3Float> expectedPlayhead = expected.createPlayhead();
+        final Playhead<Vector3Float> actualPlayhead = actual.createPlayhead();
+        for (int tick = 0; tick < 60; tick++) {
+            final Vector3Float expectedValue = expectedPlayhead.next();
+            final Vector3Float actualValue = actualPlayhead.next();
+            assertEquals(expectedValue.x(), actualValue.x(), epsilon, "x at tick " + tick);
+            assertEquals(expectedValue.y(), actualValue.y(), epsilon, "y at tick " + tick);
+            assertEquals(expectedValue.z(), actualValue.z(), epsilon, "z at tick " + tick);
+        }
+    }
+
+    @Test
+    void test_removes_collinear_and_repeated_keyframes() {
+        final Timeline<Vector3Float> timeline = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                // baked, collinear
+                .keyFrame(0, new Vector3Float(0, 0, 0))
+                .keyFrame(2, new Vector3Float(2, 4, 0))
+                .keyFrame(4, new Vector3Float(4, 8, 0))
+                .keyFrame(10, new Vector3Float(10, 20, 0))
+                // repeated
+                .keyFrame(12, new Vector3Float(10, 20, 0), Interpolators.stepVector3Float())
+                .keyFrame(16, new Vector3Float(10, 20, 0), Interpolators.stepVector3Float())
+                .keyFrame(20, new Vector3Float(10, 20, 0))
+                .keyFrame(30, new Vector3Float(0, 0, 0))
+                .build();
+
+        final Timeline<Vector3Float> simplified = TimelineSimplifier.simplify(timeline, 0.0001F);
+        assertEquals(4, simplified.keyFrameCount());
+        assertEquals(10, simplified.keyFrame(1).time());
+        assertEquals(20, simplified.keyFrame(2).time());
+        assertSimilarPlayback(timeline, simplified, 0.0001F);
+
+        // already simplified
+        assertSame(simplified, TimelineSimplifier.simplify(simplified, 0.0001F));
+    }
+
+    @Test
+    void test_keeps_keyframes_over_epsilon() {
+        final Timeline<Vector3Float> timeline = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, new Vector3Float(0, 0, 0))
+                .keyFrame(10, new Vector3Float(5, 0.05F, 0))
+                .keyFrame(20, new Vector3Float(10, 0, 0))
+                .build();
+
+        assertSame(timeline, TimelineSimplifier.simplify(timeline, 0.01F));
+
+        final Timeline<Vector3Float> simplified = TimelineSimplifier.simplify(timeline, 0.1F);
+        assertEquals(2, simplified.keyFrameCount());
+        assertSimilarPlayback(timeline, simplified, 0.1F);
+
+        assertThrows(IllegalArgumentException.class, () -> TimelineSimplifier.simplify(timeline, -1));
+    }
+
+    @Test
+    void test_keeps_catmull_rom_control_points() {
+        final Timeline<Vector3Float> timeline = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, new Vector3Float(0, 0, 0), Interpolators.catmullRomSplineVector3Float())
+                .keyFrame(10, new Vector3Float(0, 5, 0), Interpolators.catmullRomSplineVector3Float())
+                .keyFrame(20, new Vector3Float(0, 10, 0))
+                .keyFrame(30, new Vector3Float(0, 15, 0))
+                .keyFrame(40, new Vector3Float(0, 20, 0))
+                .keyFrame(50, new Vector3Float(0, 25, 0))
+                .build();
+
+        // keyframe at 40 can be removed, keyframe at 30 is used by the
+        // Catmull-Rom segment between 10 and 20
+        final Timeline<Vector3Float> simplified = TimelineSimplifier.simplify(timeline, 0.0001F);
+        assertEquals(5, simplified.keyFrameCount());
+        assertEquals(30, simplified.keyFrame(3).time());
+        assertEquals(50, simplified.keyFrame(4).time());
+        assertSimilarPlayback(timeline, simplified, 0.0001F);
+
+        // keyframe at 10 is used by the Catmull-Rom segment between 20 and 30
+        final Timeline<Vector3Float> reversed = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, new Vector3Float(0, 0, 0))
+                .keyFrame(10, new Vector3Float(0, 5, 0))
+                .keyFrame(20, new Vector3Float(0, 10, 0))
+                .keyFrame(30, new Vector3Float(0, 0, 0), Interpolators.catmullRomSplineVector3Float())
+                .keyFrame(40, new Vector3Float(0, 5, 0), Interpolators.catmullRomSplineVector3Float())
+                .build();
+        assertSame(reversed, TimelineSimplifier.simplify(reversed, 0.0001F));
+    }
+
+    @Test
+    void test_simplifies_compact_timelines() {
+        final CompactTimeline timeline = CompactTimeline.compact()
+                .initial(0, 0, 0)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, 0, 0, 0, null)
+                .keyFrame(5, 1, 2, 3, null)
+                .keyFrame(10, 2, 4, 6, null)
+                .keyFrame(15, 0, 0, 0, null)
+                .build();
+
+        final Timeline<Vector3Float> simplified = TimelineSimplifier.simplify(timeline, 0.0001F);
+        assertTrue(simplified instanceof CompactTimeline);
+        assertEquals(3, simplified.keyFrameCount());
+        assertSimilarPlayback(timeline, simplified, 0.0001F);
+    }
+}
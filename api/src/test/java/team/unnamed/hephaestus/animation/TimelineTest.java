@@ -23,17 +23,28 @@
  */
 package team.unnamed.hephaestus.animation;
 
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import team.unnamed.creative.base.Vector3Float;
 import team.unnamed.hephaestus.animation.interpolation.Interpolator;
 import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
+import team.unnamed.hephaestus.animation.timeline.KeyFrame;
 import team.unnamed.hephaestus.animation.timeline.playhead.Playhead;
+import team.unnamed.hephaestus.animation.timeline.playhead.Vector3FloatPlayhead;
 import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneFrame;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimelinePlayhead;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.SortedSet;
 import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static team.unnamed.hephaestus.util.StructureAssertEquals.assertVectorEquals;
 
 class TimelineTest {
@@ -48,9 +59,14 @@ class TimelineTest {
         configurer.accept(builder);
         Timeline<Vector3Float> timeline = builder.build();
         Playhead<Vector3Float> it = timeline.createPlayhead();
+        // the primitive playhead must give the same values
+        Vector3FloatPlayhead primitiveIt = Vector3FloatPlayhead.playhead(timeline);
+        float[] buffer = new float[3];
         Vector3Float lastValue = null;
         for (Vector3Float expectedValue : expected) {
             assertVectorEquals(expectedValue, it.next(), 0.001);
+            primitiveIt.next(buffer, 0);
+            assertVectorEquals(expectedValue, new Vector3Float(buffer[0], buffer[1], buffer[2]), 0.001);
             lastValue = expectedValue;
         }
 
@@ -58,6 +74,8 @@ class TimelineTest {
             for (int i = 0; i < 10; i++) {
                 // should be kept on last value
                 assertVectorEquals(lastValue, it.next(), 0.001);
+                primitiveIt.next(buffer, 0);
+                assertVectorEquals(lastValue, new Vector3Float(buffer[0], buffer[1], buffer[2]), 0.001);
             }
         }
     }
@@ -288,4 +306,137 @@ class TimelineTest {
         );
     }
 
+    @Test
+    public void test_sample_and_seek() {
+        Timeline<Vector3Float> timeline = Timeline.<Vector3Float>timeline()
+                .initial(new Vector3Float(0, 0, 0))
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(5, new Vector3Float(10, 10, 10))
+                .keyFrame(10, new Vector3Float(20, 0, 20))
+                .keyFrame(20, new Vector3Float(0, 0, 0), Interpolators.catmullRomSplineVector3Float())
+                .keyFrame(30, new Vector3Float(5, 5, 5))
+                .build();
+
+        assertEquals(-1, timeline.floorIndex(4));
+        assertEquals(0, timeline.floorIndex(5));
+        assertEquals(1, timeline.floorIndex(19));
+        assertEquals(3, timeline.floorIndex(100));
+
+        // sample must give the same values as sequential iteration
+        Playhead<Vector3Float> sequential = timeline.createPlayhead();
+        for (int tick = 0; tick < 40; tick++) {
+            assertVectorEquals(sequential.next(), timeline.sample(tick), 0.0001);
+        }
+
+        // seeking back and forth must also give the same values
+        Playhead<Vector3Float> playhead = timeline.createPlayhead();
+        Vector3FloatPlayhead primitivePlayhead = Vector3FloatPlayhead.playhead(timeline);
+        float[] buffer = new float[3];
+        for (int tick : new int[] { 25, 3, 12, 12, 39, 0, 20, 9 }) {
+            playhead.seek(tick);
+            primitivePlayhead.seek(tick);
+            primitivePlayhead.next(buffer, 0);
+            assertVectorEquals(timeline.sample(tick), playhead.next(), 0.0001);
+            assertVectorEquals(timeline.sample(tick), new Vector3Float(buffer[0], buffer[1], buffer[2]), 0.0001);
+            // and continue sequentially from there
+            assertVectorEquals(timeline.sample(tick + 1), playhead.next(), 0.0001);
+        }
+
+        // segment interpolations are computed once
+        assertSame(timeline.interpolation(2), timeline.interpolation(2));
+    }
+
+    @Test
+    public void test_random_access_defaults() {
+        Timeline<Vector3Float> timeline = Timeline.<Vector3Float>timeline()
+                .initial(new Vector3Float(0, 0, 0))
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(5, new Vector3Float(10, 10, 10))
+                .keyFrame(10, new Vector3Float(20, 0, 20), Interpolators.catmullRomSplineVector3Float())
+                .keyFrame(20, new Vector3Float(0, 0, 0))
+                .keyFrame(30, new Vector3Float(5, 5, 5), Interpolators.stepVector3Float())
+                .build();
+
+        // implementations outside this library only provide the keyframe set
+        Timeline<Vector3Float> external = new Timeline<>() {
+            @Override
+            public @NotNull Vector3Float initial() {
+                return timeline.initial();
+            }
+
+            @Override
+            public @NotNull KeyFrameInterpolator<Vector3Float> defaultInterpolator() {
+                return timeline.defaultInterpolator();
+            }
+
+            @Override
+            public @NotNull SortedSet<KeyFrame<Vector3Float>> keyFrames() {
+                return timeline.keyFrames();
+            }
+
+            @Override
+            public Playhead<Vector3Float> createPlayhead() {
+                return Playhead.playhead(this);
+            }
+        };
+
+        assertEquals(4, external.keyFrameCount());
+        assertSame(timeline.keyFrame(2), external.keyFrame(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> external.keyFrame(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> external.interpolation(3));
+        for (int tick = 0; tick < 40; tick++) {
+            assertEquals(timeline.floorIndex(tick), external.floorIndex(tick));
+            assertVectorEquals(timeline.sample(tick), external.sample(tick), 0.0001);
+        }
+
+        Playhead<Vector3Float> playhead = external.createPlayhead();
+        for (int tick = 0; tick < 40; tick++) {
+            assertVectorEquals(timeline.sample(tick), playhead.next(), 0.0001);
+        }
+    }
+
+    @Test
+    public void test_playhead_defaults() {
+        Timeline<Vector3Float> timeline = Timeline.<Vector3Float>timeline()
+                .initial(new Vector3Float(0, 0, 0))
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, new Vector3Float(0, 0, 0))
+                .keyFrame(10, new Vector3Float(10, 20, 30))
+                .build();
+
+        // playheads outside this library only provide next()
+        Playhead<Vector3Float> delegate = timeline.createPlayhead();
+        Playhead<Vector3Float> external = delegate::next;
+        assertThrows(UnsupportedOperationException.class, () -> external.seek(3));
+
+        BoneTimelinePlayhead bonePlayhead = new BoneTimelinePlayhead() {
+            private final Playhead<Vector3Float> positions = timeline.createPlayhead();
+            private int tick = -1;
+
+            @Override
+            public int tick() {
+                return tick;
+            }
+
+            @Override
+            public BoneFrame next() {
+                tick++;
+                return new BoneFrame(positions.next(), new Vector3Float(0, 90, 0), Vector3Float.ONE);
+            }
+        };
+
+        // seeking forward replays the frames in between
+        bonePlayhead.seek(4);
+        float[] frame = new float[BoneFrame.SIZE + 1];
+        bonePlayhead.next(frame, 1);
+        assertEquals(4, bonePlayhead.tick());
+        assertVectorEquals(timeline.sample(4), new Vector3Float(frame[1], frame[2], frame[3]), 0.0001);
+        assertVectorEquals(new Vector3Float(0, 90, 0), new Vector3Float(frame[4], frame[5], frame[6]), 0.0001);
+        assertFalse(BoneFrame.isQuaternion(frame, 1));
+        assertVectorEquals(Vector3Float.ONE, new Vector3Float(frame[8], frame[9], frame[10]), 0.0001);
+
+        // and it can't move backward
+        assertThrows(UnsupportedOperationException.class, () -> bonePlayhead.seek(2));
+    }
+
 }
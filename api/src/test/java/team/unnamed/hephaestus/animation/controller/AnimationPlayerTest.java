@@ -0,0 +1,647 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.sound.Sound;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.Bone;
+import team.unnamed.hephaestus.Model;
+import team.unnamed.hephaestus.animation.Animation;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneFrame;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimelinePlayhead;
+import team.unnamed.hephaestus.animation.timeline.effect.EffectsTimeline;
+import team.unnamed.hephaestus.util.Quaternion;
+import team.unnamed.hephaestus.view.AbstractBoneView;
+import team.unnamed.hephaestus.view.AbstractModelView;
+import team.unnamed.hephaestus.view.lod.LodPolicy;
+import team.unnamed.hephaestus.view.modifier.BoneModifier;
+import team.unnamed.hephaestus.view.modifier.BoneModifierMap;
+import team.unnamed.hephaestus.view.modifier.BoneModifierType;
+import team.unnamed.mocha.MochaEngine;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertQuaternionEquals;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertQuaternionEquivalent;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertVectorEquals;
+
+class AnimationPlayerTest {
+
+    private static Timeline<Vector3Float> timeline(final Vector3Float initial, final Vector3Float middle, final int length) {
+        return Timeline.<Vector3Float>timeline()
+                .initial(initial)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, initial)
+                .keyFrame(length / 2, middle)
+                .keyFrame(length - 1, initial)
+                .build();
+    }
+
+    private static Animation animation(final String name, final Animation.LoopMode loopMode, final int length, final boolean animateBody) {
+        final Animation.Builder builder = Animation.animation()
+                .name(name)
+                .length(length)
+                .loopMode(loopMode)
+                .effectsTimeline(EffectsTimeline.empty().build())
+                .timeline("arm", BoneTimeline.boneTimeline()
+                        .positions(timeline(Vector3Float.ZERO, Vector3Float.ZERO, length))
+                        .rotations(timeline(Vector3Float.ZERO, new Vector3Float(-45, 0, 0), length))
+                        .scales(timeline(Vector3Float.ONE, new Vector3Float(2, 2, 2), length))
+                        .build());
+        if (animateBody) {
+            builder.timeline("body", BoneTimeline.boneTimeline()
+                    .positions(timeline(Vector3Float.ZERO, new Vector3Float(0, 1, 0), length))
+                    .rotations(timeline(Vector3Float.ZERO, new Vector3Float(0, 90, 0), length))
+                    .scales(timeline(Vector3Float.ONE, Vector3Float.ONE, length))
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private static Model model() {
+        final Map<String, Bone> children = new LinkedHashMap<>();
+        children.put("arm", new Bone("arm", new Vector3Float(1, 0, 0), Vector3Float.ZERO, Map.of(), 2, 1, false));
+        final Map<String, Bone> bones = new LinkedHashMap<>();
+        bones.put("body", new Bone("body", Vector3Float.ZERO, Vector3Float.ZERO, children, 1, 1, false));
+
+        final Map<String, Animation> animations = new LinkedHashMap<>();
+        for (final Animation animation : List.of(
+                animation("walk", Animation.LoopMode.LOOP, 13, true),
+                animation("wave", Animation.LoopMode.ONCE, 7, true),
+                animation("pose", Animation.LoopMode.HOLD, 5, true),
+                animation("point", Animation.LoopMode.LOOP, 9, false)
+        )) {
+            animations.put(animation.name(), animation);
+        }
+        return new Model("test", bones, null, null, animations);
+    }
+
+    @Test
+    void test_skip_matches_ticks() {
+        final Model model = model();
+        for (final String name : List.of("walk", "wave", "pose")) {
+            for (int skipped = 0; skipped < 40; skipped += 3) {
+                final RecordingView ticked = new RecordingView(model);
+                final RecordingView skipping = new RecordingView(model);
+                ticked.animationPlayer().add(model.animations().get("walk"));
+                skipping.animationPlayer().add(model.animations().get("walk"));
+                ticked.animationPlayer().tick();
+                skipping.animationPlayer().tick();
+
+                ticked.animationPlayer().add(model.animations().get(name), 4);
+                skipping.animationPlayer().add(model.animations().get(name), 4);
+                for (int i = 0; i < skipped; i++) {
+                    ticked.animationPlayer().tick();
+                }
+                skipping.animationPlayer().skip(Quaternion.IDENTITY, Vector3Float.ZERO, skipped);
+
+                ticked.animationPlayer().tick();
+                skipping.animationPlayer().tick();
+                ticked.assertSamePose(skipping);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RecordingView(model).animationPlayer().skip(Quaternion.IDENTITY, Vector3Float.ZERO, -1));
+    }
+
+    @Test
+    void test_skip_loops_by_period() {
+        final Model model = model();
+        final RecordingView ticked = new RecordingView(model);
+        final RecordingView skipping = new RecordingView(model);
+        for (final RecordingView view : List.of(ticked, skipping)) {
+            view.animationPlayer().add(model.animations().get("walk"));
+            view.animationPlayer().tick();
+            view.animationPlayer().add(model.animations().get("point"), 4);
+            view.animationPlayer().tick();
+        }
+
+        // the transition is skipped first, then whole loops of 'point'
+        final int skipped = 9 * 997 + 5;
+        for (int i = 0; i < skipped; i++) {
+            ticked.animationPlayer().tick();
+        }
+        skipping.animationPlayer().skip(Quaternion.IDENTITY, Vector3Float.ZERO, skipped);
+
+        for (int i = 0; i < 9; i++) {
+            ticked.animationPlayer().tick();
+            skipping.animationPlayer().tick();
+            ticked.assertSamePose(skipping);
+        }
+    }
+
+    @Test
+    void test_frames_are_read_without_allocating() {
+        final Animation baked = animation("walk", Animation.LoopMode.LOOP, 13, true)
+                .withEvaluationMode(Animation.EvaluationMode.BAKED);
+        // timelines whose object frames can't be used
+        final Animation.Builder builder = Animation.animation()
+                .name("walk")
+                .length(baked.length())
+                .loopMode(baked.loopMode())
+                .effectsTimeline(baked.effectsTimeline());
+        baked.timelines().forEach((name, timeline) -> builder.timeline(name, new BoneTimeline() {
+            @Override
+            public @NotNull Timeline<Vector3Float> positions() {
+                return timeline.positions();
+            }
+
+            @Override
+            public @NotNull Timeline<Vector3Float> rotations() {
+                return timeline.rotations();
+            }
+
+            @Override
+            public @NotNull Timeline<Vector3Float> scales() {
+                return timeline.scales();
+            }
+
+            @Override
+            public @NotNull BoneTimelinePlayhead createPlayhead() {
+                final BoneTimelinePlayhead delegate = timeline.createPlayhead();
+                return new BoneTimelinePlayhead() {
+                    @Override
+                    public int tick() {
+                        return delegate.tick();
+                    }
+
+                    @Override
+                    public BoneFrame next() {
+                        throw new AssertionError("Object frames must not be used by the animation player");
+                    }
+
+                    @Override
+                    public void next(final float @NotNull [] out, final int offset) {
+                        delegate.next(out, offset);
+                    }
+
+                    @Override
+                    public void seek(final int tick) {
+                        delegate.seek(tick);
+                    }
+                };
+            }
+        }));
+        final Animation primitive = builder.build();
+
+        final Model model = model();
+        final RecordingView expected = new RecordingView(model);
+        final RecordingView actual = new RecordingView(model);
+        expected.animationPlayer().add(baked);
+        actual.animationPlayer().add(primitive);
+        for (int i = 0; i < 80; i++) {
+            expected.animationPlayer().tick();
+            actual.animationPlayer().tick();
+            expected.assertSamePose(actual);
+        }
+    }
+
+    @Test
+    void test_default_skip_ticks_frames() {
+        final int[] ticks = { 0 };
+        final Quaternion[] rotations = { null };
+        final AnimationPlayer player = new AnimationPlayer() {
+            @Override
+            public void add(final @NotNull Animation animation, final int transitionTicks) {
+            }
+
+            @Override
+            public void remove(final @NotNull Animation animation) {
+            }
+
+            @Override
+            public @NotNull Collection<Animation> animations() {
+                return List.of();
+            }
+
+            @Override
+            public void clear() {
+            }
+
+            @Override
+            public void tick(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition) {
+                // the model keeps its rotation while skipping
+                assertSame(rotations[0], initialRotation);
+                ticks[0]++;
+            }
+
+            @Override
+            public @NotNull MochaEngine<AbstractModelView<?>> scriptEngine() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        final Quaternion rotation = Quaternion.fromEulerDegrees(new Vector3Float(0, 90, 0));
+        rotations[0] = rotation;
+        player.skip(rotation, Vector3Float.ZERO, 0);
+        assertEquals(0, ticks[0]);
+        player.skip(rotation, Vector3Float.ZERO, 3);
+        assertEquals(3, ticks[0]);
+        assertThrows(IllegalArgumentException.class, () -> player.skip(rotation, Vector3Float.ZERO, -1));
+    }
+
+    @Test
+    void test_settled_pose_is_not_recomputed() {
+        final Model model = model();
+        final RecordingView view = new RecordingView(model);
+
+        view.animationPlayer().add(model.animations().get("wave"));
+        for (int i = 0; i < 10; i++) {
+            view.animationPlayer().tick();
+        }
+
+        // the animation ended, the pose is computed once more and then settles
+        final int updates = view.updates;
+        view.animationPlayer().tick();
+        view.animationPlayer().tick();
+        assertEquals(updates, view.updates);
+
+        // changing the root transform recomputes the pose
+        view.animationPlayer().tick(Quaternion.IDENTITY, new Vector3Float(0, 1, 0));
+        assertEquals(updates + 2, view.updates);
+        view.animationPlayer().tick(Quaternion.IDENTITY, new Vector3Float(0, 1, 0));
+        assertEquals(updates + 2, view.updates);
+
+        // and so does adding an animation
+        view.animationPlayer().add(model.animations().get("walk"));
+        view.animationPlayer().tick(Quaternion.IDENTITY, new Vector3Float(0, 1, 0));
+        view.animationPlayer().tick(Quaternion.IDENTITY, new Vector3Float(0, 1, 0));
+        assertTrue(view.updates > updates + 2);
+    }
+
+    @Test
+    void test_static_bones_are_not_recomputed() {
+        final Model model = model();
+        final RecordingView view = new RecordingView(model);
+
+        view.animationPlayer().add(model.animations().get("point"));
+        view.animationPlayer().tick();
+        final RecordingView.RecordingBone body = view.bones.get("body");
+        final Vector3Float bodyPosition = body.position;
+        final int updates = view.updates;
+
+        // only the arm is animated
+        for (int i = 0; i < 5; i++) {
+            view.animationPlayer().tick();
+        }
+        assertEquals(updates + 5, view.updates);
+        assertSame(bodyPosition, body.position);
+
+        // moving the root moves the whole hierarchy
+        view.animationPlayer().tick(Quaternion.IDENTITY, new Vector3Float(1, 0, 0));
+        assertEquals(updates + 7, view.updates);
+        assertEquals(new Vector3Float(1, 0, 0), body.position);
+
+        // static bones with modifiers are updated every tick
+        body.configure(OFFSET, modifier -> modifier.offset = 2);
+        view.animationPlayer().tick(Quaternion.IDENTITY, new Vector3Float(1, 0, 0));
+        assertEquals(updates + 9, view.updates);
+        assertEquals(new Vector3Float(1, 2, 0), body.position);
+    }
+
+    @Test
+    void test_modified_bones_follow_modifier_state() {
+        final Model model = model();
+
+        // a static bone, "point" doesn't animate the body
+        final RecordingView pointing = new RecordingView(model);
+        pointing.animationPlayer().add(model.animations().get("point"));
+        assertFollowsOffset(pointing, 0, 12);
+
+        // a settled pose, "wave" ends after 7 ticks
+        final RecordingView waving = new RecordingView(model);
+        waving.animationPlayer().add(model.animations().get("wave"));
+        for (int i = 0; i < 10; i++) {
+            waving.animationPlayer().tick();
+        }
+        assertFollowsOffset(waving, 10, 20);
+    }
+
+    // changes the body offset every tick, e.g. like a head rotation following an entity
+    private static void assertFollowsOffset(final RecordingView view, final int from, final int to) {
+        final RecordingView.RecordingBone body = view.bones.get("body");
+        for (int tick = from; tick < to; tick++) {
+            final float offset = tick;
+            body.configure(OFFSET, modifier -> modifier.offset = offset);
+            view.animationPlayer().tick();
+            assertEquals(new Vector3Float(0, offset, 0), body.position);
+        }
+    }
+
+    @Test
+    void test_quaternion_rotations_follow_bone_rotation() {
+        // single axis rotations, so both rotation modes give the same pose
+        final Model[] models = new Model[2];
+        final BoneTimeline.RotationMode[] modes = { BoneTimeline.RotationMode.EULER, BoneTimeline.RotationMode.SLERP };
+        for (int i = 0; i < modes.length; i++) {
+            final Animation turn = Animation.animation()
+                    .name("turn")
+                    .length(11)
+                    .loopMode(Animation.LoopMode.HOLD)
+                    .effectsTimeline(EffectsTimeline.empty().build())
+                    .timeline("body", BoneTimeline.boneTimeline()
+                            .positions(timeline(Vector3Float.ZERO, Vector3Float.ZERO, 11))
+                            .rotations(timeline(Vector3Float.ZERO, new Vector3Float(0, 0, 60), 11))
+                            .scales(timeline(Vector3Float.ONE, Vector3Float.ONE, 11))
+                            .rotationMode(modes[i])
+                            .build())
+                    .build();
+            final Map<String, Bone> children = new LinkedHashMap<>();
+            children.put("arm", new Bone("arm", new Vector3Float(1, 0, 0), new Vector3Float(0, 0, -15), Map.of(), 2, 1, false));
+            final Map<String, Bone> bones = new LinkedHashMap<>();
+            bones.put("body", new Bone("body", Vector3Float.ZERO, new Vector3Float(0, 0, 30), children, 1, 1, false));
+            models[i] = new Model("test", bones, null, null, Map.of("turn", turn));
+        }
+
+        final RecordingView euler = new RecordingView(models[0]);
+        final RecordingView quaternion = new RecordingView(models[1]);
+        euler.animationPlayer().add(models[0].animations().get("turn"));
+        quaternion.animationPlayer().add(models[1].animations().get("turn"));
+        for (int tick = 0; tick < 12; tick++) {
+            euler.animationPlayer().tick();
+            quaternion.animationPlayer().tick();
+            for (final String name : List.of("body", "arm")) {
+                final RecordingView.RecordingBone expected = euler.bones.get(name);
+                final RecordingView.RecordingBone actual = quaternion.bones.get(name);
+                assertVectorEquals(expected.position, actual.position, 0.0001);
+                assertQuaternionEquals(expected.rotation, actual.rotation, 0.0001);
+            }
+        }
+    }
+
+    @Test
+    void test_shared_poses_match_evaluated_poses() {
+        final Model model = model();
+        final PoseCache cache = PoseCache.create();
+        final RecordingView evaluated = new RecordingView(model);
+        final RecordingView first = new RecordingView(model, cache);
+        final RecordingView second = new RecordingView(model, cache);
+        final Quaternion rotation = Quaternion.fromEulerDegrees(new Vector3Float(0, 30, 0));
+
+        for (final RecordingView view : List.of(evaluated, first, second)) {
+            view.animationPlayer().add(model.animations().get("walk"));
+        }
+        for (int i = 0; i < 80; i++) {
+            final Vector3Float position = new Vector3Float(i, 2, 0);
+            evaluated.animationPlayer().tick(rotation, position);
+            first.animationPlayer().tick(rotation, position);
+            second.animationPlayer().tick(Quaternion.IDENTITY, Vector3Float.ZERO);
+            evaluated.assertSimilarPose(first);
+        }
+        // every tick but the last one of the loop is shared
+        assertEquals(12, cache.size());
+
+        // switching animations evaluates the poses again
+        evaluated.animationPlayer().add(model.animations().get("wave"), 3);
+        first.animationPlayer().add(model.animations().get("wave"), 3);
+        for (int i = 0; i < 12; i++) {
+            evaluated.animationPlayer().tick(rotation, Vector3Float.ZERO);
+            first.animationPlayer().tick(rotation, Vector3Float.ZERO);
+            evaluated.assertSimilarPose(first);
+        }
+    }
+
+    @Test
+    void test_pose_cache_evicts_least_recently_used_animations() {
+        final Model model = model();
+        final PoseCache cache = PoseCache.create(1);
+        final RecordingView evaluated = new RecordingView(model);
+        final RecordingView walking = new RecordingView(model, cache);
+        final RecordingView posing = new RecordingView(model, cache);
+
+        evaluated.animationPlayer().add(model.animations().get("walk"));
+        walking.animationPlayer().add(model.animations().get("walk"));
+        for (int i = 0; i < 6; i++) {
+            evaluated.animationPlayer().tick();
+            walking.animationPlayer().tick();
+        }
+        assertEquals(6, cache.size());
+
+        // only the poses of the last animation are kept
+        posing.animationPlayer().add(model.animations().get("pose"));
+        for (int i = 0; i < 3; i++) {
+            posing.animationPlayer().tick();
+        }
+        assertEquals(3, cache.size());
+
+        // players keep playing evicted animations
+        for (int i = 0; i < 20; i++) {
+            evaluated.animationPlayer().tick();
+            walking.animationPlayer().tick();
+            evaluated.assertSimilarPose(walking);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PoseCache.create(0));
+    }
+
+    @Test
+    void test_phase_buckets_delay_start() {
+        final Model model = model();
+        final AtomicLong clock = new AtomicLong(3);
+        // "walk" is 13 ticks long, two buckets start it every 7 ticks
+        final PoseCache cache = PoseCache.create(2, clock::get);
+        final RecordingView evaluated = new RecordingView(model);
+        final RecordingView first = new RecordingView(model, cache);
+        final RecordingView second = new RecordingView(model, cache);
+
+        first.animationPlayer().add(model.animations().get("walk"));
+        for (int i = 0; i < 2; i++) {
+            first.animationPlayer().tick();
+            clock.incrementAndGet();
+        }
+        second.animationPlayer().add(model.animations().get("walk"));
+        for (int i = 0; i < 2; i++) {
+            first.animationPlayer().tick();
+            second.animationPlayer().tick();
+            clock.incrementAndGet();
+        }
+
+        // both started at tick 7
+        evaluated.animationPlayer().add(model.animations().get("walk"));
+        for (int i = 0; i < 80; i++) {
+            evaluated.animationPlayer().tick();
+            first.animationPlayer().tick();
+            second.animationPlayer().tick();
+            clock.incrementAndGet();
+            first.assertSamePose(second);
+            evaluated.assertSimilarPose(first);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PoseCache.create(0, clock::get));
+    }
+
+    // modifier moving bones up, its offset is read when bones are
+    // updated, like modifiers depending on external state
+    private static final BoneModifierType<OffsetModifier> OFFSET = BoneModifierType.create(
+            Key.key("hephaestus", "test_offset"),
+            OffsetModifier.class,
+            bone -> new OffsetModifier()
+    );
+
+    private static final class OffsetModifier implements BoneModifier {
+        private float offset;
+    }
+
+    private static final class RecordingView implements AbstractModelView<Object> {
+        private final Model model;
+        private final Map<String, RecordingBone> bones = new LinkedHashMap<>();
+        private final AnimationPlayer animationPlayer;
+        private int updates;
+
+        RecordingView(final Model model) {
+            this.model = model;
+            collect(model.bones());
+            this.animationPlayer = AnimationPlayer.create(this);
+        }
+
+        RecordingView(final Model model, final PoseCache poseCache) {
+            this.model = model;
+            collect(model.bones());
+            this.animationPlayer = AnimationPlayer.create(this, MochaEngine::createStandard, poseCache);
+        }
+
+        private void collect(final Collection<Bone> bones) {
+            for (final Bone bone : bones) {
+                this.bones.put(bone.name(), new RecordingBone(bone));
+                collect(bone.children());
+            }
+        }
+
+        void assertSamePose(final RecordingView other) {
+            for (final RecordingBone bone : bones.values()) {
+                final RecordingBone otherBone = other.bones.get(bone.bone.name());
+                assertEquals(bone.position, otherBone.position);
+                assertEquals(bone.rotation, otherBone.rotation);
+                assertEquals(bone.scale, otherBone.scale);
+            }
+        }
+
+        // shared poses apply the root transform last, with a different rounding
+        void assertSimilarPose(final RecordingView other) {
+            for (final RecordingBone bone : bones.values()) {
+                final RecordingBone otherBone = other.bones.get(bone.bone.name());
+                assertVectorEquals(bone.position, otherBone.position, 0.0001);
+                assertQuaternionEquivalent(bone.rotation, otherBone.rotation, 0.0001);
+                assertVectorEquals(bone.scale, otherBone.scale, 0.0001);
+            }
+        }
+
+        @Override
+        public @NotNull Model model() {
+            return model;
+        }
+
+        @Override
+        public Collection<Object> viewers() {
+            return List.of();
+        }
+
+        @Override
+        public boolean addViewer(final Object viewer) {
+            return false;
+        }
+
+        @Override
+        public boolean removeViewer(final Object viewer) {
+            return false;
+        }
+
+        @Override
+        public void emitSound(final @NotNull Sound sound) {
+        }
+
+        @Override
+        public Collection<? extends AbstractBoneView> bones() {
+            return bones.values();
+        }
+
+        @Override
+        public @Nullable AbstractBoneView bone(final String name) {
+            return bones.get(name);
+        }
+
+        @Override
+        public @NotNull AnimationPlayer animationPlayer() {
+            return animationPlayer;
+        }
+
+        @Override
+        public @NotNull LodPolicy lodPolicy() {
+            return LodPolicy.none();
+        }
+
+        @Override
+        public void lodPolicy(final @NotNull LodPolicy lodPolicy) {
+            throw new UnsupportedOperationException();
+        }
+
+        private final class RecordingBone implements AbstractBoneView, BoneModifierMap.Forwarding {
+            private final Bone bone;
+            private final BoneModifierMap modifiers = BoneModifierMap.create(this);
+            private Vector3Float position;
+            private Quaternion rotation;
+            private Vector3Float scale;
+
+            RecordingBone(final Bone bone) {
+                this.bone = bone;
+            }
+
+            @Override
+            public @NotNull Bone bone() {
+                return bone;
+            }
+
+            @Override
+            public @NotNull BoneModifierMap modifiers() {
+                return modifiers;
+            }
+
+            @Override
+            public void colorize(final int red, final int green, final int blue) {
+            }
+
+            @Override
+            public void update(final @NotNull Vector3Float position, final @NotNull Quaternion rotation, final @NotNull Vector3Float scale) {
+                final OffsetModifier offset = getModifier(OFFSET);
+                this.position = offset == null ? position : position.add(0, offset.offset, 0);
+                this.rotation = rotation;
+                this.scale = scale;
+                updates++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.util.Quaternion;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertQuaternionEquals;
+import static team.unnamed.hephaestus.util.StructureAssertEquals.assertVectorEquals;
+
+class PoseKernelTest {
+
+    private static final int CAPACITY = 37;
+
+    private static PoseBatch randomBatch(final Random random) {
+        final PoseBatch batch = new PoseBatch(CAPACITY);
+        for (int i = 0; i < CAPACITY; i++) {
+            final Quaternion rotation = Quaternion.fromEulerDegrees(new Vector3Float(
+                    random.nextFloat() * 360 - 180,
+                    random.nextFloat() * 360 - 180,
+                    random.nextFloat() * 360 - 180
+            ));
+            batch.position(i, random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2);
+            batch.rotation(i, (float) rotation.x(), (float) rotation.y(), (float) rotation.z(), (float) rotation.w());
+            batch.scale(i, random.nextFloat() + 0.5F, random.nextFloat() + 0.5F, random.nextFloat() + 0.5F);
+        }
+        return batch;
+    }
+
+    private static void assertSameBatch(final PoseBatch expected, final PoseBatch actual) {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertVectorEquals(expected.position(i), actual.position(i), 0.00001);
+            assertQuaternionEquals(expected.rotation(i), actual.rotation(i), 0.00001);
+            assertVectorEquals(expected.scale(i), actual.scale(i), 0.00001);
+        }
+    }
+
+    @Test
+    void test_compose() {
+        final PoseBatch parents = new PoseBatch(1);
+        final PoseBatch locals = new PoseBatch(1);
+        final PoseBatch out = new PoseBatch(1);
+        final Quaternion rotation = Quaternion.fromEulerDegrees(new Vector3Float(0, 0, 90));
+        parents.position(0, 1, 0, 0);
+        parents.rotation(0, (float) rotation.x(), (float) rotation.y(), (float) rotation.z(), (float) rotation.w());
+        parents.scale(0, 2, 2, 2);
+        locals.position(0, 1, 0, 0);
+
+        for (final PoseKernel kernel : new PoseKernel[] { PoseKernel.scalar(), PoseKernel.kernel() }) {
+            kernel.compose(parents, locals, out, 0, 1);
+            assertVectorEquals(new Vector3Float(1, 2, 0), out.position(0), 0.00001);
+            assertQuaternionEquals(rotation, out.rotation(0), 0.00001);
+            assertVectorEquals(new Vector3Float(2, 2, 2), out.scale(0), 0.00001);
+        }
+    }
+
+    @Test
+    void test_kernel_matches_scalar() {
+        final Random random = new Random(42);
+        final PoseBatch parents = randomBatch(random);
+        final PoseBatch locals = randomBatch(random);
+        final PoseKernel kernel = PoseKernel.kernel();
+        assertFalse(PoseKernel.scalar().vectorized());
+        assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), kernel.vectorized());
+
+        // odd offsets and counts, so that partial vectors are used
+        for (final int offset : new int[] { 0, 3 }) {
+            for (final int count : new int[] { 1, 7, CAPACITY - offset }) {
+                final PoseBatch expected = randomBatch(new Random(count));
+                final PoseBatch actual = randomBatch(new Random(count));
+                PoseKernel.scalar().compose(parents, locals, expected, offset, count);
+                kernel.compose(parents, locals, actual, offset, count);
+                assertSameBatch(expected, actual);
+
+                PoseKernel.scalar().interpolate(parents, locals, 0.3F, expected, offset, count);
+                kernel.interpolate(parents, locals, 0.3F, actual, offset, count);
+                assertSameBatch(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void test_interpolate_takes_shortest_path() {
+        final PoseBatch from = new PoseBatch(1);
+        final PoseBatch to = new PoseBatch(1);
+        final PoseBatch out = new PoseBatch(1);
+        final Quaternion rotation = Quaternion.fromEulerDegrees(new Vector3Float(0, 90, 0));
+        final Quaternion halfway = Quaternion.fromEulerDegrees(new Vector3Float(0, 45, 0));
+        // same as the identity rotation
+        from.rotation(0, 0, 0, 0, -1);
+        to.rotation(0, (float) rotation.x(), (float) rotation.y(), (float) rotation.z(), (float) rotation.w());
+        to.position(0, 2, 4, 6);
+
+        for (final PoseKernel kernel : new PoseKernel[] { PoseKernel.scalar(), PoseKernel.kernel() }) {
+            kernel.interpolate(from, to, 0.5F, out, 0, 1);
+            assertVectorEquals(new Vector3Float(1, 2, 3), out.position(0), 0.00001);
+            assertEquals(1, Math.abs(halfway.dot(out.rotation(0))), 0.00001);
+        }
+    }
+
+}
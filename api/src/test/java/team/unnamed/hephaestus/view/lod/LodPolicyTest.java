@@ -0,0 +1,58 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.view.lod;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LodPolicyTest {
+
+    @Test
+    void test_none() {
+        assertEquals(1, LodPolicy.none().tickInterval(null, 0));
+        assertEquals(1, LodPolicy.none().tickInterval(null, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void test_distance_based() {
+        final LodPolicy policy = LodPolicy.distanceBased(16, 8);
+        assertEquals(1, policy.tickInterval(null, 0));
+        assertEquals(1, policy.tickInterval(null, 16));
+        assertEquals(2, policy.tickInterval(null, 16.5));
+        assertEquals(2, policy.tickInterval(null, 32));
+        assertEquals(4, policy.tickInterval(null, 64));
+        assertEquals(8, policy.tickInterval(null, 65));
+        assertEquals(8, policy.tickInterval(null, 1000));
+        assertEquals(8, policy.tickInterval(null, Double.POSITIVE_INFINITY));
+
+        // max interval doesn't need to be a power of two
+        assertEquals(3, LodPolicy.distanceBased(10, 3).tickInterval(null, 100));
+
+        assertThrows(IllegalArgumentException.class, () -> LodPolicy.distanceBased(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> LodPolicy.distanceBased(16, 0));
+    }
+
+}
@@ -0,0 +1,342 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.view.tick;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.sound.Sound;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.Bone;
+import team.unnamed.hephaestus.Model;
+import team.unnamed.hephaestus.animation.Animation;
+import team.unnamed.hephaestus.animation.controller.AnimationPlayer;
+import team.unnamed.hephaestus.animation.interpolation.Interpolators;
+import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
+import team.unnamed.hephaestus.animation.timeline.effect.EffectsTimeline;
+import team.unnamed.hephaestus.util.Quaternion;
+import team.unnamed.hephaestus.view.AbstractBoneView;
+import team.unnamed.hephaestus.view.AbstractModelView;
+import team.unnamed.hephaestus.view.lod.LodPolicy;
+import team.unnamed.hephaestus.view.modifier.BoneModifierMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelTickSchedulerTest {
+
+    @Test
+    void test_tick_evaluates_then_commits() {
+        final List<CountingView> committed = new ArrayList<>();
+
+        try (final ModelTickScheduler scheduler = ModelTickScheduler.create(4, view -> {
+            final CountingView countingView = (CountingView) view;
+            // every view is evaluated before any view is committed
+            assertEquals(1, countingView.ticks);
+            committed.add(countingView);
+        })) {
+            final List<CountingView> views = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final CountingView view = new CountingView();
+                views.add(view);
+                assertTrue(scheduler.register(view));
+                assertFalse(scheduler.register(view));
+            }
+
+            scheduler.tick();
+
+            assertEquals(200, committed.size());
+            for (final CountingView view : views) {
+                assertEquals(1, view.ticks);
+                assertTrue(committed.contains(view));
+            }
+
+            // unregistered views are no longer ticked
+            assertTrue(scheduler.unregister(views.get(0)));
+            assertFalse(scheduler.unregister(views.get(0)));
+            committed.clear();
+            scheduler.tick(view -> ((CountingView) view).ticks = 1);
+            assertEquals(199, committed.size());
+            assertFalse(committed.contains(views.get(0)));
+        }
+    }
+
+    @Test
+    void test_evaluation_does_not_touch_platform_state() {
+        final Timeline<Vector3Float> rotations = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .keyFrame(0, Vector3Float.ZERO)
+                .keyFrame(3, new Vector3Float(0, 90, 0))
+                .build();
+        final Timeline<Vector3Float> positions = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ZERO)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .build();
+        final Timeline<Vector3Float> scales = Timeline.<Vector3Float>timeline()
+                .initial(Vector3Float.ONE)
+                .defaultInterpolator(Interpolators.lerpVector3Float())
+                .build();
+        final Animation animation = Animation.animation()
+                .name("spin")
+                .length(4)
+                .loopMode(Animation.LoopMode.LOOP)
+                .effectsTimeline(EffectsTimeline.effectsTimeline()
+                        .sounds(Map.of(0, List.of(Sound.sound(Key.key("minecraft", "entity.pig.ambient"), Sound.Source.AMBIENT, 1F, 1F))))
+                        .instructions(Map.of())
+                        .build())
+                .timeline("body", BoneTimeline.boneTimeline()
+                        .positions(positions)
+                        .rotations(rotations)
+                        .scales(scales)
+                        .build())
+                .build();
+        final Model model = new Model(
+                "test",
+                Map.of("body", new Bone("body", Vector3Float.ZERO, Vector3Float.ZERO, Map.of(), 1, 1, false)),
+                null,
+                null,
+                Map.of("spin", animation)
+        );
+
+        final Thread tickingThread = Thread.currentThread();
+        final Queue<String> violations = new ConcurrentLinkedQueue<>();
+        final List<PlatformView> views = new ArrayList<>();
+        try (final ModelTickScheduler scheduler = ModelTickScheduler.create(4, view -> ((PlatformView) view).commit())) {
+            for (int i = 0; i < 64; i++) {
+                final PlatformView view = new PlatformView(model, tickingThread, violations);
+                view.animationPlayer().add(animation);
+                views.add(view);
+                scheduler.register(view);
+            }
+
+            for (int i = 0; i < 8; i++) {
+                scheduler.tick();
+            }
+        }
+
+        assertEquals(List.of(), List.copyOf(violations), "Platform state touched while evaluating");
+        for (final PlatformView view : views) {
+            assertTrue(view.updates > 0);
+            assertTrue(view.playedSounds > 0);
+        }
+    }
+
+    @Test
+    void test_closed() {
+        final ModelTickScheduler scheduler = ModelTickScheduler.create(1);
+        scheduler.register(new CountingView());
+        scheduler.close();
+        assertTrue(scheduler.views().isEmpty());
+        assertThrows(IllegalStateException.class, scheduler::tick);
+        assertThrows(IllegalArgumentException.class, () -> ModelTickScheduler.create(0));
+    }
+
+    // A view whose platform state can only be accessed from the ticking
+    // thread, and that defers sounds to the commit phase like platforms do
+    private static final class PlatformView implements AbstractModelView<Object> {
+        private final Model model;
+        private final Thread tickingThread;
+        private final Queue<String> violations;
+        private final PlatformBone body;
+        private final AnimationPlayer animationPlayer;
+        private final Queue<Sound> pendingSounds = new ConcurrentLinkedQueue<>();
+        private volatile int updates;
+        private int playedSounds;
+
+        PlatformView(final Model model, final Thread tickingThread, final Queue<String> violations) {
+            this.model = model;
+            this.tickingThread = tickingThread;
+            this.violations = violations;
+            this.body = new PlatformBone(model.bones().iterator().next());
+            this.animationPlayer = AnimationPlayer.create(this);
+        }
+
+        private void platform(final String method) {
+            if (Thread.currentThread() != tickingThread) {
+                violations.add(method + " from " + Thread.currentThread().getName());
+            }
+        }
+
+        void commit() {
+            platform("commit");
+            Sound sound;
+            while ((sound = pendingSounds.poll()) != null) {
+                playedSounds++;
+            }
+        }
+
+        @Override
+        public @NotNull Model model() {
+            return model;
+        }
+
+        @Override
+        public Collection<Object> viewers() {
+            platform("viewers");
+            return List.of();
+        }
+
+        @Override
+        public boolean addViewer(final Object viewer) {
+            platform("addViewer");
+            return false;
+        }
+
+        @Override
+        public boolean removeViewer(final Object viewer) {
+            platform("removeViewer");
+            return false;
+        }
+
+        @Override
+        public void emitSound(final @NotNull Sound sound) {
+            pendingSounds.add(sound);
+        }
+
+        @Override
+        public Collection<? extends AbstractBoneView> bones() {
+            return List.of(body);
+        }
+
+        @Override
+        public @Nullable AbstractBoneView bone(final String name) {
+            return body.bone().name().equals(name) ? body : null;
+        }
+
+        @Override
+        public @NotNull AnimationPlayer animationPlayer() {
+            return animationPlayer;
+        }
+
+        @Override
+        public @NotNull LodPolicy lodPolicy() {
+            return LodPolicy.none();
+        }
+
+        @Override
+        public void lodPolicy(final @NotNull LodPolicy lodPolicy) {
+            platform("lodPolicy");
+        }
+
+        private final class PlatformBone implements AbstractBoneView, BoneModifierMap.Forwarding {
+            private final Bone bone;
+            private final BoneModifierMap modifiers = BoneModifierMap.create(this);
+
+            PlatformBone(final Bone bone) {
+                this.bone = bone;
+            }
+
+            @Override
+            public @NotNull Bone bone() {
+                return bone;
+            }
+
+            @Override
+            public @NotNull BoneModifierMap modifiers() {
+                return modifiers;
+            }
+
+            @Override
+            public void colorize(final int red, final int green, final int blue) {
+                platform("colorize");
+            }
+
+            @Override
+            public void update(final @NotNull Vector3Float position, final @NotNull Quaternion rotation, final @NotNull Vector3Float scale) {
+                updates++;
+            }
+        }
+    }
+
+    private static final class CountingView implements AbstractModelView<Object> {
+        private int ticks;
+
+        @Override
+        public void tickAnimations() {
+            ticks++;
+        }
+
+        @Override
+        public @NotNull Model model() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<Object> viewers() {
+            return List.of();
+        }
+
+        @Override
+        public boolean addViewer(final Object viewer) {
+            return false;
+        }
+
+        @Override
+        public boolean removeViewer(final Object viewer) {
+            return false;
+        }
+
+        @Override
+        public void emitSound(final @NotNull Sound sound) {
+        }
+
+        @Override
+        public Collection<? extends AbstractBoneView> bones() {
+            return List.of();
+        }
+
+        @Override
+        public @Nullable AbstractBoneView bone(final String name) {
+            return null;
+        }
+
+        @Override
+        public @NotNull AnimationPlayer animationPlayer() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NotNull LodPolicy lodPolicy() {
+            return LodPolicy.none();
+        }
+
+        @Override
+        public void lodPolicy(final @NotNull LodPolicy lodPolicy) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.animation.controller;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link PoseKernel} implementation using the incubating Vector API,
+ * processes as many transforms per instruction as the preferred
+ * vector species fits. Same operations, in the same order, as
+ * {@link ScalarPoseKernel}.
+ *
+ * <p>Must only be loaded if the {@code jdk.incubator.vector} module
+ * is available, see {@link PoseKernels}</p>
+ */
+final class VectorPoseKernel implements PoseKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    VectorPoseKernel() {
+    }
+
+    @Override
+    public boolean vectorized() {
+        return true;
+    }
+
+    @Override
+    public void compose(
+            final @NotNull PoseBatch parents,
+            final @NotNull PoseBatch locals,
+            final @NotNull PoseBatch out,
+            final int offset,
+            final int count
+    ) {
+        final int end = offset + count;
+        final int bound = offset + SPECIES.loopBound(count);
+        final VectorMask<Float> all = SPECIES.maskAll(true);
+        int i = offset;
+        for (; i < bound; i += SPECIES.length()) {
+            compose(parents, locals, out, i, all);
+        }
+        if (i < end) {
+            compose(parents, locals, out, i, SPECIES.indexInRange(i, end));
+        }
+    }
+
+    private static void compose(
+            final @NotNull PoseBatch parents,
+            final @NotNull PoseBatch locals,
+            final @NotNull PoseBatch out,
+            final int i,
+            final @NotNull VectorMask<Float> mask
+    ) {
+        final FloatVector x = load(parents.rotationX, i, mask);
+        final FloatVector y = load(parents.rotationY, i, mask);
+        final FloatVector z = load(parents.rotationZ, i, mask);
+        final FloatVector w = load(parents.rotationW, i, mask);
+
+        // scale
+        final FloatVector scaleX = load(parents.scaleX, i, mask).mul(load(locals.scaleX, i, mask));
+        final FloatVector scaleY = load(parents.scaleY, i, mask).mul(load(locals.scaleY, i, mask));
+        final FloatVector scaleZ = load(parents.scaleZ, i, mask).mul(load(locals.scaleZ, i, mask));
+
+        // position
+        final FloatVector vx = load(locals.positionX, i, mask).mul(scaleX);
+        final FloatVector vy = load(locals.positionY, i, mask).mul(scaleY);
+        final FloatVector vz = load(locals.positionZ, i, mask).mul(scaleZ);
+        final FloatVector xx = x.mul(x), xy = x.mul(y), xz = x.mul(z), xw = x.mul(w);
+        final FloatVector yy = y.mul(y), yz = y.mul(z), yw = y.mul(w);
+        final FloatVector zz = z.mul(z), zw = z.mul(w);
+        final FloatVector positionX = oneMinusTwice(yy.add(zz)).mul(vx)
+                .add(twice(xy.sub(zw)).mul(vy))
+                .add(twice(xz.add(yw)).mul(vz))
+                .add(load(parents.positionX, i, mask));
+        final FloatVector positionY = twice(xy.add(zw)).mul(vx)
+                .add(oneMinusTwice(xx.add(zz)).mul(vy))
+                .add(twice(yz.sub(xw)).mul(vz))
+                .add(load(parents.positionY, i, mask));
+        final FloatVector positionZ = twice(xz.sub(yw)).mul(vx)
+                .add(twice(yz.add(xw)).mul(vy))
+                .add(oneMinusTwice(xx.add(yy)).mul(vz))
+                .add(load(parents.positionZ, i, mask));
+
+        // rotation
+        final FloatVector bx = load(locals.rotationX, i, mask);
+        final FloatVector by = load(locals.rotationY, i, mask);
+        final FloatVector bz = load(locals.rotationZ, i, mask);
+        final FloatVector bw = load(locals.rotationW, i, mask);
+        x.mul(bw).add(w.mul(bx)).add(y.mul(bz)).sub(z.mul(by)).intoArray(out.rotationX, i, mask);
+        y.mul(bw).add(w.mul(by)).add(z.mul(bx)).sub(x.mul(bz)).intoArray(out.rotationY, i, mask);
+        z.mul(bw).add(w.mul(bz)).add(x.mul(by)).sub(y.mul(bx)).intoArray(out.rotationZ, i, mask);
+        w.mul(bw).sub(x.mul(bx)).sub(y.mul(by)).sub(z.mul(bz)).intoArray(out.rotationW, i, mask);
+
+        positionX.intoArray(out.positionX, i, mask);
+        positionY.intoArray(out.positionY, i, mask);
+        positionZ.intoArray(out.positionZ, i, mask);
+        scaleX.intoArray(out.scaleX, i, mask);
+        scaleY.intoArray(out.scaleY, i, mask);
+        scaleZ.intoArray(out.scaleZ, i, mask);
+    }
+
+    @Override
+    public void interpolate(
+            final @NotNull PoseBatch from,
+            final @NotNull PoseBatch to,
+            final float progress,
+            final @NotNull PoseBatch out,
+            final int offset,
+            final int count
+    ) {
+        final int end = offset + count;
+        final int bound = offset + SPECIES.loopBound(count);
+        final VectorMask<Float> all = SPECIES.maskAll(true);
+        int i = offset;
+        for (; i < bound; i += SPECIES.length()) {
+            interpolate(from, to, progress, out, i, all);
+        }
+        if (i < end) {
+            interpolate(from, to, progress, out, i, SPECIES.indexInRange(i, end));
+        }
+    }
+
+    private static void interpolate(
+            final @NotNull PoseBatch from,
+            final @NotNull PoseBatch to,
+            final float progress,
+            final @NotNull PoseBatch out,
+            final int i,
+            final @NotNull VectorMask<Float> mask
+    ) {
+        lerp(from.positionX, to.positionX, progress, out.positionX, i, mask);
+        lerp(from.positionY, to.positionY, progress, out.positionY, i, mask);
+        lerp(from.positionZ, to.positionZ, progress, out.positionZ, i, mask);
+        lerp(from.scaleX, to.scaleX, progress, out.scaleX, i, mask);
+        lerp(from.scaleY, to.scaleY, progress, out.scaleY, i, mask);
+        lerp(from.scaleZ, to.scaleZ, progress, out.scaleZ, i, mask);
+
+        final FloatVector ax = load(from.rotationX, i, mask);
+        final FloatVector ay = load(from.rotationY, i, mask);
+        final FloatVector az = load(from.rotationZ, i, mask);
+        final FloatVector aw = load(from.rotationW, i, mask);
+        FloatVector bx = load(to.rotationX, i, mask);
+        FloatVector by = load(to.rotationY, i, mask);
+        FloatVector bz = load(to.rotationZ, i, mask);
+        FloatVector bw = load(to.rotationW, i, mask);
+
+        // take the shortest path
+        final VectorMask<Float> opposite = ax.mul(bx).add(ay.mul(by)).add(az.mul(bz)).add(aw.mul(bw))
+                .compare(VectorOperators.LT, 0F);
+        bx = bx.lanewise(VectorOperators.NEG, opposite);
+        by = by.lanewise(VectorOperators.NEG, opposite);
+        bz = bz.lanewise(VectorOperators.NEG, opposite);
+        bw = bw.lanewise(VectorOperators.NEG, opposite);
+
+        final FloatVector x = ax.add(bx.sub(ax).mul(progress));
+        final FloatVector y = ay.add(by.sub(ay).mul(progress));
+        final FloatVector z = az.add(bz.sub(az).mul(progress));
+        final FloatVector w = aw.add(bw.sub(aw).mul(progress));
+        final FloatVector inverseLength = FloatVector.broadcast(SPECIES, 1F)
+                .div(x.mul(x).add(y.mul(y)).add(z.mul(z)).add(w.mul(w)).sqrt());
+        x.mul(inverseLength).intoArray(out.rotationX, i, mask);
+        y.mul(inverseLength).intoArray(out.rotationY, i, mask);
+        z.mul(inverseLength).intoArray(out.rotationZ, i, mask);
+        w.mul(inverseLength).intoArray(out.rotationW, i, mask);
+    }
+
+    private static void lerp(
+            final float @NotNull [] from,
+            final float @NotNull [] to,
+            final float progress,
+            final float @NotNull [] out,
+            final int i,
+            final @NotNull VectorMask<Float> mask
+    ) {
+        final FloatVector value = load(from, i, mask);
+        value.add(load(to, i, mask).sub(value).mul(progress)).intoArray(out, i, mask);
+    }
+
+    private static @NotNull FloatVector load(final float @NotNull [] array, final int i, final @NotNull VectorMask<Float> mask) {
+        return FloatVector.fromArray(SPECIES, array, i, mask);
+    }
+
+    // 2 * value
+    private static @NotNull FloatVector twice(final @NotNull FloatVector value) {
+        return value.mul(2F);
+    }
+
+    // 1 - 2 * value
+    private static @NotNull FloatVector oneMinusTwice(final @NotNull FloatVector value) {
+        return value.mul(2F).neg().add(1F);
+    }
+}
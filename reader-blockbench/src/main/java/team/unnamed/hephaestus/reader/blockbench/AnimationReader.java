@@ -29,15 +29,19 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Vector3Float;
 import team.unnamed.hephaestus.animation.Animation;
 import team.unnamed.hephaestus.animation.interpolation.Interpolators;
 import team.unnamed.hephaestus.animation.interpolation.KeyFrameInterpolator;
+import team.unnamed.hephaestus.animation.timeline.CompactTimeline;
 import team.unnamed.hephaestus.animation.timeline.KeyFrame;
 import team.unnamed.hephaestus.animation.timeline.KeyFrameBezierAttachment;
 import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
 import team.unnamed.hephaestus.animation.timeline.Timeline;
+import team.unnamed.hephaestus.animation.timeline.TimelineSimplifier;
 import team.unnamed.hephaestus.animation.timeline.effect.EffectsTimeline;
+import team.unnamed.hephaestus.reader.ModelFormatException;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -46,12 +50,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 public final class AnimationReader {
     
-    private static final int BEZIER_CURVE_DIVISIONS = Integer.getInteger("hephaestus.bezier_divisions", 200);
-    private static final KeyFrameInterpolator<Vector3Float> BEZIER_INTERPOLATOR = Interpolators.bezierVector3Float(BEZIER_CURVE_DIVISIONS);
+    private static final KeyFrameInterpolator<Vector3Float> BEZIER_INTERPOLATOR = Interpolators.bezierVector3Float();
     private static final int TICKS_PER_SECOND = Integer.getInteger("hephaestus.tps", 20);
+    private static final System.Logger LOGGER = System.getLogger("hephaestus");
 
     /**
      * Reads {@link Animation} from the given {@code json}
@@ -59,6 +64,39 @@ public final class AnimationReader {
      * map
      */
     public static Map<String, Animation> readAnimations(JsonObject json) {
+        return readAnimations(json, BBModelReaderOptions.defaults());
+    }
+
+    /**
+     * Reads {@link Animation} from the given {@code json}
+     * object using the given options, logging the amount
+     * of removed keyframes
+     *
+     * @param json The model json object
+     * @param options The reader options
+     */
+    public static Map<String, Animation> readAnimations(JsonObject json, BBModelReaderOptions options) {
+        return readAnimations(json, options, (name, removed) -> {
+            if (removed > 0) {
+                LOGGER.log(System.Logger.Level.INFO, "Removed {0} redundant keyframes from animation ''{1}''", removed, name);
+            }
+        });
+    }
+
+    /**
+     * Reads {@link Animation} from the given {@code json}
+     * object using the given options, removing the keyframes
+     * that can be removed keeping the error under the options
+     * keyframe epsilon
+     *
+     * @param json The model json object
+     * @param options The reader options
+     * @param removedKeyFrames Receives the name of every read animation
+     *                         and the amount of keyframes removed from it
+     * @see TimelineSimplifier
+     */
+    public static Map<String, Animation> readAnimations(JsonObject json, BBModelReaderOptions options, @Nullable ObjIntConsumer<String> removedKeyFrames) {
+        final float keyFrameEpsilon = options.keyFrameEpsilon();
 
         Map<String, Animation> animations = new LinkedHashMap<>();
 
@@ -91,6 +129,7 @@ public final class AnimationReader {
 
             Map<String, BoneTimeline> animators = new HashMap<>();
             EffectsTimeline.Builder effectsTimeline = EffectsTimeline.empty();
+            final int[] removed = new int[1];
 
             for (Map.Entry<String, JsonElement> animatorEntry : animationJson.get("animators")
                     .getAsJsonObject()
@@ -219,26 +258,61 @@ public final class AnimationReader {
                     }
 
                     animators.put(boneName, BoneTimeline.boneTimeline()
-                            .positions(positionsTimeline.build())
-                            .rotations(rotationsTimeline.build())
-                            .scales(scalesTimeline.build())
+                            .positions(store(simplify(positionsTimeline.build(), keyFrameEpsilon, removed), options))
+                            .rotations(store(simplify(rotationsTimeline.build(), keyFrameEpsilon, removed), options))
+                            .scales(store(simplify(scalesTimeline.build(), keyFrameEpsilon, removed), options))
+                            .rotationMode(options.rotationMode())
                             .build()
                     );
                 }
             }
 
+            final EffectsTimeline effects;
+            try {
+                // timeline scripts are parsed here
+                effects = effectsTimeline.build();
+            } catch (final IllegalArgumentException e) {
+                throw new ModelFormatException("Animation '" + name + "' contains an invalid timeline script", e);
+            }
+
             animations.put(name, Animation.animation()
                     .name(name)
                     .length(length)
                     .loopMode(loopMode)
                     .priority(priority)
                     .timelines(animators)
-                    .effectsTimeline(effectsTimeline.build())
+                    .effectsTimeline(effects)
+                    .evaluationMode(options.evaluationMode())
                     .build());
+
+            if (removedKeyFrames != null) {
+                removedKeyFrames.accept(name, removed[0]);
+            }
         }
         return animations;
     }
 
+    private static Timeline<Vector3Float> simplify(final Timeline<Vector3Float> timeline, final float epsilon, final int[] removed) {
+        if (epsilon < 0) {
+            return timeline;
+        }
+        final Timeline<Vector3Float> simplified = TimelineSimplifier.simplify(timeline, epsilon);
+        removed[0] += timeline.keyFrameCount() - simplified.keyFrameCount();
+        return simplified;
+    }
+
+    // keyframes may be stored in primitive arrays instead of objects,
+    // optionally quantizing their values, see CompactTimeline
+    private static Timeline<Vector3Float> store(final Timeline<Vector3Float> timeline, final BBModelReaderOptions options) {
+        if (options.quantizeKeyFrames()) {
+            return CompactTimeline.quantized(timeline);
+        } else if (options.compactKeyFrames()) {
+            return CompactTimeline.compact(timeline);
+        } else {
+            return timeline;
+        }
+    }
+
     private static int getPriority(final JsonObject animationJson) {
         if (!animationJson.has("blend_weight")) {
             return 0;
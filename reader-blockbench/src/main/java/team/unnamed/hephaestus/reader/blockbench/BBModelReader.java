@@ -52,7 +52,20 @@ public interface BBModelReader extends ModelReader {
      * @since 1.0.0
      */
     static @NotNull ModelReader blockbench(final @NotNull ModelDataCursor cursor) {
-        return new BBModelReaderImpl(cursor);
+        return blockbench(cursor, BBModelReaderOptions.defaults());
+    }
+
+    /**
+     * Creates a new {@link BBModelReader} instance with
+     * the given model data cursor and options.
+     *
+     * @param cursor The custom model data cursor reference
+     * @param options The reader options
+     * @return A new model reader
+     * @since 1.0.0
+     */
+    static @NotNull ModelReader blockbench(final @NotNull ModelDataCursor cursor, final @NotNull BBModelReaderOptions options) {
+        return new BBModelReaderImpl(cursor, options);
     }
 
     /**
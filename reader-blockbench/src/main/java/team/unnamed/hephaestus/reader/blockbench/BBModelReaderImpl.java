@@ -47,9 +47,11 @@ final class BBModelReaderImpl implements BBModelReader {
     private static final JsonParser JSON_PARSER = new JsonParser();
 
     private final ModelDataCursor cursor;
+    private final BBModelReaderOptions options;
 
-    BBModelReaderImpl(final @NotNull ModelDataCursor cursor) {
+    BBModelReaderImpl(final @NotNull ModelDataCursor cursor, final @NotNull BBModelReaderOptions options) {
         this.cursor = Objects.requireNonNull(cursor, "cursor");
+        this.options = Objects.requireNonNull(options, "options");
     }
 
     @Override
@@ -84,7 +86,7 @@ final class BBModelReaderImpl implements BBModelReader {
 
         final Map<String, TextureAsset> textures = TextureReader.readTextures(json, modelData);
         ElementReader.readElements(json, modelData);
-        final Map<String, Animation> animations = AnimationReader.readAnimations(json);
+        final Map<String, Animation> animations = AnimationReader.readAnimations(json, options);
 
         return new Model(
                 modelName,
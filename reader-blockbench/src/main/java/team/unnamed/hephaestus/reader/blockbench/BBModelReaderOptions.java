@@ -0,0 +1,184 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.reader.blockbench;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.hephaestus.animation.Animation;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
+
+/**
+ * Options for {@link BBModelReader} instances, determining how
+ * the animations they read are stored and evaluated.
+ *
+ * @since 1.0.0
+ */
+public interface BBModelReaderOptions {
+
+    /**
+     * Returns the default options: animations are evaluated live,
+     * rotations are played as Euler angles, keyframes are stored as
+     * objects and all of them are kept.
+     *
+     * @return The default options
+     * @since 1.0.0
+     */
+    static @NotNull BBModelReaderOptions defaults() {
+        return BBModelReaderOptionsImpl.DEFAULTS;
+    }
+
+    /**
+     * Creates a new options builder, starting from
+     * the {@link #defaults() default options}.
+     *
+     * @return The created builder
+     * @since 1.0.0
+     */
+    static @NotNull Builder builder() {
+        return new BBModelReaderOptionsImpl.BuilderImpl();
+    }
+
+    /**
+     * Returns the evaluation mode of the read animations.
+     *
+     * <p>Baked animations are evaluated once, when read, and
+     * their pose tables are shared by every view playing them,
+     * see {@link Animation#bakedSizeInBytes()} for the memory
+     * they take.</p>
+     *
+     * @return The evaluation mode
+     * @see Animation#withEvaluationMode(Animation.EvaluationMode)
+     * @since 1.0.0
+     */
+    @NotNull Animation.EvaluationMode evaluationMode();
+
+    /**
+     * Returns the rotation mode of the read bone timelines.
+     *
+     * @return The rotation mode
+     * @see BoneTimeline#rotationMode()
+     * @since 1.0.0
+     */
+    @NotNull BoneTimeline.RotationMode rotationMode();
+
+    /**
+     * Determines whether keyframes are stored in primitive
+     * arrays instead of objects, always true if keyframes are
+     * {@link #quantizeKeyFrames() quantized}.
+     *
+     * @return True to store keyframes compactly
+     * @see team.unnamed.hephaestus.animation.timeline.CompactTimeline#compact
+     * @since 1.0.0
+     */
+    boolean compactKeyFrames();
+
+    /**
+     * Determines whether keyframe values are quantized to 16 bits
+     * when stored, which implies that they are stored compactly.
+     *
+     * @return True to quantize keyframes
+     * @see team.unnamed.hephaestus.animation.timeline.CompactTimeline#quantized
+     * @since 1.0.0
+     */
+    boolean quantizeKeyFrames();
+
+    /**
+     * Returns the maximum error allowed when removing redundant
+     * keyframes, negative if all keyframes are kept.
+     *
+     * <p>The amount of keyframes removed from every animation is
+     * logged, or reported to the callback given to
+     * {@link AnimationReader#readAnimations(com.google.gson.JsonObject, BBModelReaderOptions, java.util.function.ObjIntConsumer)}.</p>
+     *
+     * @return The keyframe epsilon
+     * @see team.unnamed.hephaestus.animation.timeline.TimelineSimplifier
+     * @since 1.0.0
+     */
+    float keyFrameEpsilon();
+
+    interface Builder {
+
+        /**
+         * Sets the evaluation mode of the read animations,
+         * {@link Animation.EvaluationMode#LIVE} by default, use
+         * {@link Animation.EvaluationMode#BAKED} to evaluate them
+         * once, when read
+         *
+         * @param evaluationMode The evaluation mode
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder evaluationMode(final @NotNull Animation.EvaluationMode evaluationMode);
+
+        /**
+         * Sets the rotation mode of the read bone timelines,
+         * {@link BoneTimeline.RotationMode#EULER} by default
+         *
+         * @param rotationMode The rotation mode
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder rotationMode(final @NotNull BoneTimeline.RotationMode rotationMode);
+
+        /**
+         * Sets whether keyframes are stored in primitive
+         * arrays, false by default
+         *
+         * @param compactKeyFrames True to store keyframes compactly
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder compactKeyFrames(final boolean compactKeyFrames);
+
+        /**
+         * Sets whether keyframe values are quantized, false
+         * by default, quantized keyframes are always stored
+         * compactly
+         *
+         * @param quantizeKeyFrames True to quantize keyframes
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder quantizeKeyFrames(final boolean quantizeKeyFrames);
+
+        /**
+         * Sets the maximum error allowed when removing redundant
+         * keyframes, negative (the default) to keep all of them
+         *
+         * @param keyFrameEpsilon The keyframe epsilon
+         * @return This builder
+         * @throws IllegalArgumentException If {@code keyFrameEpsilon} is NaN
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder keyFrameEpsilon(final float keyFrameEpsilon);
+
+        @NotNull BBModelReaderOptions build();
+
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.reader.blockbench;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.hephaestus.animation.Animation;
+import team.unnamed.hephaestus.animation.timeline.bone.BoneTimeline;
+
+import static java.util.Objects.requireNonNull;
+
+final class BBModelReaderOptionsImpl implements BBModelReaderOptions {
+    static final BBModelReaderOptions DEFAULTS = new BBModelReaderOptionsImpl(
+            Animation.EvaluationMode.LIVE,
+            BoneTimeline.RotationMode.EULER,
+            false,
+            false,
+            -1
+    );
+
+    private final Animation.EvaluationMode evaluationMode;
+    private final BoneTimeline.RotationMode rotationMode;
+    private final boolean compactKeyFrames;
+    private final boolean quantizeKeyFrames;
+    private final float keyFrameEpsilon;
+
+    BBModelReaderOptionsImpl(
+            final @NotNull Animation.EvaluationMode evaluationMode,
+            final @NotNull BoneTimeline.RotationMode rotationMode,
+            final boolean compactKeyFrames,
+            final boolean quantizeKeyFrames,
+            final float keyFrameEpsilon
+    ) {
+        this.evaluationMode = requireNonNull(evaluationMode, "evaluationMode");
+        this.rotationMode = requireNonNull(rotationMode, "rotationMode");
+        this.compactKeyFrames = compactKeyFrames;
+        this.quantizeKeyFrames = quantizeKeyFrames;
+        this.keyFrameEpsilon = keyFrameEpsilon;
+    }
+
+    @Override
+    public @NotNull Animation.EvaluationMode evaluationMode() {
+        return evaluationMode;
+    }
+
+    @Override
+    public @NotNull BoneTimeline.RotationMode rotationMode() {
+        return rotationMode;
+    }
+
+    @Override
+    public boolean compactKeyFrames() {
+        // quantized keyframes can only be stored compactly
+        return compactKeyFrames || quantizeKeyFrames;
+    }
+
+    @Override
+    public boolean quantizeKeyFrames() {
+        return quantizeKeyFrames;
+    }
+
+    @Override
+    public float keyFrameEpsilon() {
+        return keyFrameEpsilon;
+    }
+
+    static final class BuilderImpl implements Builder {
+        private Animation.EvaluationMode evaluationMode = DEFAULTS.evaluationMode();
+        private BoneTimeline.RotationMode rotationMode = DEFAULTS.rotationMode();
+        private boolean compactKeyFrames = DEFAULTS.compactKeyFrames();
+        private boolean quantizeKeyFrames = DEFAULTS.quantizeKeyFrames();
+        private float keyFrameEpsilon = DEFAULTS.keyFrameEpsilon();
+
+        BuilderImpl() {
+        }
+
+        @Override
+        public @NotNull Builder evaluationMode(final @NotNull Animation.EvaluationMode evaluationMode) {
+            this.evaluationMode = requireNonNull(evaluationMode, "evaluationMode");
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder rotationMode(final @NotNull BoneTimeline.RotationMode rotationMode) {
+            this.rotationMode = requireNonNull(rotationMode, "rotationMode");
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder compactKeyFrames(final boolean compactKeyFrames) {
+            this.compactKeyFrames = compactKeyFrames;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder quantizeKeyFrames(final boolean quantizeKeyFrames) {
+            this.quantizeKeyFrames = quantizeKeyFrames;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder keyFrameEpsilon(final float keyFrameEpsilon) {
+            if (Float.isNaN(keyFrameEpsilon)) {
+                throw new IllegalArgumentException("Keyframe epsilon must be a number");
+            }
+            this.keyFrameEpsilon = keyFrameEpsilon;
+            return this;
+        }
+
+        @Override
+        public @NotNull BBModelReaderOptions build() {
+            return new BBModelReaderOptionsImpl(evaluationMode, rotationMode, compactKeyFrames, quantizeKeyFrames, keyFrameEpsilon);
+        }
+    }
+}
@@ -54,6 +54,20 @@ final class Access {
 
     }
 
+    public static <T> FieldReflect<T> findFieldByName(Class<?> clazz, String name, Class<? super T> type) {
+        final Field field;
+        try {
+            field = clazz.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Field " + name + " not found in " + clazz, e);
+        }
+        if (field.getType() != type) {
+            throw new IllegalStateException("Field " + name + " in " + clazz + " has type " + field.getType() + ", expected " + type);
+        }
+        field.setAccessible(true);
+        return new FieldReflect<>(field);
+    }
+
     public static <T> FieldReflect<T> findFieldByType(Class<?> clazz, Class<? super T> type) {
         Field value = null;
         for (Field field : clazz.getDeclaredFields()) {
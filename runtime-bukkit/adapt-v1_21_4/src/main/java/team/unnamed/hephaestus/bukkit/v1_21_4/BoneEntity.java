@@ -25,7 +25,6 @@ package team.unnamed.hephaestus.bukkit.v1_21_4;
 
 import com.mojang.authlib.properties.Property;
 import com.mojang.authlib.properties.PropertyMap;
-import com.mojang.math.Transformation;
 import net.kyori.adventure.key.Key;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.core.registries.BuiltInRegistries;
@@ -58,6 +57,7 @@ import team.unnamed.hephaestus.view.modifier.BoneModifierType;
 import team.unnamed.hephaestus.view.modifier.player.rig.PlayerBoneType;
 import team.unnamed.hephaestus.view.modifier.player.skin.Skin;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -68,6 +68,14 @@ public class BoneEntity extends Display.ItemDisplay implements BoneView, BoneMod
     protected final Bone bone;
 
     private final float modelScale;
+
+    // Transformations are quantized to these steps before being compared
+    // and sent, so changes smaller than what clients can see are not sent,
+    // zero to send every change, see BukkitModelEngineOptions
+    private final float positionStep;
+    private final float scaleStep;
+    private final float rotationStep;
+    private final int skeletonId;
     protected List<SynchedEntityData.DataValue<?>> initialData;
 
     private final BoneModifierMap modifiers = BoneModifierMap.create(this);
@@ -75,6 +83,21 @@ public class BoneEntity extends Display.ItemDisplay implements BoneView, BoneMod
     private Vector3Float lastPosition = Vector3Float.ZERO;
     private Quaternion lastRotation = Quaternion.IDENTITY;
     private Vector3Float lastScale = Vector3Float.ONE;
+    private volatile boolean transformationUpdatePending = false;
+
+    // The pose that was last received, and the quantized transformation
+    // that was last applied to the entity data (in the pose layout)
+    private final float[] receivedPose = new float[PoseBuffer.STRIDE];
+    private final float[] appliedPose = new float[PoseBuffer.STRIDE];
+    private final float[] encodedPose = new float[PoseBuffer.STRIDE];
+    private long suppressedUpdates;
+
+    // Chooses the transformations sent when clients interpolate on
+    // their own, null if a transformation is sent every tick, and the
+    // last chosen transformation and root rotation that were applied
+    private final InterpolationWindow interpolationWindow;
+    private final float[] windowTarget = new float[PoseBuffer.STRIDE];
+    private final float[] appliedRootRotation = { 0, 0, 0, 1 };
 
     private int color = 0xFFFFFF;
 
@@ -84,16 +107,34 @@ public class BoneEntity extends Display.ItemDisplay implements BoneView, BoneMod
         this.view = view;
         this.bone = bone;
         this.modelScale = modelScale;
+
+        final var options = view.options();
+        this.positionStep = options.positionPrecision();
+        this.scaleStep = options.scalePrecision();
+        // a rotation by an angle changes the quaternion components by up
+        // to half of the angle (in radians)
+        this.rotationStep = (float) Math.toRadians(options.rotationPrecision()) / 2F;
+        this.interpolationWindow = options.clientInterpolationWindow() > 0
+                ? new InterpolationWindow(options.clientInterpolationWindow(), options.clientInterpolationError(), options.clientInterpolationAngleError())
+                : null;
+        this.skeletonId = view.model().skeleton().id(bone.name());
         this.initialize(initialPosition, initialRotation);
     }
 
     protected void initialize(Vector3Float initialPosition, Quaternion initialRotation) {
         setItemTransform(ItemDisplayContext.THIRD_PERSON_LEFT_HAND);
-        setTransformationInterpolationDuration(3);
+        // updated every tick until told otherwise, see updateInterval
+        setTransformationInterpolationDuration(1);
         setViewRange(1000);
         setNoGravity(false);
 
         update(initialPosition, initialRotation, Vector3Float.ONE);
+
+        // apply the initial pose right away, so it's part of the initial data
+        final var initialPose = new float[PoseBuffer.STRIDE];
+        PoseBuffer.write(initialPose, 0, lastPosition, lastRotation, lastScale);
+        applyPose(initialPose, 0);
+        System.arraycopy(encodedPose, 0, windowTarget, 0, PoseBuffer.STRIDE);
         updateItem();
 
         initialData = super.getEntityData().packDirty();
@@ -134,6 +175,17 @@ public class BoneEntity extends Display.ItemDisplay implements BoneView, BoneMod
         }
     }
 
+    /**
+     * Sets the amount of ticks between transformation updates,
+     * clients interpolate transformations during that interval,
+     * so that views updated less often still look smooth.
+     *
+     * @param updateInterval The amount of ticks between updates
+     */
+    public void updateInterval(final int updateInterval) {
+        setTransformationInterpolationDuration(updateInterval);
+    }
+
     @Override
     public int entityId() {
         return this.getId();
@@ -157,33 +209,204 @@ public class BoneEntity extends Display.ItemDisplay implements BoneView, BoneMod
             // rotation and scale are not modified
         }
 
-        if (position.equals(lastPosition) && rotation.equals(lastRotation) && scale.equals(lastScale)) {
+        lastPosition = position;
+        lastRotation = rotation;
+        lastScale = scale;
+
+        // Changes are not immediate, the view pose is published when the
+        // view finishes ticking, and applied when its changes are sent
+        view.pose().write(skeletonId, position, rotation, scale);
+    }
+
+    /**
+     * Applies the transform of this bone in the given view pose
+     * to the entity data, if it changed since the last time.
+     *
+     * @param pose The view pose
+     */
+    void applyPose(final float @NotNull [] pose) {
+        applyPose(pose, skeletonId * PoseBuffer.STRIDE);
+    }
+
+    private void applyPose(final float @NotNull [] pose, final int offset) {
+        if (Arrays.equals(pose, offset, offset + PoseBuffer.STRIDE, receivedPose, 0, PoseBuffer.STRIDE)) {
             // Don't update if everything is the same (avoids marking the data as dirty)
-            // todo: we can separate this!
             return;
         }
+        System.arraycopy(pose, offset, receivedPose, 0, PoseBuffer.STRIDE);
+        encode(pose, offset);
+        if (!applyEncodedPose()) {
+            // The change is smaller than the quantization steps
+            suppressedUpdates++;
+        }
+    }
 
-        lastPosition = position;
-        lastRotation = rotation;
-        lastScale = scale;
+    /**
+     * Advances the interpolation window of this bone with its
+     * transform in the given (new) view pose, and applies the
+     * transformation that clients must interpolate to next, if any.
+     *
+     * <p>Only used when clients interpolate on their own, the view
+     * pose doesn't include the root rotation, which is applied to the
+     * sent transformations, so that it's not delayed.</p>
+     *
+     * @param pose The view pose
+     * @param rootRotation The current root rotation (x, y, z, w)
+     * @param interval The amount of ticks between view poses
+     */
+    void advancePose(final float @NotNull [] pose, final float @NotNull [] rootRotation, final int interval) {
+        encode(pose, skeletonId * PoseBuffer.STRIDE);
+        applyWindowTarget(interpolationWindow.push(encodedPose), rootRotation, interval);
+    }
 
-        // Changes are not immediate, packets are sent by the base entity tracker
-        setTransformation(new Transformation(
-                new Vector3f(position.x(), position.y(), position.z()).mul(modelScale * bone.scale()),
-                null,
-                new Vector3f(
-                        modelScale * bone.scale() * scale.x(),
-                        modelScale * bone.scale() * scale.y(),
-                        modelScale * bone.scale() * scale.z()
-                ),
-                new Quaternionf(
-                        rotation.x(),
-                        rotation.y(),
-                        rotation.z(),
-                        rotation.w()
-                )
-        ));
+    /**
+     * Sends the poses left in the interpolation window of this bone,
+     * when the view stopped producing new poses, or re-sends the
+     * current one if the root rotation changed.
+     *
+     * @param rootRotation The current root rotation (x, y, z, w)
+     * @param interval The amount of ticks between view poses
+     * @param flush Whether to send the poses left in the window
+     */
+    void settlePose(final float @NotNull [] rootRotation, final int interval, final boolean flush) {
+        applyWindowTarget(flush ? interpolationWindow.flush(encodedPose) : 0, rootRotation, interval);
+    }
+
+    // applies the window target in the encoded pose if there's a new one
+    // (positive duration), or re-applies the last one if the root rotated
+    private void applyWindowTarget(int duration, final float @NotNull [] rootRotation, final int interval) {
+        if (duration > 0) {
+            System.arraycopy(encodedPose, 0, windowTarget, 0, PoseBuffer.STRIDE);
+        } else if (Arrays.equals(rootRotation, appliedRootRotation)) {
+            return;
+        } else {
+            // clients take the time left to reach the target to rotate
+            System.arraycopy(windowTarget, 0, encodedPose, 0, PoseBuffer.STRIDE);
+            duration = Math.max(1, interpolationWindow.remaining());
+        }
+        System.arraycopy(rootRotation, 0, appliedRootRotation, 0, 4);
+        rotate(encodedPose, rootRotation);
+        if (applyEncodedPose()) {
+            setTransformationInterpolationDuration(duration * interval);
+        }
+    }
+
+    // rotates the position and rotation of the given pose by the given rotation
+    private static void rotate(final float @NotNull [] pose, final float @NotNull [] rotation) {
+        final float qx = rotation[0], qy = rotation[1], qz = rotation[2], qw = rotation[3];
+        if (qx == 0 && qy == 0 && qz == 0) {
+            return;
+        }
+
+        // position: v + 2w(q x v) + 2q x (q x v)
+        final int p = PoseBuffer.POSITION_OFFSET;
+        final float vx = pose[p], vy = pose[p + 1], vz = pose[p + 2];
+        final float tx = 2 * (qy * vz - qz * vy);
+        final float ty = 2 * (qz * vx - qx * vz);
+        final float tz = 2 * (qx * vy - qy * vx);
+        pose[p] = vx + qw * tx + (qy * tz - qz * ty);
+        pose[p + 1] = vy + qw * ty + (qz * tx - qx * tz);
+        pose[p + 2] = vz + qw * tz + (qx * ty - qy * tx);
+
+        // rotation: q * r
+        final int r = PoseBuffer.ROTATION_OFFSET;
+        final float rx = pose[r], ry = pose[r + 1], rz = pose[r + 2], rw = pose[r + 3];
+        pose[r] = qw * rx + qx * rw + qy * rz - qz * ry;
+        pose[r + 1] = qw * ry - qx * rz + qy * rw + qz * rx;
+        pose[r + 2] = qw * rz + qx * ry - qy * rx + qz * rw;
+        pose[r + 3] = qw * rw - qx * rx - qy * ry - qz * rz;
+    }
+
+    // applies the changed components of the encoded pose to the entity data
+    private boolean applyEncodedPose() {
+        // Each component is written to its own data accessor, so that
+        // only the changed ones are marked as dirty and sent to viewers
+        final boolean translationChanged = changed(PoseBuffer.POSITION_OFFSET, 3);
+        final boolean rotationChanged = changed(PoseBuffer.ROTATION_OFFSET, 4);
+        final boolean scaleChanged = changed(PoseBuffer.SCALE_OFFSET, 3);
+        if (!translationChanged && !rotationChanged && !scaleChanged) {
+            return false;
+        }
+        System.arraycopy(encodedPose, 0, appliedPose, 0, PoseBuffer.STRIDE);
+
+        if (translationChanged) {
+            entityData.set(TransformationAccessors.TRANSLATION, new Vector3f(
+                    appliedPose[PoseBuffer.POSITION_OFFSET],
+                    appliedPose[PoseBuffer.POSITION_OFFSET + 1],
+                    appliedPose[PoseBuffer.POSITION_OFFSET + 2]
+            ));
+        }
+        if (rotationChanged) {
+            entityData.set(TransformationAccessors.LEFT_ROTATION, new Quaternionf(
+                    appliedPose[PoseBuffer.ROTATION_OFFSET],
+                    appliedPose[PoseBuffer.ROTATION_OFFSET + 1],
+                    appliedPose[PoseBuffer.ROTATION_OFFSET + 2],
+                    appliedPose[PoseBuffer.ROTATION_OFFSET + 3]
+            ));
+        }
+        if (scaleChanged) {
+            entityData.set(TransformationAccessors.SCALE, new Vector3f(
+                    appliedPose[PoseBuffer.SCALE_OFFSET],
+                    appliedPose[PoseBuffer.SCALE_OFFSET + 1],
+                    appliedPose[PoseBuffer.SCALE_OFFSET + 2]
+            ));
+        }
+        // the right rotation is never used, it keeps its default value
         setTransformationInterpolationDelay(0);
+        return true;
+    }
+
+    // scales and quantizes the given pose into the encoded pose
+    private void encode(final float @NotNull [] pose, final int offset) {
+        final float scale = modelScale * bone.scale();
+        for (int i = 0; i < 3; i++) {
+            encodedPose[PoseBuffer.POSITION_OFFSET + i] = quantize(pose[offset + PoseBuffer.POSITION_OFFSET + i] * scale, positionStep);
+            encodedPose[PoseBuffer.SCALE_OFFSET + i] = quantize(scale * pose[offset + PoseBuffer.SCALE_OFFSET + i], scaleStep);
+        }
+
+        float x = pose[offset + PoseBuffer.ROTATION_OFFSET];
+        float y = pose[offset + PoseBuffer.ROTATION_OFFSET + 1];
+        float z = pose[offset + PoseBuffer.ROTATION_OFFSET + 2];
+        float w = pose[offset + PoseBuffer.ROTATION_OFFSET + 3];
+        if (rotationStep > 0) {
+            x = quantize(x, rotationStep);
+            y = quantize(y, rotationStep);
+            z = quantize(z, rotationStep);
+            w = quantize(w, rotationStep);
+            final float length = (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            if (length > 0) {
+                x /= length;
+                y /= length;
+                z /= length;
+                w /= length;
+            }
+        }
+        encodedPose[PoseBuffer.ROTATION_OFFSET] = x;
+        encodedPose[PoseBuffer.ROTATION_OFFSET + 1] = y;
+        encodedPose[PoseBuffer.ROTATION_OFFSET + 2] = z;
+        encodedPose[PoseBuffer.ROTATION_OFFSET + 3] = w;
+    }
+
+    private static float quantize(final float value, final float step) {
+        return step > 0 ? step * (float) Math.rint(value / step) : value;
+    }
+
+    private boolean changed(final int componentOffset, final int componentLength) {
+        return !Arrays.equals(
+                encodedPose, componentOffset, componentOffset + componentLength,
+                appliedPose, componentOffset, componentOffset + componentLength
+        );
+    }
+
+    /**
+     * Returns the amount of pose updates that were not applied
+     * to this bone because the change was smaller than the
+     * configured precision.
+     *
+     * @return The amount of suppressed updates
+     */
+    public long suppressedUpdates() {
+        return suppressedUpdates;
     }
 
     @Override
@@ -199,7 +422,21 @@ public class BoneEntity extends Display.ItemDisplay implements BoneView, BoneMod
 
     @Override
     public void updateTransformation() {
-        update(lastPosition, lastRotation, lastScale);
+        // may be called from any thread, the pose is only written
+        // by the thread ticking the view, so it's done there
+        transformationUpdatePending = true;
+        view.requestTransformationUpdate();
+    }
+
+    /**
+     * Updates the transformation of this bone if it was requested,
+     * must only be called by the thread ticking the view.
+     */
+    void applyTransformationUpdate() {
+        if (transformationUpdatePending) {
+            transformationUpdatePending = false;
+            update(lastPosition, lastRotation, lastScale);
+        }
     }
 
     @Override
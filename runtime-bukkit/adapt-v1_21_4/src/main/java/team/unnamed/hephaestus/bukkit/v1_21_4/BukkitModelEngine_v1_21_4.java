@@ -27,11 +27,16 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import team.unnamed.hephaestus.bukkit.BukkitModelEngine;
+import team.unnamed.hephaestus.bukkit.BukkitModelEngineOptions;
 import team.unnamed.hephaestus.bukkit.track.ModelViewPersistenceHandler;
 
 @ApiStatus.NonExtendable
 public interface BukkitModelEngine_v1_21_4 extends BukkitModelEngine {
     static BukkitModelEngine create(Plugin plugin, final @NotNull ModelViewPersistenceHandler persistenceHandler) {
-        return new BukkitModelEngine_v1_21_4Impl(plugin, persistenceHandler);
+        return create(plugin, persistenceHandler, BukkitModelEngineOptions.defaults());
+    }
+
+    static BukkitModelEngine create(Plugin plugin, final @NotNull ModelViewPersistenceHandler persistenceHandler, final @NotNull BukkitModelEngineOptions options) {
+        return new BukkitModelEngine_v1_21_4Impl(plugin, persistenceHandler, options);
     }
 }
\ No newline at end of file
@@ -28,26 +28,49 @@ import org.bukkit.Location;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.hephaestus.Model;
+import team.unnamed.hephaestus.animation.controller.PoseCache;
+import team.unnamed.hephaestus.bukkit.BukkitModelEngineOptions;
 import team.unnamed.hephaestus.bukkit.ModelPersistenceListener;
 import team.unnamed.hephaestus.bukkit.track.BukkitModelViewTracker;
 import team.unnamed.hephaestus.bukkit.ModelView;
 import team.unnamed.hephaestus.bukkit.track.ModelViewPersistenceHandler;
+import team.unnamed.hephaestus.view.tick.ModelTickScheduler;
 
 import static java.util.Objects.requireNonNull;
 
 final class BukkitModelEngine_v1_21_4Impl implements BukkitModelEngine_v1_21_4 {
     private final Plugin plugin;
     private final ModelViewPersistenceHandler persistenceHandler;
+    private final BukkitModelEngineOptions options;
     private final ModelPersistenceListener persistenceListener;
+    private final ModelTickScheduler tickScheduler;
+    private final @Nullable PoseCache poseCache;
 
-    BukkitModelEngine_v1_21_4Impl(final @NotNull Plugin plugin, final @NotNull ModelViewPersistenceHandler persistenceHandler) {
+    BukkitModelEngine_v1_21_4Impl(
+            final @NotNull Plugin plugin,
+            final @NotNull ModelViewPersistenceHandler persistenceHandler,
+            final @NotNull BukkitModelEngineOptions options
+    ) {
         this.plugin = requireNonNull(plugin, "plugin");
         this.persistenceHandler = requireNonNull(persistenceHandler, "persistenceHandler");
+        this.options = requireNonNull(options, "options");
 
         Bukkit.getPluginManager().registerEvents(new ModelInteractListener(plugin), plugin);
         this.persistenceListener = new ModelPersistenceListener(plugin, this, persistenceHandler);
         Bukkit.getPluginManager().registerEvents(persistenceListener, plugin);;
+
+        // leave a core for the main thread, which sends the changes
+        this.tickScheduler = ModelTickScheduler.create(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        if (options.poseCacheAnimations() <= 0) {
+            // disabled unless configured
+            this.poseCache = null;
+        } else if (options.poseBuckets() > 0) {
+            this.poseCache = PoseCache.create(options.poseBuckets(), Bukkit::getCurrentTick, options.poseCacheAnimations());
+        } else {
+            this.poseCache = PoseCache.create(options.poseCacheAnimations());
+        }
     }
 
     @Override
@@ -60,6 +83,21 @@ final class BukkitModelEngine_v1_21_4Impl implements BukkitModelEngine_v1_21_4 {
         return persistenceHandler;
     }
 
+    @Override
+    public @NotNull BukkitModelEngineOptions options() {
+        return options;
+    }
+
+    @Override
+    public @NotNull ModelTickScheduler tickScheduler() {
+        return tickScheduler;
+    }
+
+    @Override
+    public @Nullable PoseCache poseCache() {
+        return poseCache;
+    }
+
     @Override
     public @NotNull ModelView createViewAndTrack(Model model, Location location, CreatureSpawnEvent.SpawnReason reason) {
         final var view = createView(model, location);
@@ -69,11 +107,15 @@ final class BukkitModelEngine_v1_21_4Impl implements BukkitModelEngine_v1_21_4 {
 
     @Override
     public @NotNull ModelView createView(Model model, Location location) {
-        return new ModelViewImpl(plugin, model, location, 1.0f);
+        return new ModelViewImpl(plugin, model, location, 1.0f, poseCache, options);
     }
 
     @Override
     public void close() {
         persistenceListener.onPluginDisable();
+        tickScheduler.close();
+        if (poseCache != null) {
+            poseCache.clear();
+        }
     }
 }
@@ -158,16 +158,13 @@ final class BukkitModelViewTrackerImpl implements BukkitModelViewTracker {
                     baseHandle.getType().trackDeltas()
             );
             chunkMap.entityMap.put(base.getEntityId(), entityTracker);
-            broadcastChangesFunction = packet -> {
-                ((ServerPlayer) baseHandle).connection.send(packet);
-                entityTracker.broadcast(packet);
-            };
+            broadcastChangesFunction = new PacketBroadcast(entityTracker.seenBy, ((ServerPlayer) baseHandle).connection, view.options().preEncodedBroadcastViewers());
         } else {
             // This won't replace the entire entity tracker, but we replace the
             // ServerEntity anyway so keep that
             entityTracker = chunkMap.entityMap.get(base.getEntityId());
             replacedServerEntity = SERVER_ENTITY_FIELD.get(entityTracker);
-            broadcastChangesFunction = entityTracker::broadcast;
+            broadcastChangesFunction = new PacketBroadcast(entityTracker.seenBy, null, view.options().preEncodedBroadcastViewers());
         }
 
         SERVER_ENTITY_FIELD.set(entityTracker, new ModelServerEntity(
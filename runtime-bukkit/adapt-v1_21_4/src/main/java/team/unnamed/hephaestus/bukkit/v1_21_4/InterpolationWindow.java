@@ -0,0 +1,213 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.bukkit.v1_21_4;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Chooses the transformations of a bone that are sent to clients
+ * when they interpolate on their own, instead of receiving a new
+ * transformation every tick.
+ *
+ * <p>The last {@code size} poses of the bone are kept, and clients
+ * are shown them with that delay. When clients reach the transformation
+ * they were interpolating to, the next one is the furthest pose in the
+ * window such that the client interpolation to it (linear for position
+ * and scale, spherical for rotation) stays within the configured error
+ * of every pose in between. Linear key frame segments are then sent
+ * once, at their start, interpolated during their whole length (up to
+ * {@code size} ticks), since the motion changes at the key frame that
+ * ends them. Bezier and Catmull-Rom segments are split into a few linear
+ * pieces.</p>
+ *
+ * <p>Ticks are counted in pushed poses, a pose is only pushed when
+ * the view animations produce a new one. The root transform of the
+ * view is not part of the poses, so that it's not delayed. Sounds are
+ * delayed like the poses by the view.</p>
+ *
+ * <p>Poses are in the layout of {@link PoseBuffer}.</p>
+ */
+final class InterpolationWindow {
+    private final int size;
+
+    // the maximum error for position and scale, and the minimum
+    // dot product between the expected and interpolated rotation
+    private final float positionError;
+    private final float minRotationDot;
+
+    private final float[] history;
+
+    // the tick of the last pushed pose, and the tick of the
+    // pose that clients are currently interpolating to
+    private int tick = -1;
+    private int target = 0;
+
+    /**
+     * Creates a new interpolation window.
+     *
+     * @param size The maximum amount of ticks clients interpolate between
+     *             two transformations, which is also the delay they are
+     *             shown with
+     * @param positionError The maximum position and scale error, in blocks
+     * @param angleError The maximum rotation error, in degrees
+     */
+    InterpolationWindow(final int size, final float positionError, final float angleError) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive, got " + size);
+        }
+        this.size = size;
+        this.positionError = positionError;
+        this.minRotationDot = (float) Math.cos(Math.toRadians(angleError) / 2D);
+        this.history = new float[(size + 1) * PoseBuffer.STRIDE];
+    }
+
+    /**
+     * Pushes the pose for the next tick, and determines whether clients
+     * must be sent a new transformation to interpolate to.
+     *
+     * @param pose The pose, also receives the transformation to send
+     * @return The amount of ticks clients must interpolate to the
+     * transformation written into the given pose, zero if nothing
+     * must be sent
+     */
+    int push(final float @NotNull [] pose) {
+        System.arraycopy(pose, 0, history, index(++tick), PoseBuffer.STRIDE);
+        if (tick == 0) {
+            // the first pose is sent right away
+            return 1;
+        }
+        if (tick - size < target) {
+            // clients are still interpolating to the current target
+            return 0;
+        }
+
+        // clients reached the target, find the next one
+        final int start = target;
+        int end = start + 1;
+        while (end < tick && fits(start, end + 1)) {
+            end++;
+        }
+        target = end;
+        System.arraycopy(history, index(end), pose, 0, PoseBuffer.STRIDE);
+        return end - start;
+    }
+
+    /**
+     * Finishes the interpolation to the last pushed pose, when no
+     * more poses are expected, so that clients don't stay behind.
+     *
+     * @param pose Receives the transformation to send
+     * @return The amount of ticks clients must interpolate to the
+     * transformation written into the given pose, zero if clients
+     * were already sent the last pushed pose
+     */
+    int flush(final float @NotNull [] pose) {
+        if (tick <= target) {
+            return 0;
+        }
+        final int start = target;
+        target = tick;
+        System.arraycopy(history, index(tick), pose, 0, PoseBuffer.STRIDE);
+        return tick - start;
+    }
+
+    /**
+     * Returns the amount of ticks until clients reach the
+     * transformation they are interpolating to.
+     *
+     * @return The remaining ticks, zero or negative if
+     * clients already reached it
+     */
+    int remaining() {
+        return target + size - tick;
+    }
+
+    private int index(final int tick) {
+        return (tick % (size + 1)) * PoseBuffer.STRIDE;
+    }
+
+    // checks whether interpolating between the poses at the
+    // given ticks approximates every pose in between
+    private boolean fits(final int start, final int end) {
+        final int from = index(start);
+        final int to = index(end);
+        for (int tick = start + 1; tick < end; tick++) {
+            final int expected = index(tick);
+            final float progress = ((float) (tick - start)) / ((float) (end - start));
+            if (!lerpFits(from, to, expected, PoseBuffer.POSITION_OFFSET, progress)
+                    || !lerpFits(from, to, expected, PoseBuffer.SCALE_OFFSET, progress)
+                    || !slerpFits(from + PoseBuffer.ROTATION_OFFSET, to + PoseBuffer.ROTATION_OFFSET, expected + PoseBuffer.ROTATION_OFFSET, progress)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean lerpFits(final int from, final int to, final int expected, final int offset, final float progress) {
+        for (int i = offset; i < offset + 3; i++) {
+            final float value = history[from + i] + (history[to + i] - history[from + i]) * progress;
+            if (Math.abs(value - history[expected + i]) > positionError) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean slerpFits(final int from, final int to, final int expected, final float progress) {
+        final float x0 = history[from], y0 = history[from + 1], z0 = history[from + 2], w0 = history[from + 3];
+        float x1 = history[to], y1 = history[to + 1], z1 = history[to + 2], w1 = history[to + 3];
+        float dot = x0 * x1 + y0 * y1 + z0 * z1 + w0 * w1;
+        if (dot < 0) {
+            // take the shortest path
+            x1 = -x1;
+            y1 = -y1;
+            z1 = -z1;
+            w1 = -w1;
+            dot = -dot;
+        }
+
+        final float s0;
+        final float s1;
+        if (dot > 0.9995F) {
+            // nearly the same rotation, linear is enough
+            s0 = 1 - progress;
+            s1 = progress;
+        } else {
+            final double angle = Math.acos(dot);
+            final double sin = Math.sin(angle);
+            s0 = (float) (Math.sin((1 - progress) * angle) / sin);
+            s1 = (float) (Math.sin(progress * angle) / sin);
+        }
+        final float x = s0 * x0 + s1 * x1;
+        final float y = s0 * y0 + s1 * y1;
+        final float z = s0 * z0 + s1 * z1;
+        final float w = s0 * w0 + s1 * w1;
+        final float length = (float) Math.sqrt(x * x + y * y + z * z + w * w);
+        final float similarity = Math.abs(x * history[expected]
+                + y * history[expected + 1]
+                + z * history[expected + 2]
+                + w * history[expected + 3]) / length;
+        return similarity >= minRotationDot;
+    }
+}
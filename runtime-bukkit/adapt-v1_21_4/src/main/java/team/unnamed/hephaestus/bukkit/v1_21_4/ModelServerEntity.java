@@ -88,6 +88,9 @@ final class ModelServerEntity extends ServerEntity {
         if (trackingRule.shouldView(view, player.getBukkitEntity())) {
             view.remove(player.connection::send);
         }
+
+        // Changes may stop being sent without viewers
+        view.snapshotViewers();
     }
 
     @Override
@@ -99,5 +102,6 @@ final class ModelServerEntity extends ServerEntity {
             //noinspection unchecked,rawtypes
             view.show((Consumer) packetConsumer);
         }
+        view.snapshotViewers();
     }
 }
@@ -67,7 +67,7 @@ final class ModelTrackedEntity extends ChunkMap.TrackedEntity {
         if (player == base) {
             if (!seenBySelf && trackingRule.shouldView(view, player.getBukkitEntity())) {
                 // Show model view
-                view.show(player.connection::send);
+                view.showBundled(player.connection::send);
                 seenBySelf = true;
             }
             return;
@@ -26,9 +26,13 @@ package team.unnamed.hephaestus.bukkit.v1_21_4;
 import com.google.common.collect.ImmutableMap;
 import net.kyori.adventure.sound.Sound;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.BundlerInfo;
 import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
 import net.minecraft.network.protocol.game.ClientboundSetPassengersPacket;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.craftbukkit.entity.CraftPlayer;
 import org.bukkit.entity.Entity;
@@ -41,12 +45,21 @@ import team.unnamed.creative.base.Vector3Float;
 import team.unnamed.hephaestus.Bone;
 import team.unnamed.hephaestus.Model;
 import team.unnamed.hephaestus.animation.controller.AnimationPlayer;
+import team.unnamed.hephaestus.animation.controller.PoseCache;
+import team.unnamed.hephaestus.bukkit.BukkitModelEngineOptions;
 import team.unnamed.hephaestus.bukkit.ModelView;
 import team.unnamed.hephaestus.util.Quaternion;
+import team.unnamed.hephaestus.view.lod.LodPolicy;
+import team.unnamed.mocha.MochaEngine;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
@@ -58,7 +71,9 @@ public class ModelViewImpl implements ModelView {
     private final Model model;
     private final Location location;
     private final float scale;
+    private final BukkitModelEngineOptions options;
 
+    private final PoseBuffer pose;
     private final AnimationPlayer animationPlayer;
     private final ImmutableMap<String, BoneEntity> bones;
 
@@ -70,15 +85,90 @@ public class ModelViewImpl implements ModelView {
     private Entity base = null;
     private int baseEntityId = -1;
 
+    // Level of detail: animations are advanced every 'tickInterval'
+    // ticks, 'pendingTicks' counts the ticks since the last update,
+    // bones are told about interval changes when changes are sent.
+    // 'pendingTicks' and 'pausedTicks' are only used by the ticking
+    // thread, if a later tick runs on another thread, the scheduler
+    // hands them over since each of its ticks happens-before the next
+    private volatile LodPolicy lodPolicy = LodPolicy.none();
+    private volatile int tickInterval = 1;
+    private int pendingTicks = 0;
+    private int sentTickInterval = 1;
+
+    // When clients interpolate on their own, poses don't include the
+    // root rotation, it's applied by bones when sending, so that it's
+    // not delayed like the poses. 'idleSends' counts the changes sent
+    // since the last new pose, and 'poseCount' the new poses. Sounds
+    // are delayed like the poses, 'delayedSounds' holds them with the
+    // pose count at which clients are shown the pose they belong to
+    private final float[] sentRootRotation = { 0, 0, 0, 1 };
+    private int idleSends = 0;
+    private int poseCount = 0;
+    private final Queue<DelayedSound> delayedSounds = new ArrayDeque<>();
+
+    // Ticks elapsed while nobody could see this view, animations
+    // are paused and then caught up when a viewer appears
+    private int pausedTicks = 0;
+
+    // Set when bones request a transformation update between ticks,
+    // applied by the ticking thread, the only one writing the pose
+    private volatile boolean transformationUpdatesPending = false;
+
+    // Viewer and base state, snapshotted on the main thread since
+    // animations may be ticked from other threads, which must not
+    // read viewers nor the base entity
+    private volatile boolean viewed = false;
+    private volatile double nearestViewerDistance = Double.POSITIVE_INFINITY;
+    private volatile Quaternion rootRotation = Quaternion.IDENTITY;
+    private final Location baseLocation = new Location(null, 0, 0, 0);
+    private final Location viewerLocation = new Location(null, 0, 0, 0);
+
+    // Sounds emitted by animations ticked from other threads, or while
+    // clients interpolate on their own, played to the viewers when
+    // changes are sent
+    private final Queue<Sound> pendingSounds = new ConcurrentLinkedQueue<>();
+
     protected ModelViewImpl(final @NotNull Plugin plugin, final @NotNull Model model, final @NotNull Location location, final float scale) {
+        this(plugin, model, location, scale, null, BukkitModelEngineOptions.defaults());
+    }
+
+    protected ModelViewImpl(
+            final @NotNull Plugin plugin,
+            final @NotNull Model model,
+            final @NotNull Location location,
+            final float scale,
+            final @Nullable PoseCache poseCache,
+            final @NotNull BukkitModelEngineOptions options
+    ) {
         this.plugin = requireNonNull(plugin, "plugin");
         this.model = requireNonNull(model, "model");
         this.location = requireNonNull(location, "location");
         this.scale = scale;
-        this.animationPlayer = AnimationPlayer.create(this);
+        this.options = requireNonNull(options, "options");
+        this.pose = new PoseBuffer(model.skeleton().size());
+        this.animationPlayer = new PublishingAnimationPlayer(poseCache == null
+                ? AnimationPlayer.create(this)
+                : AnimationPlayer.create(this, MochaEngine::createStandard, poseCache), this);
         this.bones = instantiateBones();
     }
 
+    /**
+     * Shows this view, sending its whole spawn sequence as a single
+     * bundle, so that clients spawn every bone at once.
+     *
+     * <p>Must not be used when the packets are already being
+     * bundled, such as when sending the base entity pairing data,
+     * bundles can't be nested.</p>
+     *
+     * @param packetConsumer The packet consumer to send the bundle to
+     */
+    public void showBundled(final @NotNull Consumer<? super Packet<?>> packetConsumer) {
+        final List<Packet<? super ClientGamePacketListener>> packets = new ArrayList<>(bones.size() * 2 + 1);
+        show(collector(packets));
+        sendBundled(packets, packetConsumer);
+    }
+
     public void show(final @NotNull Consumer<? super Packet<?>> packetConsumer) {
         final var ids = new int[bones.size()];
         int i = 0;
@@ -103,11 +193,94 @@ public class ModelViewImpl implements ModelView {
     }
 
     public void sendChanges(final @NotNull Consumer<? super Packet<?>> packetConsumer) {
-        // Send bone changes
+        snapshotViewers();
+
+        // Apply the last published pose, bone entity data is
+        // only modified here, never by the ticking thread
+        final int interval = tickInterval;
+        final float[] pose = this.pose.consume();
+        final int window = options.clientInterpolationWindow();
+        Sound sound;
+        if (window > 0) {
+            // Clients interpolate on their own, bones choose what they
+            // are sent from every new pose, and send what's left in their
+            // window once no new pose was produced during a whole window
+            final var rotation = rootRotation;
+            sentRootRotation[0] = (float) rotation.x();
+            sentRootRotation[1] = (float) rotation.y();
+            sentRootRotation[2] = (float) rotation.z();
+            sentRootRotation[3] = (float) rotation.w();
+            if (pose != null) {
+                idleSends = 0;
+                poseCount++;
+                for (final var bone : bones.values()) {
+                    bone.advancePose(pose, sentRootRotation, interval);
+                }
+            } else {
+                final boolean flush = ++idleSends == window * interval;
+                for (final var bone : bones.values()) {
+                    bone.settlePose(sentRootRotation, interval, flush);
+                }
+            }
+
+            // sounds emitted since the last changes belong to the last
+            // pose, clients are shown it 'window' poses later, or while
+            // bones settle, once as many intervals elapsed
+            while ((sound = pendingSounds.poll()) != null) {
+                delayedSounds.add(new DelayedSound(sound, poseCount + window));
+            }
+            final int shownPoseCount = poseCount + idleSends / interval;
+            DelayedSound delayed;
+            while ((delayed = delayedSounds.peek()) != null && delayed.poseCount() <= shownPoseCount) {
+                delayedSounds.poll();
+                playSound(delayed.sound());
+            }
+        } else if (interval != sentTickInterval || pose != null) {
+            for (final var bone : bones.values()) {
+                if (interval != sentTickInterval) {
+                    bone.updateInterval(interval);
+                }
+                if (pose != null) {
+                    bone.applyPose(pose);
+                }
+            }
+            sentTickInterval = interval;
+        }
+
+        if (window <= 0) {
+            while ((sound = pendingSounds.poll()) != null) {
+                playSound(sound);
+            }
+        }
+
+        // Send bone changes, bundled so that clients apply the
+        // whole pose at once, and it's written once per viewer
+        final List<Packet<? super ClientGamePacketListener>> packets = new ArrayList<>();
+        final Consumer<Packet<?>> collector = collector(packets);
         for (var bone : bones.values()) {
             // check metadata changes
             // (rotation, position, color, etc...)
-            bone.sendDirtyData(packetConsumer);
+            bone.sendDirtyData(collector);
+        }
+        sendBundled(packets, packetConsumer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NotNull Consumer<Packet<?>> collector(final @NotNull List<Packet<? super ClientGamePacketListener>> packets) {
+        // view packets are always game packets sent to clients
+        return packet -> packets.add((Packet<? super ClientGamePacketListener>) packet);
+    }
+
+    private static void sendBundled(final @NotNull List<Packet<? super ClientGamePacketListener>> packets, final @NotNull Consumer<? super Packet<?>> packetConsumer) {
+        if (packets.size() == 1) {
+            // no need to bundle
+            packetConsumer.accept(packets.get(0));
+            return;
+        }
+        // clients reject bundles over the size limit, split them
+        for (int from = 0; from < packets.size(); from += BundlerInfo.BUNDLE_SIZE_LIMIT) {
+            final int to = Math.min(packets.size(), from + BundlerInfo.BUNDLE_SIZE_LIMIT);
+            packetConsumer.accept(new ClientboundBundlePacket(packets.subList(from, to)));
         }
     }
 
@@ -131,6 +304,38 @@ public class ModelViewImpl implements ModelView {
         this.baseEntityId = base == null ? -1 : base.getEntityId();
     }
 
+    @NotNull BukkitModelEngineOptions options() {
+        return options;
+    }
+
+    @NotNull PoseBuffer pose() {
+        return pose;
+    }
+
+    /**
+     * Requests the transformation of some bones to be updated
+     * the next time this view is ticked.
+     */
+    void requestTransformationUpdate() {
+        transformationUpdatesPending = true;
+    }
+
+    /**
+     * Applies the requested transformation updates, must only
+     * be called by the thread ticking this view.
+     */
+    void applyTransformationUpdates() {
+        if (!transformationUpdatesPending) {
+            return;
+        }
+        // cleared before checking the bones, so that requests
+        // made meanwhile are applied the next time
+        transformationUpdatesPending = false;
+        for (final var bone : bones.values()) {
+            bone.applyTransformationUpdate();
+        }
+    }
+
     @Override
     public void baseEntityId(final int baseEntityId) {
         this.baseEntityId = baseEntityId;
@@ -198,7 +403,8 @@ public class ModelViewImpl implements ModelView {
             player.showEntity(plugin, base);
         } else if (viewers.add(player)) {
             final var connection = ((CraftPlayer) player).getHandle().connection;
-            show(connection::send);
+            showBundled(connection::send);
+            snapshotViewers();
             return true;
         }
         return false;
@@ -215,6 +421,7 @@ public class ModelViewImpl implements ModelView {
             }
         } else if (viewers.remove(player)) {
             forceRemove(player);
+            snapshotViewers();
             return true;
         }
         return false;
@@ -222,6 +429,18 @@ public class ModelViewImpl implements ModelView {
 
     @Override
     public void emitSound(final @NotNull Sound sound) {
+        requireNonNull(sound, "sound");
+        if (Bukkit.isPrimaryThread() && options.clientInterpolationWindow() <= 0) {
+            playSound(sound);
+        } else {
+            // viewers can only be accessed from the main thread, and
+            // sounds are delayed like the poses when clients interpolate
+            // on their own
+            pendingSounds.add(sound);
+        }
+    }
+
+    private void playSound(final @NotNull Sound sound) {
         final var location = location();
         final var x = location.x();
         final var y = location.y();
@@ -241,21 +460,113 @@ public class ModelViewImpl implements ModelView {
         return bones.get(name);
     }
 
+    @Override
+    public long suppressedBoneUpdates() {
+        long suppressedUpdates = 0;
+        for (final var bone : bones.values()) {
+            suppressedUpdates += bone.suppressedUpdates();
+        }
+        return suppressedUpdates;
+    }
+
     @Override
     public @NotNull AnimationPlayer animationPlayer() {
         return animationPlayer;
     }
 
+    @Override
+    public @NotNull LodPolicy lodPolicy() {
+        return lodPolicy;
+    }
+
+    @Override
+    public void lodPolicy(final @NotNull LodPolicy lodPolicy) {
+        this.lodPolicy = requireNonNull(lodPolicy, "lodPolicy");
+    }
+
     @Override
     public void tickAnimations() {
+        if (!viewed) {
+            pausedTicks++;
+            return;
+        }
+
+        // the root rotation is applied when sending if clients interpolate on their own
+        final Quaternion initialRotation = options.clientInterpolationWindow() > 0 ? Quaternion.IDENTITY : rootRotation;
+
+        if (pausedTicks > 0) {
+            // catch up by seeking, instead of evaluating every tick
+            animationPlayer.skip(initialRotation, Vector3Float.ZERO, pausedTicks);
+            pausedTicks = 0;
+        }
+
+        if (pendingTicks == 0) {
+            // a new update interval starts, check the level of detail
+            tickInterval = Math.max(1, lodPolicy.tickInterval(this, nearestViewerDistance));
+        }
+
+        if (++pendingTicks < tickInterval) {
+            // skip this tick, will be advanced in the next update
+            return;
+        }
+
+        final int ticks = pendingTicks;
+        pendingTicks = 0;
+        animationPlayer.tick(initialRotation, Vector3Float.ZERO, ticks);
+    }
+
+    // the rotation of the whole model, following its base
+    private @NotNull Quaternion computeRootRotation() {
+        if (base == null) {
+            return Quaternion.IDENTITY;
+        }
+        final float yaw;
+        final float pitch;
+        if (base instanceof LivingEntity livingBase) {
+            // living entities are rendered facing their body yaw,
+            // heads can be turned by bone modifiers
+            yaw = livingBase.getBodyYaw();
+            pitch = 0F;
+        } else {
+            yaw = base.getYaw();
+            pitch = base.getPitch();
+        }
+        return Quaternion.fromEulerDegrees(new Vector3Float(pitch, 360 - yaw, 0));
+    }
+
+    /**
+     * Snapshots whether this view has viewers, the distance to
+     * the nearest one and the rotation of the base, read by
+     * {@link #tickAnimations()}. Must be called from the main
+     * thread.
+     */
+    void snapshotViewers() {
+        assert Bukkit.isPrimaryThread() : "Viewers must be snapshotted from the main thread";
+        rootRotation = computeRootRotation();
+
+        final Collection<Player> viewers = viewers();
+        // players always see the views they are disguised as
+        viewed = base instanceof Player || !viewers.isEmpty();
+
+        final Location location;
         if (base != null) {
-            if (base instanceof LivingEntity livingBase) {
-                animationPlayer.tick(livingBase.getYaw(), -livingBase.getPitch());
-            } else {
-                animationPlayer.tick(base.getYaw(), base.getPitch());
-            }
+            location = base.getLocation(baseLocation);
         } else {
-            animationPlayer.tick();
+            location = this.location;
         }
+
+        double nearest = Double.POSITIVE_INFINITY;
+        for (final var viewer : viewers) {
+            viewer.getLocation(viewerLocation);
+            if (viewerLocation.getWorld() != location.getWorld()) {
+                continue;
+            }
+            nearest = Math.min(nearest, viewerLocation.distanceSquared(location));
+        }
+        nearestViewerDistance = Math.sqrt(nearest);
+    }
+
+    // a sound that is played once clients are shown the given amount of poses
+    private record DelayedSound(@NotNull Sound sound, int poseCount) {
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.bukkit.v1_21_4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.minecraft.network.Connection;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.HandlerNames;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundleDelimiterPacket;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.GameProtocols;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerConnection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Broadcasts the changes of a model view to the connections
+ * tracking it.
+ *
+ * <p>When there are enough viewers, packets are encoded once
+ * and the same bytes are written to every connection, instead
+ * of being encoded again for each of them. Compression, framing
+ * and encryption are still done per connection by their
+ * pipelines.</p>
+ *
+ * <p>Pre-encoding is opt-in, since pre-encoded packets are written
+ * to the channels directly, so they are not seen by handlers that
+ * intercept packet objects, like packet listener plugins. Packet
+ * objects are still sent to connections that are holding back
+ * packets, so that they are queued behind them, and to connections
+ * that are not encoding game packets with the vanilla encoder, for
+ * example, while they are being reconfigured.</p>
+ */
+final class PacketBroadcast implements Consumer<Packet<?>> {
+    private static final System.Logger LOGGER = System.getLogger("hephaestus");
+
+    // packets held back by a connection until it's ready to send them,
+    // looked up by its (Mojang mapped) name since the connection has other
+    // queues, null if not found, pre-encoding is then disabled, since
+    // frames could be written before the held back packets
+    private static final Access.FieldReflect<Queue<?>> PENDING_ACTIONS = findPendingActions();
+
+    private final Collection<? extends ServerPlayerConnection> connections;
+    private final @Nullable ServerPlayerConnection self;
+    // minimum amount of viewers for pre-encoding packets, zero to never do it
+    private final int preEncodeViewers;
+
+    /**
+     * Creates a broadcast to the given (live) connections.
+     *
+     * @param connections The connections tracking the view
+     * @param self The connection of the view base, if it's a player
+     *             that's always sent the view changes, null otherwise
+     * @param preEncodeViewers The minimum amount of viewers for pre-encoding
+     *                         packets, zero to never do it
+     */
+    PacketBroadcast(
+            final @NotNull Collection<? extends ServerPlayerConnection> connections,
+            final @Nullable ServerPlayerConnection self,
+            final int preEncodeViewers
+    ) {
+        this.connections = requireNonNull(connections, "connections");
+        this.self = self;
+        this.preEncodeViewers = preEncodeViewers;
+    }
+
+    @Override
+    public void accept(final @NotNull Packet<?> packet) {
+        final int viewers = connections.size() + (self == null ? 0 : 1);
+        if (preEncodeViewers <= 0 || viewers < preEncodeViewers || PENDING_ACTIONS == null) {
+            if (self != null) {
+                self.send(packet);
+            }
+            for (final var connection : connections) {
+                connection.send(packet);
+            }
+            return;
+        }
+
+        final List<ByteBuf> frames = new ArrayList<>();
+        try {
+            encode(packet, frames);
+            if (self != null) {
+                write(self, packet, frames);
+            }
+            for (final var connection : connections) {
+                write(connection, packet, frames);
+            }
+        } finally {
+            // every written frame holds its own reference
+            for (final var frame : frames) {
+                frame.release();
+            }
+        }
+    }
+
+    private static @Nullable Access.FieldReflect<Queue<?>> findPendingActions() {
+        try {
+            return Access.findFieldByName(Connection.class, "pendingActions", Queue.class);
+        } catch (final IllegalStateException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Couldn't find the pending packets of connections, pre-encoded broadcasts are disabled", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void encode(final @NotNull Packet<?> packet, final @NotNull List<ByteBuf> frames) {
+        if (packet instanceof ClientboundBundlePacket bundle) {
+            // same as the connection pipeline does with bundles
+            final var delimiter = new ClientboundBundleDelimiterPacket();
+            frames.add(encode(delimiter));
+            for (final var subPacket : bundle.subPackets()) {
+                frames.add(encode(subPacket));
+            }
+            frames.add(encode(delimiter));
+        } else {
+            // view packets are always game packets sent to clients
+            frames.add(encode((Packet<? super ClientGamePacketListener>) packet));
+        }
+    }
+
+    private static @NotNull ByteBuf encode(final @NotNull Packet<? super ClientGamePacketListener> packet) {
+        final ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            Codec.INSTANCE.encode(buffer, packet);
+        } catch (final RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+        return buffer;
+    }
+
+    private static void write(final @NotNull ServerPlayerConnection playerConnection, final @NotNull Packet<?> packet, final @NotNull List<ByteBuf> frames) {
+        final var connection = playerConnection.getPlayer().connection.connection;
+        if (!connection.isConnected() || !PENDING_ACTIONS.get(connection).isEmpty()) {
+            // the connection is holding back packets, writing the
+            // frames now would send them before the held back ones
+            playerConnection.send(packet);
+            return;
+        }
+        if (connection.getPacketListener().protocol() != ConnectionProtocol.PLAY
+                || !(connection.channel.pipeline().get(HandlerNames.ENCODER) instanceof PacketEncoder<?>)) {
+            // the frames were encoded for the game protocol, by the vanilla
+            // codec, the connection would encode the packet differently
+            playerConnection.send(packet);
+            return;
+        }
+        final var channel = connection.channel;
+        for (final var frame : frames) {
+            // encoders let byte buffers through, the rest of
+            // the pipeline compresses and frames each of them
+            channel.write(frame.retainedDuplicate(), channel.voidPromise());
+        }
+        channel.flush();
+    }
+
+    // created lazily, registries are only available once the server started
+    private static final class Codec {
+        static final StreamCodec<ByteBuf, Packet<? super ClientGamePacketListener>> INSTANCE = GameProtocols.CLIENTBOUND_TEMPLATE
+                .bind(RegistryFriendlyByteBuf.decorator(MinecraftServer.getServer().registryAccess()))
+                .codec();
+    }
+}
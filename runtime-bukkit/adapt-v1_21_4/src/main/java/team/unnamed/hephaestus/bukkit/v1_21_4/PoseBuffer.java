@@ -0,0 +1,126 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.bukkit.v1_21_4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.util.Quaternion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple buffered pose of a model view, holds the position, rotation
+ * and scale of every bone, indexed by their skeleton id.
+ *
+ * <p>The thread ticking the view animations writes into the working
+ * pose and then publishes it, the thread sending the view changes
+ * consumes the last published pose. Neither side ever blocks the
+ * other, and the consumer never sees a partially written pose.</p>
+ */
+final class PoseBuffer {
+    static final int POSITION_OFFSET = 0;
+    static final int ROTATION_OFFSET = 3;
+    static final int SCALE_OFFSET = 7;
+    static final int STRIDE = 10;
+
+    // The middle buffer state holds its index and whether it
+    // was published after the consumer last took it
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+
+    private final float[] working;
+    private final float[][] buffers;
+
+    // whether the working pose changed since it was last published
+    private volatile boolean dirty = false;
+
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0; // owned by the producer
+    private int front = 2; // owned by the consumer
+
+    PoseBuffer(final int size) {
+        this.working = new float[size * STRIDE];
+        this.buffers = new float[][] {
+                new float[working.length],
+                new float[working.length],
+                new float[working.length]
+        };
+    }
+
+    /**
+     * Writes the transform of the bone with the given id
+     * into the working pose.
+     */
+    void write(final int id, final @NotNull Vector3Float position, final @NotNull Quaternion rotation, final @NotNull Vector3Float scale) {
+        write(working, id * STRIDE, position, rotation, scale);
+        dirty = true;
+    }
+
+    /**
+     * Publishes the working pose, replacing the previously
+     * published pose if it wasn't consumed yet. Does nothing
+     * if the working pose didn't change since the last time.
+     */
+    synchronized void publish() {
+        if (!dirty) {
+            return;
+        }
+        // cleared before copying, so that concurrent
+        // writes are published the next time
+        dirty = false;
+        System.arraycopy(working, 0, buffers[back], 0, working.length);
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Takes the last published pose, the returned array is owned
+     * by the caller until the next call to this method.
+     *
+     * <p>Must always be called from the same thread.</p>
+     *
+     * @return The last published pose, null if nothing was
+     * published since the last call
+     */
+    float @Nullable [] consume() {
+        if ((middle.get() & FRESH) == 0) {
+            return null;
+        }
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return buffers[front];
+    }
+
+    static void write(final float @NotNull [] pose, final int offset, final @NotNull Vector3Float position, final @NotNull Quaternion rotation, final @NotNull Vector3Float scale) {
+        pose[offset + POSITION_OFFSET] = position.x();
+        pose[offset + POSITION_OFFSET + 1] = position.y();
+        pose[offset + POSITION_OFFSET + 2] = position.z();
+        pose[offset + ROTATION_OFFSET] = (float) rotation.x();
+        pose[offset + ROTATION_OFFSET + 1] = (float) rotation.y();
+        pose[offset + ROTATION_OFFSET + 2] = (float) rotation.z();
+        pose[offset + ROTATION_OFFSET + 3] = (float) rotation.w();
+        pose[offset + SCALE_OFFSET] = scale.x();
+        pose[offset + SCALE_OFFSET + 1] = scale.y();
+        pose[offset + SCALE_OFFSET + 2] = scale.z();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.bukkit.v1_21_4;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Vector3Float;
+import team.unnamed.hephaestus.animation.Animation;
+import team.unnamed.hephaestus.animation.controller.AnimationPlayer;
+import team.unnamed.hephaestus.util.Quaternion;
+import team.unnamed.hephaestus.view.AbstractModelView;
+import team.unnamed.mocha.MochaEngine;
+
+import java.util.Collection;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Animation player that publishes the pose of its view after
+ * every tick, no matter who ticks it.
+ *
+ * <p>Transformation updates requested by bones between ticks
+ * are applied right before publishing, so that the pose is
+ * only ever written by the ticking thread.</p>
+ */
+final class PublishingAnimationPlayer implements AnimationPlayer {
+    private final AnimationPlayer delegate;
+    private final ModelViewImpl view;
+
+    PublishingAnimationPlayer(final @NotNull AnimationPlayer delegate, final @NotNull ModelViewImpl view) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.view = requireNonNull(view, "view");
+    }
+
+    @Override
+    public void add(final @NotNull Animation animation, final int transitionTicks) {
+        delegate.add(animation, transitionTicks);
+    }
+
+    @Override
+    public void remove(final @NotNull Animation animation) {
+        delegate.remove(animation);
+    }
+
+    @Override
+    public @NotNull Collection<Animation> animations() {
+        return delegate.animations();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public void tick(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition) {
+        delegate.tick(initialRotation, initialPosition);
+        publish();
+    }
+
+    @Override
+    public void tick(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition, final int ticks) {
+        delegate.tick(initialRotation, initialPosition, ticks);
+        publish();
+    }
+
+    private void publish() {
+        view.applyTransformationUpdates();
+        view.pose().publish();
+    }
+
+    @Override
+    public void skip(final @NotNull Quaternion initialRotation, final @NotNull Vector3Float initialPosition, final int ticks) {
+        delegate.skip(initialRotation, initialPosition, ticks);
+    }
+
+    @Override
+    public @NotNull MochaEngine<AbstractModelView<?>> scriptEngine() {
+        return delegate.scriptEngine();
+    }
+}
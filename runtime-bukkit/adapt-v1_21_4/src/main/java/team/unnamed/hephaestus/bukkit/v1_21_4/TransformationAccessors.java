@@ -0,0 +1,81 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.bukkit.v1_21_4;
+
+import com.mojang.math.Transformation;
+import net.minecraft.network.syncher.EntityDataAccessor;
+import net.minecraft.network.syncher.EntityDataSerializer;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.world.entity.Display;
+import net.minecraft.world.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Data accessors for the components of the display
+ * transformation, so they can be written separately.
+ *
+ * <p>Display keeps them private, and their field names are not
+ * kept after remapping, so their ids are found by applying a known
+ * transformation to a probe entity.</p>
+ */
+final class TransformationAccessors {
+    static final EntityDataAccessor<Vector3f> TRANSLATION;
+    static final EntityDataAccessor<Quaternionf> LEFT_ROTATION;
+    static final EntityDataAccessor<Vector3f> SCALE;
+
+    static {
+        final var translation = new Vector3f(1, 2, 3);
+        final var leftRotation = new Quaternionf(0.5F, 0.5F, 0.5F, 0.5F);
+        final var scale = new Vector3f(4, 5, 6);
+
+        //noinspection DataFlowIssue
+        final var probe = new Display.ItemDisplay(EntityType.ITEM_DISPLAY, null);
+        probe.getEntityData().packDirty();
+        probe.setTransformation(new Transformation(translation, leftRotation, scale, new Quaternionf(0, 0, 1, 0)));
+        final var data = probe.getEntityData().packDirty();
+        if (data == null) {
+            throw new IllegalStateException("Display transformation is not synchronized");
+        }
+
+        TRANSLATION = find(data, translation);
+        LEFT_ROTATION = find(data, leftRotation);
+        SCALE = find(data, scale);
+    }
+
+    private TransformationAccessors() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull EntityDataAccessor<T> find(final @NotNull Iterable<SynchedEntityData.DataValue<?>> data, final @NotNull T value) {
+        for (final var dataValue : data) {
+            if (value.equals(dataValue.value())) {
+                return new EntityDataAccessor<>(dataValue.id(), (EntityDataSerializer<T>) dataValue.serializer());
+            }
+        }
+        throw new IllegalStateException("Display transformation data for " + value + " not found");
+    }
+}
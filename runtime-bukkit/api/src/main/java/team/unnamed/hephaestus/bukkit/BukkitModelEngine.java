@@ -28,10 +28,13 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.hephaestus.Model;
 import team.unnamed.hephaestus.ModelEngine;
+import team.unnamed.hephaestus.animation.controller.PoseCache;
 import team.unnamed.hephaestus.bukkit.track.BukkitModelViewTracker;
 import team.unnamed.hephaestus.bukkit.track.ModelViewPersistenceHandler;
+import team.unnamed.hephaestus.view.tick.ModelTickScheduler;
 import team.unnamed.hephaestus.view.track.ModelViewTrackingRule;
 
 import java.util.function.Predicate;
@@ -49,6 +52,52 @@ public interface BukkitModelEngine extends ModelEngine<Player, Location> {
 
     @NotNull ModelViewPersistenceHandler persistence();
 
+    /**
+     * Returns the options of this model engine, used
+     * by every view it creates.
+     *
+     * @return The engine options
+     * @since 1.0.0
+     */
+    @NotNull BukkitModelEngineOptions options();
+
+    /**
+     * Returns the tick scheduler for this model engine, views
+     * registered in it are evaluated in parallel every time it
+     * is ticked, its fork-join pool is shut down when this engine
+     * is closed.
+     *
+     * <p>Views are not registered automatically, and the scheduler
+     * is not ticked automatically either, it's expected to be ticked
+     * from an asynchronous repeating task.</p>
+     *
+     * <p>Its commit phase does nothing: evaluated poses are published
+     * to the views, and the entity tracker sends them from the main
+     * thread, which is the only thread allowed to send bone changes.</p>
+     *
+     * @return The tick scheduler
+     * @since 1.0.0
+     */
+    @NotNull ModelTickScheduler tickScheduler();
+
+    /**
+     * Returns the pose cache for this model engine, shared by
+     * the animation players of the views it creates, so that
+     * views playing the same animation at the same tick only
+     * evaluate its pose once.
+     *
+     * <p>The cache is disabled by default, it's enabled by setting
+     * {@link BukkitModelEngineOptions#poseCacheAnimations()} to the
+     * maximum amount of animations whose poses are cached. Phase
+     * bucketing is then enabled by setting
+     * {@link BukkitModelEngineOptions#poseBuckets()} to the amount
+     * of buckets, using the server tick as clock.</p>
+     *
+     * @return The pose cache, null if disabled
+     * @since 1.0.0
+     */
+    @Nullable PoseCache poseCache();
+
     @NotNull ModelView createViewAndTrack(Model model, Location location, CreatureSpawnEvent.SpawnReason reason);
 
     @Override
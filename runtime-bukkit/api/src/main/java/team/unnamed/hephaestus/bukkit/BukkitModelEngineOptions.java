@@ -0,0 +1,271 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.bukkit;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Options for {@link BukkitModelEngine} instances, determining
+ * how the views they create are evaluated and sent to viewers.
+ *
+ * @since 1.0.0
+ */
+public interface BukkitModelEngineOptions {
+
+    /**
+     * Returns the default options: every transformation change is
+     * sent as soon as possible, packets are sent through the player
+     * connections and the pose cache is disabled.
+     *
+     * @return The default options
+     * @since 1.0.0
+     */
+    static @NotNull BukkitModelEngineOptions defaults() {
+        return BukkitModelEngineOptionsImpl.DEFAULTS;
+    }
+
+    /**
+     * Creates a new options builder, starting from
+     * the {@link #defaults() default options}.
+     *
+     * @return The created builder
+     * @since 1.0.0
+     */
+    static @NotNull Builder builder() {
+        return new BukkitModelEngineOptionsImpl.BuilderImpl();
+    }
+
+    /**
+     * Returns the step bone positions are quantized to before
+     * being compared and sent, so that changes smaller than what
+     * clients can see are not sent, zero to send every change.
+     *
+     * @return The position precision, in blocks
+     * @see ModelView#suppressedBoneUpdates()
+     * @since 1.0.0
+     */
+    float positionPrecision();
+
+    /**
+     * Returns the step bone rotations are quantized to, zero
+     * to send every change.
+     *
+     * @return The rotation precision, in degrees
+     * @see #positionPrecision()
+     * @since 1.0.0
+     */
+    float rotationPrecision();
+
+    /**
+     * Returns the step bone scales are quantized to, zero
+     * to send every change.
+     *
+     * @return The scale precision
+     * @see #positionPrecision()
+     * @since 1.0.0
+     */
+    float scalePrecision();
+
+    /**
+     * Returns the maximum amount of ticks clients interpolate between
+     * two bone transformations on their own, which is also the delay
+     * bones are shown with, zero to send a transformation every tick.
+     *
+     * <p>Sounds played by animations are delayed by the same amount of
+     * ticks, so they stay in sync with the bones. Scripts are not, they
+     * run when the animations are ticked.</p>
+     *
+     * @return The client interpolation window, in ticks
+     * @since 1.0.0
+     */
+    int clientInterpolationWindow();
+
+    /**
+     * Returns the maximum position and scale error allowed when
+     * clients interpolate between two bone transformations on
+     * their own.
+     *
+     * @return The client interpolation error, in blocks
+     * @see #clientInterpolationWindow()
+     * @since 1.0.0
+     */
+    float clientInterpolationError();
+
+    /**
+     * Returns the maximum rotation error allowed when clients
+     * interpolate between two bone transformations on their own.
+     *
+     * @return The client interpolation angle error, in degrees
+     * @see #clientInterpolationWindow()
+     * @since 1.0.0
+     */
+    float clientInterpolationAngleError();
+
+    /**
+     * Returns the minimum amount of viewers for view changes to be
+     * encoded once and written to every connection, instead of
+     * being encoded once per connection, zero to never do it.
+     *
+     * <p>This is an opt-in: pre-encoded changes are written to the
+     * connections as bytes, so they can't be seen, modified or
+     * cancelled by packet interception, such as ProtocolLib or
+     * PacketEvents listeners. Connections that are not in the game
+     * protocol, or whose encoder was replaced, are sent packets as
+     * usual.</p>
+     *
+     * @return The minimum amount of viewers for pre-encoding changes
+     * @since 1.0.0
+     */
+    int preEncodedBroadcastViewers();
+
+    /**
+     * Returns the maximum amount of animations whose poses are
+     * cached by the engine pose cache, zero to disable it.
+     *
+     * @return The maximum amount of cached animations
+     * @see BukkitModelEngine#poseCache()
+     * @since 1.0.0
+     */
+    int poseCacheAnimations();
+
+    /**
+     * Returns the amount of phase buckets used by the engine pose
+     * cache, using the server tick as clock, zero to disable
+     * phase bucketing. Ignored if the pose cache is disabled.
+     *
+     * @return The amount of pose buckets
+     * @see team.unnamed.hephaestus.animation.controller.PoseCache#create(int, java.util.function.LongSupplier, int)
+     * @since 1.0.0
+     */
+    int poseBuckets();
+
+    interface Builder {
+
+        /**
+         * Sets the bone position precision, in blocks,
+         * zero (the default) to send every change
+         *
+         * @param positionPrecision The position precision
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder positionPrecision(final float positionPrecision);
+
+        /**
+         * Sets the bone rotation precision, in degrees,
+         * zero (the default) to send every change
+         *
+         * @param rotationPrecision The rotation precision
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder rotationPrecision(final float rotationPrecision);
+
+        /**
+         * Sets the bone scale precision, zero (the
+         * default) to send every change
+         *
+         * @param scalePrecision The scale precision
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder scalePrecision(final float scalePrecision);
+
+        /**
+         * Sets the client interpolation window, in ticks,
+         * zero (the default) to send a transformation every tick
+         *
+         * @param clientInterpolationWindow The client interpolation window
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder clientInterpolationWindow(final int clientInterpolationWindow);
+
+        /**
+         * Sets the client interpolation position and scale
+         * error, 0.01 blocks by default
+         *
+         * @param clientInterpolationError The client interpolation error
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder clientInterpolationError(final float clientInterpolationError);
+
+        /**
+         * Sets the client interpolation rotation error,
+         * one degree by default
+         *
+         * @param clientInterpolationAngleError The client interpolation angle error
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder clientInterpolationAngleError(final float clientInterpolationAngleError);
+
+        /**
+         * Sets the minimum amount of viewers for pre-encoding
+         * view changes, zero (the default) to never do it, note
+         * that pre-encoded changes bypass packet interception
+         *
+         * @param preEncodedBroadcastViewers The minimum amount of viewers
+         * @return This builder
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder preEncodedBroadcastViewers(final int preEncodedBroadcastViewers);
+
+        /**
+         * Sets the maximum amount of animations whose poses
+         * are cached, zero (the default) to disable the cache
+         *
+         * @param poseCacheAnimations The maximum amount of cached animations
+         * @return This builder
+         * @throws IllegalArgumentException If {@code poseCacheAnimations} is negative
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder poseCacheAnimations(final int poseCacheAnimations);
+
+        /**
+         * Sets the amount of pose cache phase buckets,
+         * zero (the default) to disable phase bucketing
+         *
+         * @param poseBuckets The amount of pose buckets
+         * @return This builder
+         * @throws IllegalArgumentException If {@code poseBuckets} is negative
+         * @since 1.0.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder poseBuckets(final int poseBuckets);
+
+        @NotNull BukkitModelEngineOptions build();
+
+    }
+}
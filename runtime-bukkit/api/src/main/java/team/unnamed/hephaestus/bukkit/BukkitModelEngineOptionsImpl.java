@@ -0,0 +1,197 @@
+/*
+ * This file is part of hephaestus-engine, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.hephaestus.bukkit;
+
+import org.jetbrains.annotations.NotNull;
+
+final class BukkitModelEngineOptionsImpl implements BukkitModelEngineOptions {
+    static final BukkitModelEngineOptions DEFAULTS = new BukkitModelEngineOptionsImpl(0, 0, 0, 0, 0.01F, 1, 0, 0, 0);
+
+    private final float positionPrecision;
+    private final float rotationPrecision;
+    private final float scalePrecision;
+    private final int clientInterpolationWindow;
+    private final float clientInterpolationError;
+    private final float clientInterpolationAngleError;
+    private final int preEncodedBroadcastViewers;
+    private final int poseCacheAnimations;
+    private final int poseBuckets;
+
+    BukkitModelEngineOptionsImpl(
+            final float positionPrecision,
+            final float rotationPrecision,
+            final float scalePrecision,
+            final int clientInterpolationWindow,
+            final float clientInterpolationError,
+            final float clientInterpolationAngleError,
+            final int preEncodedBroadcastViewers,
+            final int poseCacheAnimations,
+            final int poseBuckets
+    ) {
+        this.positionPrecision = positionPrecision;
+        this.rotationPrecision = rotationPrecision;
+        this.scalePrecision = scalePrecision;
+        this.clientInterpolationWindow = clientInterpolationWindow;
+        this.clientInterpolationError = clientInterpolationError;
+        this.clientInterpolationAngleError = clientInterpolationAngleError;
+        this.preEncodedBroadcastViewers = preEncodedBroadcastViewers;
+        this.poseCacheAnimations = poseCacheAnimations;
+        this.poseBuckets = poseBuckets;
+    }
+
+    @Override
+    public float positionPrecision() {
+        return positionPrecision;
+    }
+
+    @Override
+    public float rotationPrecision() {
+        return rotationPrecision;
+    }
+
+    @Override
+    public float scalePrecision() {
+        return scalePrecision;
+    }
+
+    @Override
+    public int clientInterpolationWindow() {
+        return clientInterpolationWindow;
+    }
+
+    @Override
+    public float clientInterpolationError() {
+        return clientInterpolationError;
+    }
+
+    @Override
+    public float clientInterpolationAngleError() {
+        return clientInterpolationAngleError;
+    }
+
+    @Override
+    public int preEncodedBroadcastViewers() {
+        return preEncodedBroadcastViewers;
+    }
+
+    @Override
+    public int poseCacheAnimations() {
+        return poseCacheAnimations;
+    }
+
+    @Override
+    public int poseBuckets() {
+        return poseBuckets;
+    }
+
+    static final class BuilderImpl implements Builder {
+        private float positionPrecision = DEFAULTS.positionPrecision();
+        private float rotationPrecision = DEFAULTS.rotationPrecision();
+        private float scalePrecision = DEFAULTS.scalePrecision();
+        private int clientInterpolationWindow = DEFAULTS.clientInterpolationWindow();
+        private float clientInterpolationError = DEFAULTS.clientInterpolationError();
+        private float clientInterpolationAngleError = DEFAULTS.clientInterpolationAngleError();
+        private int preEncodedBroadcastViewers = DEFAULTS.preEncodedBroadcastViewers();
+        private int poseCacheAnimations = DEFAULTS.poseCacheAnimations();
+        private int poseBuckets = DEFAULTS.poseBuckets();
+
+        BuilderImpl() {
+        }
+
+        @Override
+        public @NotNull Builder positionPrecision(final float positionPrecision) {
+            this.positionPrecision = positionPrecision;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder rotationPrecision(final float rotationPrecision) {
+            this.rotationPrecision = rotationPrecision;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder scalePrecision(final float scalePrecision) {
+            this.scalePrecision = scalePrecision;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder clientInterpolationWindow(final int clientInterpolationWindow) {
+            this.clientInterpolationWindow = clientInterpolationWindow;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder clientInterpolationError(final float clientInterpolationError) {
+            this.clientInterpolationError = clientInterpolationError;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder clientInterpolationAngleError(final float clientInterpolationAngleError) {
+            this.clientInterpolationAngleError = clientInterpolationAngleError;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder preEncodedBroadcastViewers(final int preEncodedBroadcastViewers) {
+            this.preEncodedBroadcastViewers = preEncodedBroadcastViewers;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder poseCacheAnimations(final int poseCacheAnimations) {
+            if (poseCacheAnimations < 0) {
+                throw new IllegalArgumentException("Pose cache animations must not be negative, got " + poseCacheAnimations);
+            }
+            this.poseCacheAnimations = poseCacheAnimations;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder poseBuckets(final int poseBuckets) {
+            if (poseBuckets < 0) {
+                throw new IllegalArgumentException("Pose buckets must not be negative, got " + poseBuckets);
+            }
+            this.poseBuckets = poseBuckets;
+            return this;
+        }
+
+        @Override
+        public @NotNull BukkitModelEngineOptions build() {
+            return new BukkitModelEngineOptionsImpl(
+                    positionPrecision,
+                    rotationPrecision,
+                    scalePrecision,
+                    clientInterpolationWindow,
+                    clientInterpolationError,
+                    clientInterpolationAngleError,
+                    preEncodedBroadcastViewers,
+                    poseCacheAnimations,
+                    poseBuckets
+            );
+        }
+    }
+}
@@ -54,4 +54,20 @@ public interface ModelView extends AbstractModelView<Player> {
 
     @Override
     Collection<? extends BoneView> bones();
+
+    /**
+     * Returns the amount of bone pose updates that were not
+     * sent to viewers because the change was smaller than the
+     * configured precision.
+     *
+     * <p>The precision is set by the engine options, see
+     * {@link BukkitModelEngineOptions#positionPrecision()},
+     * it's disabled by default.</p>
+     *
+     * @return The amount of suppressed bone updates
+     * @since 1.0.0
+     */
+    default long suppressedBoneUpdates() {
+        return 0;
+    }
 }
@@ -63,7 +63,7 @@ public final class HephaestusPlugin extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new DisguisedPlayerJoinListener(hephaestuser), this);
 
         // tasks
-        Bukkit.getScheduler().runTaskTimerAsynchronously(this, new ModelAnimateTask(hephaestuser.registry()), 0L, 1L);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(this, new ModelAnimateTask(hephaestuser.registry(), hephaestuser.engine().tickScheduler()), 0L, 1L);
     }
 
     @Override
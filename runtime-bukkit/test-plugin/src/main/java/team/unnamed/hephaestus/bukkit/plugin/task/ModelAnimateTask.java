@@ -7,11 +7,12 @@ import team.unnamed.hephaestus.animation.Animation;
 import team.unnamed.hephaestus.bukkit.ModelView;
 import team.unnamed.hephaestus.bukkit.plugin.registry.ModelRegistry;
 import team.unnamed.hephaestus.util.Quaternion;
+import team.unnamed.hephaestus.view.modifier.BoneModifier;
+import team.unnamed.hephaestus.view.tick.ModelTickScheduler;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -20,32 +21,47 @@ import static java.util.Objects.requireNonNull;
 // TODO: This is unoptimized as hell and was made purely for the sake of the example
 public final class ModelAnimateTask implements Runnable {
     private final ModelRegistry registry;
+    private final ModelTickScheduler scheduler;
 
     private final Set<ModelView> viewsWithHeadRotationModifierAlreadyInjected = Collections.newSetFromMap(new WeakHashMap<>());
-    private final Map<UUID, ModelViewData> data = new ConcurrentHashMap<>();
+    // Views registered in the scheduler, and their animation state
+    private final Map<ModelView, ModelViewData> data = new ConcurrentHashMap<>();
 
-    public ModelAnimateTask(final @NotNull ModelRegistry registry) {
+    public ModelAnimateTask(final @NotNull ModelRegistry registry, final @NotNull ModelTickScheduler scheduler) {
         this.registry = requireNonNull(registry, "registry");
+        this.scheduler = requireNonNull(scheduler, "scheduler");
     }
 
     @Override
     public void run() {
         final var now = System.currentTimeMillis();
 
+        // stop ticking the views that were removed or replaced
+        data.keySet().removeIf(view -> {
+            if (registry.view(view.getUniqueId()) == view && isValid(view)) {
+                return false;
+            }
+            scheduler.unregister(view);
+            return true;
+        });
+
         // reuse location instance
         final var location = new Location(null, 0, 0, 0);
 
         for (final var view : registry.views()) {
-            final var base = view.base();
-
-            if (base == null) {
-                // Tried to tick a non-tracked view?
+            if (!isValid(view)) {
+                // Tried to tick a non-tracked or removed view?
                 continue;
             }
 
+            final var base = view.base();
             base.getLocation(location);
 
-            final var data = this.data.computeIfAbsent(base.getUniqueId(), k -> new ModelViewData(location.clone(), now));
+            final var data = this.data.computeIfAbsent(view, k -> {
+                // new view, register it once
+                scheduler.register(view);
+                return new ModelViewData(location.clone(), now);
+            });
 
             if (now - data.lastCheckTimestamp >= 200L) {
                 if (location.distanceSquared(data.lastTrackedLocation) >= 0.1) {
@@ -67,29 +83,30 @@ public final class ModelAnimateTask implements Runnable {
                 data.lastCheckTimestamp = now;
             }
 
-            // tick the view
-            if (base instanceof LivingEntity livingBase){
-                // Use body yaw for living entities
-                view.animationPlayer().tick(livingBase.getBodyYaw(), 0F);
-
-                // Rotate heads too
-                if (viewsWithHeadRotationModifierAlreadyInjected.add(view)) {
-                    view.bones()
-                            .stream()
-                            .filter(bone -> bone.bone().name().startsWith("head"))
-                            .forEach(bone -> bone.modifying(new BoneModifier() {
-                                @Override
-                                public @NotNull Quaternion modifyRotation(final @NotNull Quaternion original) {
-                                    return Quaternion.fromEulerRadians(0D, Math.toRadians(livingBase.getBodyYaw() - livingBase.getYaw()), 0D)
-                                            .multiply(Quaternion.fromEulerRadians(-Math.toRadians(livingBase.getPitch()), 0D, 0D))
-                                            .multiply(original);
-                                }
-                            }));
-                }
-            } else {
-                view.animationPlayer().tick(base.getYaw(), 0F);
+            // Rotate heads too
+            if (base instanceof LivingEntity livingBase && viewsWithHeadRotationModifierAlreadyInjected.add(view)) {
+                view.bones()
+                        .stream()
+                        .filter(bone -> bone.bone().name().startsWith("head"))
+                        .forEach(bone -> bone.modifying(new BoneModifier() {
+                            @Override
+                            public @NotNull Quaternion modifyRotation(final @NotNull Quaternion original) {
+                                return Quaternion.fromEulerRadians(0D, Math.toRadians(livingBase.getBodyYaw() - livingBase.getYaw()), 0D)
+                                        .multiply(Quaternion.fromEulerRadians(-Math.toRadians(livingBase.getPitch()), 0D, 0D))
+                                        .multiply(original);
+                            }
+                        }));
             }
         }
+
+        // tick the views in parallel, views pause their animations
+        // while unseen and apply their level of detail policy
+        scheduler.tick();
+    }
+
+    private static boolean isValid(final @NotNull ModelView view) {
+        final var base = view.base();
+        return base != null && base.isValid();
     }
 
     private static class ModelViewData {
@@ -39,6 +39,7 @@ import team.unnamed.hephaestus.Model;
 import team.unnamed.hephaestus.util.Quaternion;
 import team.unnamed.hephaestus.view.AbstractModelView;
 import team.unnamed.hephaestus.animation.controller.AnimationPlayer;
+import team.unnamed.hephaestus.view.lod.LodPolicy;
 
 import java.util.Collection;
 import java.util.Map;
@@ -46,6 +47,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
+import static java.util.Objects.requireNonNull;
+
 public class ModelEntity extends EntityCreature implements AbstractModelView<Player> {
 
     protected final Model model;
@@ -56,6 +59,10 @@ public class ModelEntity extends EntityCreature implements AbstractModelView<Pla
 
     private int lastVehicle = -1;
 
+    // Stored for API consumers, Minestom views are still
+    // updated every tick regardless of this policy
+    private LodPolicy lodPolicy = LodPolicy.none();
+
     public ModelEntity(EntityType type, Model model, float scale) {
         super(type);
         this.model = model;
@@ -155,6 +162,16 @@ public class ModelEntity extends EntityCreature implements AbstractModelView<Pla
         return animationPlayer;
     }
 
+    @Override
+    public @NotNull LodPolicy lodPolicy() {
+        return lodPolicy;
+    }
+
+    @Override
+    public void lodPolicy(final @NotNull LodPolicy lodPolicy) {
+        this.lodPolicy = requireNonNull(lodPolicy, "lodPolicy");
+    }
+
     @Override
     public void tickAnimations() {
         animationPlayer.tick(position.yaw(), position.pitch());